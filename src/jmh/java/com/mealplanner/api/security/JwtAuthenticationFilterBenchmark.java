@@ -0,0 +1,62 @@
+package com.mealplanner.api.security;
+
+import com.mealplanner.api.repository.BlacklistedTokenRepository;
+import com.mealplanner.api.repository.UserRepository;
+import com.mealplanner.api.service.TokenBlacklistService;
+import com.mealplanner.api.support.RepositoryStubs;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass of a Bearer-authenticated request through {@link JwtAuthenticationFilter}: token verification,
+ * the revocation check and building the authentication from the token's claims.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = JwtUtilBenchmark.newJwtUtil(1024);
+        UserDetailsCache userDetailsCache = new UserDetailsCache(60, 3_600_000L);
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(
+                RepositoryStubs.of(UserRepository.class).build(), userDetailsCache);
+        TokenBlacklistService tokenBlacklistService = new TokenBlacklistService(
+                RepositoryStubs.of(BlacklistedTokenRepository.class).build(), jwtUtil, 1_000, 15, 120);
+
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenBlacklistService, userDetailsCache);
+
+        String token = jwtUtil.generateToken(CustomUserDetails.fromClaims(42, "bench@example.com", "CUSTOMER"));
+        request = new MockHttpServletRequest("GET", "/api/subscriptions");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public Authentication authenticateBearerRequest() throws Exception {
+        SecurityContextHolder.clearContext();
+        // OncePerRequestFilter marks the request as filtered; clear it so every call does the full work
+        request.clearAttributes();
+        filter.doFilter(request, response, chain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,73 @@
+package com.mealplanner.api.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification as done on every authenticated request: a cache hit, a full signature check,
+ * and the claims check against the principal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtUtilBenchmark {
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private CustomUserDetails principal;
+    private String token;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = newJwtUtil(1024);
+        uncachedJwtUtil = newJwtUtil(0);
+
+        principal = CustomUserDetails.fromClaims(42, "bench@example.com", "CUSTOMER");
+        token = cachingJwtUtil.generateToken(principal);
+        claims = cachingJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return cachingJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyParseAndSignature() {
+        return uncachedJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public boolean validateClaims() {
+        return cachingJwtUtil.validateClaims(claims, principal);
+    }
+
+    @Benchmark
+    public CustomUserDetails principalFromClaims() {
+        return cachingJwtUtil.toUserDetails(claims);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtil.generateToken(principal);
+    }
+
+    static JwtUtil newJwtUtil(int verifiedCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "benchmarkSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", verifiedCacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,85 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.model.Delivery;
+import com.mealplanner.api.model.DeliveryStatus;
+import com.mealplanner.api.repository.AllergyRepository;
+import com.mealplanner.api.repository.DeliveryRepository;
+import com.mealplanner.api.repository.DeliveryStatusRepository;
+import com.mealplanner.api.repository.PlanCategoryRepository;
+import com.mealplanner.api.repository.RoleRepository;
+import com.mealplanner.api.repository.SubscriptionStatusRepository;
+import com.mealplanner.api.support.RepositoryStubs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-delivery status check run every minute by the scheduler, for a delivery that moves on
+ * (status lookup, save and event) and for one that has nothing to do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeliverySchedulerServiceBenchmark {
+
+    private DeliverySchedulerService schedulerService;
+    private DeliveryStatus preparing;
+    private Delivery lateDelivery;
+    private Delivery deliveredDelivery;
+
+    @Setup
+    public void setUp() {
+        preparing = status(1, "PREPARING");
+        List<DeliveryStatus> statuses = List.of(preparing, status(2, "SHIPPED"), status(3, "DELIVERED"),
+                status(4, "CONFIRMED"));
+
+        ReferenceDataRegistry referenceDataRegistry = new ReferenceDataRegistry(
+                RepositoryStubs.of(DeliveryStatusRepository.class).answer("findAll", args -> statuses).build(),
+                RepositoryStubs.of(SubscriptionStatusRepository.class).build(),
+                RepositoryStubs.of(RoleRepository.class).build(),
+                RepositoryStubs.of(PlanCategoryRepository.class).build(),
+                RepositoryStubs.of(AllergyRepository.class).build());
+        referenceDataRegistry.refresh();
+
+        schedulerService = new DeliverySchedulerService();
+        ReflectionTestUtils.setField(schedulerService, "deliveryRepository",
+                RepositoryStubs.of(DeliveryRepository.class).answer("save", args -> args[0]).build());
+        ReflectionTestUtils.setField(schedulerService, "referenceDataRegistry", referenceDataRegistry);
+        ReflectionTestUtils.setField(schedulerService, "eventPublisher",
+                (org.springframework.context.ApplicationEventPublisher) event -> { });
+        ReflectionTestUtils.setField(schedulerService, "clock", Clock.systemDefaultZone());
+
+        // Due at midnight, so it is always late and jumps straight to DELIVERED
+        lateDelivery = new Delivery(null, "1 Bench Street", LocalTime.MIDNIGHT, preparing);
+        lateDelivery.setDeliveryId(1);
+        deliveredDelivery = new Delivery(null, "2 Bench Street", LocalTime.NOON, statuses.get(2));
+        deliveredDelivery.setDeliveryId(2);
+    }
+
+    @Benchmark
+    public boolean progressLateDelivery() {
+        lateDelivery.setStatus(preparing);
+        return schedulerService.progressDeliveryStatus(lateDelivery);
+    }
+
+    @Benchmark
+    public boolean progressDeliveredDelivery() {
+        return schedulerService.progressDeliveryStatus(deliveredDelivery);
+    }
+
+    private static DeliveryStatus status(int id, String name) {
+        DeliveryStatus status = new DeliveryStatus(name);
+        status.setStatusId(id);
+        return status;
+    }
+}
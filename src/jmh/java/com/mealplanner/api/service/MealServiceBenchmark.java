@@ -0,0 +1,118 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.dto.MealDetailDto;
+import com.mealplanner.api.dto.MealResponseDto;
+import com.mealplanner.api.model.Allergy;
+import com.mealplanner.api.model.Meal;
+import com.mealplanner.api.model.MealAllergy;
+import com.mealplanner.api.model.Nutrition;
+import com.mealplanner.api.model.NutritionFact;
+import com.mealplanner.api.repository.AllergyRepository;
+import com.mealplanner.api.repository.DeliveryStatusRepository;
+import com.mealplanner.api.repository.MealAllergyRepository;
+import com.mealplanner.api.repository.MealRepository;
+import com.mealplanner.api.repository.NutritionFactRepository;
+import com.mealplanner.api.repository.NutritionRepository;
+import com.mealplanner.api.repository.PlanCategoryRepository;
+import com.mealplanner.api.repository.RoleRepository;
+import com.mealplanner.api.repository.SubscriptionStatusRepository;
+import com.mealplanner.api.support.RepositoryStubs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meal listing and detail mapping with in-memory repositories, i.e. the DTO mapping and nutrition
+ * summary work done per meal on top of the queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MealServiceBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private MealService mealService;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        List<Meal> meals = new ArrayList<>();
+        Map<Integer, List<NutritionFact>> factsByNutrition = new HashMap<>();
+        Map<Integer, List<MealAllergy>> allergiesByMeal = new HashMap<>();
+        Allergy gluten = allergy(1, "Gluten");
+        Allergy dairy = allergy(2, "Dairy");
+
+        for (int id = 1; id <= pageSize; id++) {
+            Nutrition nutrition = new Nutrition();
+            nutrition.setNutritionId(id);
+            Meal meal = new Meal("Meal " + id, "Recipe for meal " + id, nutrition);
+            meal.setMealId(id);
+            meal.setRating(1 + id % 5);
+            meals.add(meal);
+
+            factsByNutrition.put(id, List.of(
+                    new NutritionFact(nutrition, "calories", 400.0 + id, "kcal"),
+                    new NutritionFact(nutrition, "protein", 30.0, "g"),
+                    new NutritionFact(nutrition, "carbs", 45.0, "g"),
+                    new NutritionFact(nutrition, "fats", 12.0, "g")));
+            allergiesByMeal.put(id, List.of(new MealAllergy(meal, gluten), new MealAllergy(meal, dairy)));
+        }
+
+        pageable = PageRequest.of(0, pageSize);
+        Page<Meal> page = new PageImpl<>(meals, pageable, 10_000);
+
+        MealRepository mealRepository = RepositoryStubs.of(MealRepository.class)
+                .answer("findAll", args -> page)
+                .answer("findById", args -> Optional.of(meals.get(0)))
+                .build();
+        NutritionFactRepository nutritionFactRepository = RepositoryStubs.of(NutritionFactRepository.class)
+                .answer("findByNutrition_NutritionId", args -> factsByNutrition.get((Integer) args[0]))
+                .build();
+        MealAllergyRepository mealAllergyRepository = RepositoryStubs.of(MealAllergyRepository.class)
+                .answer("findById_MealId", args -> allergiesByMeal.get((Integer) args[0]))
+                .build();
+        ReferenceDataRegistry referenceDataRegistry = new ReferenceDataRegistry(
+                RepositoryStubs.of(DeliveryStatusRepository.class).build(),
+                RepositoryStubs.of(SubscriptionStatusRepository.class).build(),
+                RepositoryStubs.of(RoleRepository.class).build(),
+                RepositoryStubs.of(PlanCategoryRepository.class).build(),
+                RepositoryStubs.of(AllergyRepository.class).build());
+
+        mealService = new MealService(mealRepository, RepositoryStubs.of(NutritionRepository.class).build(),
+                nutritionFactRepository, referenceDataRegistry, mealAllergyRepository);
+    }
+
+    @Benchmark
+    public Page<MealResponseDto> listMealsPage() {
+        return mealService.getMeals(null, null, null, pageable);
+    }
+
+    @Benchmark
+    public MealDetailDto mealDetail() {
+        return mealService.getMealById(1);
+    }
+
+    private static Allergy allergy(int id, String name) {
+        Allergy allergy = new Allergy(name);
+        allergy.setAllergyId(id);
+        return allergy;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mealplanner.api.support;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Minimal repository stand-ins for benchmarks.
+ *
+ * Mocking frameworks record every invocation, which would dominate both the timings and the allocation
+ * figures of the code under test. These proxies only answer the methods they are given (by name) and
+ * return an empty value for everything else.
+ */
+public final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    public static <T> Builder<T> of(Class<T> type) {
+        return new Builder<>(type);
+    }
+
+    public static final class Builder<T> {
+        private final Class<T> type;
+        private final Map<String, Function<Object[], Object>> answers = new HashMap<>();
+
+        private Builder(Class<T> type) {
+            this.type = type;
+        }
+
+        public Builder<T> answer(String methodName, Function<Object[], Object> answer) {
+            answers.put(methodName, answer);
+            return this;
+        }
+
+        public T build() {
+            Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+                Function<Object[], Object> answer = answers.get(method.getName());
+                if (answer != null) {
+                    return answer.apply(args);
+                }
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    case "toString" -> type.getSimpleName() + " stub";
+                    default -> emptyValue(method.getReturnType());
+                };
+            });
+            return type.cast(proxy);
+        }
+
+        private static Object emptyValue(Class<?> returnType) {
+            if (returnType == Optional.class) {
+                return Optional.empty();
+            }
+            if (returnType == List.class || returnType == Iterable.class) {
+                return List.of();
+            }
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == int.class) {
+                return 0;
+            }
+            if (returnType == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.mealplanner.api.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PasswordValidatorBenchmark {
+
+    private final String validPassword = "Tr1cky#Mealplan-42";
+    private final String weakPassword = "password";
+
+    @Benchmark
+    public PasswordValidator.ValidationResult validateStrongPassword() {
+        return PasswordValidator.validate(validPassword);
+    }
+
+    @Benchmark
+    public PasswordValidator.ValidationResult validateWeakPassword() {
+        // Fails several rules, so the error list and message are built
+        return PasswordValidator.validate(weakPassword);
+    }
+}
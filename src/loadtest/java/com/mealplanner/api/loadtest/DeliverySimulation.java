@@ -0,0 +1,341 @@
+package com.mealplanner.api.loadtest;
+
+import com.mealplanner.api.DemoApplication;
+import com.mealplanner.api.config.StatementCountingInspector;
+import com.mealplanner.api.service.DeliverySchedulerService;
+import com.mealplanner.api.service.DeliveryStatusChangedEvent;
+import com.mealplanner.api.service.ReferenceDataRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a day of the delivery pipeline on accelerated time: starts the application with a
+ * {@link SimulatedClock} (midnight today, {@code speed} times faster than real time) and the {@code @Scheduled}
+ * triggers switched off, generates one subscription with a meal today per delivery, and then runs the real
+ * {@link DeliverySchedulerService} jobs on simulated time the way the scheduler would: the status job at a
+ * fixed rate of one simulated minute, on one thread, starting the next run right away when a run overran
+ * (and, with {@code --creation-job=true}, the creation job at midnight before it).
+ *
+ * For each simulated minute it reports the status job's runs, duration and SQL statements (the DB load), and
+ * the transitions made with their lag: how long after it was due (shipping two hours before the preferred
+ * time, delivery at the preferred time) a delivery actually moved. A summary and, with {@code --csv=file},
+ * every minute are written at the end.
+ *
+ * Options ({@code --name=value}): deliveries (100000), speed (1000), hours (24), seed, creation-job (false:
+ * the deliveries already exist at midnight; true: the creation job makes them, only for the ~85% active
+ * subscriptions), csv. Any other argument is passed on to Spring, as for {@link LoadTestRunner}.
+ */
+public final class DeliverySimulation {
+
+    private static final Set<String> OPTIONS = Set.of("deliveries", "speed", "hours", "seed", "creation-job", "csv");
+    private static final long MINUTE_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private DeliverySimulation() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> springArgs = new ArrayList<>();
+        Map<String, String> options = LoadTestRunner.parseOptions(args, OPTIONS, springArgs);
+        int deliveries = LoadTestRunner.intOption(options, "deliveries", 100_000);
+        int speed = LoadTestRunner.intOption(options, "speed", 1000);
+        int minutes = LoadTestRunner.intOption(options, "hours", 24) * 60;
+        long seed = LoadTestRunner.intOption(options, "seed", 42);
+        boolean creationJob = Boolean.parseBoolean(options.getOrDefault("creation-job", "false"));
+
+        LocalDate day = LocalDate.now();
+        ZoneId zone = ZoneId.systemDefault();
+        SimulatedClock clock = new SimulatedClock(day.atStartOfDay(zone).toInstant(), zone, speed);
+
+        LoadTestRunner.addDefaultProfile(springArgs);
+        springArgs.add("--scheduling.enabled=false");
+        // Every transition is an event for the digest buffer; keep them all rather than warn per dropped update
+        springArgs.add("--notifications.digest.max-pending=" + Math.max(100_000, deliveries * 2));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .initializers(applicationContext -> applicationContext.getBeanFactory().registerSingleton("clock", clock))
+                .run(springArgs.toArray(String[]::new));
+
+        try {
+            DataSource dataSource = context.getBean(DataSource.class);
+            if (LoadTestDataGenerator.alreadyGenerated(dataSource)) {
+                throw new IllegalStateException("The database already holds a generated dataset; the simulation needs a fresh one");
+            }
+            LoadTestDataGenerator.Scale scale = new LoadTestDataGenerator.Scale(
+                    deliveries, 200, Math.max(10, deliveries / 100), 3, 0, 0, seed);
+            long generatedAt = System.nanoTime();
+            LoadTestDataGenerator.Dataset dataset = new LoadTestDataGenerator(dataSource, scale, !creationJob).generate();
+            System.out.printf("Generated %s in %.1f s%n", dataset.rowCounts(), (System.nanoTime() - generatedAt) / 1e9);
+            context.getBean(ReferenceDataRegistry.class).refresh();
+
+            Recorder recorder = new Recorder(minutes, day, speed);
+            context.addApplicationListener((ApplicationListener<ApplicationEvent>) event -> {
+                if (event instanceof PayloadApplicationEvent<?> payload
+                        && payload.getPayload() instanceof DeliveryStatusChangedEvent changed) {
+                    recorder.transition(changed);
+                }
+            });
+
+            DeliverySchedulerService scheduler = context.getBean(DeliverySchedulerService.class);
+            System.out.printf("Simulating %d minutes of %s at %dx (%.0f s real time)%n",
+                    minutes, day, speed, minutes * 60.0 / speed);
+            clock.start();
+            if (creationJob) {
+                recorder.run(clock, 0, scheduler::createDailyDeliveries, false);
+            }
+            recorder.loadDueTimes(dataSource);
+
+            // Fixed rate on a single thread: the next run is due one minute after the previous one was due
+            for (long slot = 0; slot < minutes; slot++) {
+                long dueNanos = slot * MINUTE_NANOS;
+                if (clock.elapsedNanos() >= minutes * MINUTE_NANOS) {
+                    break;
+                }
+                sleepUntil(clock, dueNanos);
+                recorder.run(clock, dueNanos, scheduler::updateDeliveryStatuses, true);
+            }
+
+            recorder.printReport(System.out, countUnfinished(dataSource, day));
+            if (options.containsKey("csv")) {
+                recorder.writeCsv(Path.of(options.get("csv")));
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void sleepUntil(SimulatedClock clock, long elapsedNanos) {
+        long remaining;
+        while ((remaining = elapsedNanos - clock.elapsedNanos()) > 0) {
+            LockSupport.parkNanos(remaining / clock.speed());
+        }
+    }
+
+    private static int countUnfinished(DataSource dataSource, LocalDate day) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM delivery d JOIN subscription_meal sm ON sm.subscription_meal_id = d.subscription_meal_id"
+                             + " JOIN delivery_status s ON s.status_id = d.status_id"
+                             + " WHERE sm.delivery_date = ? AND s.status_name IN ('PREPARING', 'SHIPPED')")) {
+            statement.setObject(1, day);
+            try (ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                return rows.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Per simulated minute: job runs (by the minute they started in) and transitions (by the minute they were
+     * stamped with). All calls come from the simulation thread, which also runs the jobs.
+     */
+    private static final class Recorder {
+
+        private final LocalDate day;
+        private final long speed;
+        private final int[] runs;
+        private final long[] jobRealNanos;
+        private final long[] startLateNanos;
+        private final long[] statements;
+        private final int[] shipped;
+        private final int[] delivered;
+        private final int[] catchUps;
+        private final long[] lagSumSeconds;
+        private final long[] lagMaxSeconds;
+        private final BitSet shippedIds = new BitSet();
+        private final List<Long> jobDurationsNanos = new ArrayList<>();
+        private long[] lagsSeconds = new long[1024];
+        private int lagCount;
+        private int unknown;
+        private Map<Integer, LocalTime> dueTimes = Map.of();
+
+        Recorder(int minutes, LocalDate day, long speed) {
+            this.day = day;
+            this.speed = speed;
+            runs = new int[minutes];
+            jobRealNanos = new long[minutes];
+            startLateNanos = new long[minutes];
+            statements = new long[minutes];
+            shipped = new int[minutes];
+            delivered = new int[minutes];
+            catchUps = new int[minutes];
+            lagSumSeconds = new long[minutes];
+            lagMaxSeconds = new long[minutes];
+        }
+
+        /**
+         * Preferred (delivery) time of every open delivery of the day, to work out when each transition was due.
+         */
+        void loadDueTimes(DataSource dataSource) throws SQLException {
+            Map<Integer, LocalTime> times = new HashMap<>();
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(
+                         "SELECT d.delivery_id, d.delivery_time FROM delivery d"
+                                 + " JOIN subscription_meal sm ON sm.subscription_meal_id = d.subscription_meal_id"
+                                 + " WHERE sm.delivery_date = ?")) {
+                statement.setObject(1, day);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        times.put(rows.getInt(1), rows.getObject(2, LocalTime.class));
+                    }
+                }
+            }
+            dueTimes = times;
+        }
+
+        void run(SimulatedClock clock, long dueNanos, Runnable job, boolean record) {
+            long startedAt = clock.elapsedNanos();
+            long realStart = System.nanoTime();
+            StatementCountingInspector.begin();
+            try {
+                job.run();
+            } finally {
+                long realNanos = System.nanoTime() - realStart;
+                long issued = StatementCountingInspector.end().total();
+                int minute = minute(startedAt);
+                if (minute >= 0) {
+                    runs[minute]++;
+                    jobRealNanos[minute] += realNanos;
+                    startLateNanos[minute] = Math.max(startLateNanos[minute], startedAt - dueNanos);
+                    statements[minute] += issued;
+                }
+                if (record) {
+                    jobDurationsNanos.add(realNanos * speed);
+                }
+            }
+        }
+
+        void transition(DeliveryStatusChangedEvent event) {
+            LocalTime preferredTime = dueTimes.get(event.deliveryId());
+            int minute = minute(Duration.between(day.atStartOfDay(), event.changedAt()).toNanos());
+            if (preferredTime == null || minute < 0) {
+                unknown++;
+                return;
+            }
+            LocalDateTime due;
+            if ("SHIPPED".equals(event.statusName())) {
+                due = day.atTime(preferredTime).minusHours(2);
+                shipped[minute]++;
+                shippedIds.set(event.deliveryId());
+            } else if ("DELIVERED".equals(event.statusName())) {
+                due = day.atTime(preferredTime);
+                delivered[minute]++;
+                if (!shippedIds.get(event.deliveryId())) {
+                    catchUps[minute]++;
+                }
+            } else {
+                return;
+            }
+            long lag = Math.max(0, Duration.between(due, event.changedAt()).toSeconds());
+            lagSumSeconds[minute] += lag;
+            lagMaxSeconds[minute] = Math.max(lagMaxSeconds[minute], lag);
+            if (lagCount == lagsSeconds.length) {
+                lagsSeconds = Arrays.copyOf(lagsSeconds, lagCount * 2);
+            }
+            lagsSeconds[lagCount++] = lag;
+        }
+
+        private int minute(long elapsedNanos) {
+            long minute = elapsedNanos / MINUTE_NANOS;
+            return minute < runs.length ? (int) minute : -1;
+        }
+
+        /**
+         * Prints the minutes in which something happened (a transition, or a run that started late or took
+         * longer than a minute), then the totals.
+         */
+        void printReport(PrintStream out, int unfinished) {
+            out.println(header());
+            for (int minute = 0; minute < runs.length; minute++) {
+                boolean slow = jobRealNanos[minute] * speed > MINUTE_NANOS || startLateNanos[minute] >= MINUTE_NANOS;
+                if (shipped[minute] + delivered[minute] > 0 || slow) {
+                    out.println(row(minute));
+                }
+            }
+
+            Arrays.sort(lagsSeconds, 0, lagCount);
+            long[] durations = jobDurationsNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+            out.printf("Transitions: %d (%d shipped, %d delivered, %d catch-ups); not finished by the end: %d%s%n",
+                    lagCount, Arrays.stream(shipped).sum(), Arrays.stream(delivered).sum(), Arrays.stream(catchUps).sum(),
+                    unfinished, unknown > 0 ? "; unmatched events: " + unknown : "");
+            out.printf("Transition lag (simulated s): p50 %d, p90 %d, p99 %d, max %d%n",
+                    percentile(lagsSeconds, lagCount, 50), percentile(lagsSeconds, lagCount, 90),
+                    percentile(lagsSeconds, lagCount, 99), percentile(lagsSeconds, lagCount, 100));
+            out.printf("Status job: %d runs, duration (simulated s) p50 %.1f, p99 %.1f, max %.1f; %d SQL statements%n",
+                    durations.length, percentile(durations, durations.length, 50) / 1e9,
+                    percentile(durations, durations.length, 99) / 1e9, percentile(durations, durations.length, 100) / 1e9,
+                    Arrays.stream(statements).sum());
+        }
+
+        void writeCsv(Path file) throws IOException {
+            List<String> lines = new ArrayList<>(runs.length + 1);
+            lines.add("minute,time,runs,job_real_ms,job_simulated_s,start_late_s,statements,shipped,delivered,catch_ups,avg_lag_s,max_lag_s");
+            for (int minute = 0; minute < runs.length; minute++) {
+                lines.add(String.join(",", csvFields(minute)));
+            }
+            Files.write(file, lines);
+            System.out.println("Wrote " + file);
+        }
+
+        private static String header() {
+            return String.format("%-6s %4s %11s %9s %9s %10s %8s %9s %9s %9s %9s",
+                    "Time", "Runs", "Job ms", "Job sim s", "Late s", "Statements", "Shipped", "Delivered", "Catch-up",
+                    "Avg lag s", "Max lag s");
+        }
+
+        private String row(int minute) {
+            String[] f = csvFields(minute);
+            return String.format("%-6s %4s %11s %9s %9s %10s %8s %9s %9s %9s %9s",
+                    f[1], f[2], f[3], f[4], f[5], f[6], f[7], f[8], f[9], f[10], f[11]);
+        }
+
+        private String[] csvFields(int minute) {
+            int transitions = shipped[minute] + delivered[minute];
+            return new String[]{
+                    String.valueOf(minute),
+                    LocalTime.MIDNIGHT.plusMinutes(minute).toString(),
+                    String.valueOf(runs[minute]),
+                    String.valueOf(jobRealNanos[minute] / 1_000_000),
+                    String.format("%.1f", jobRealNanos[minute] * speed / 1e9),
+                    String.valueOf(startLateNanos[minute] / 1_000_000_000),
+                    String.valueOf(statements[minute]),
+                    String.valueOf(shipped[minute]),
+                    String.valueOf(delivered[minute]),
+                    String.valueOf(catchUps[minute]),
+                    String.valueOf(transitions > 0 ? lagSumSeconds[minute] / transitions : 0),
+                    String.valueOf(lagMaxSeconds[minute])};
+        }
+
+        private static long percentile(long[] sorted, int count, int percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return sorted[Math.max(0, Math.min(count - 1, rank - 1))];
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.mealplanner.api.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and response statuses recorded for one endpoint. Not thread-safe: each load worker records
+ * into its own instance and the instances are merged once the run is over.
+ */
+public class LatencyStats {
+
+    private long[] latenciesMicros = new long[1024];
+    private int count;
+    private final Map<Integer, Long> statusCounts = new TreeMap<>();
+
+    /**
+     * @param status HTTP status, or 0 if the request failed without a response
+     */
+    public void record(long latencyNanos, int status) {
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+        }
+        latenciesMicros[count++] = latencyNanos / 1_000;
+        statusCounts.merge(status, 1L, Long::sum);
+    }
+
+    public void merge(LatencyStats other) {
+        for (int i = 0; i < other.count; i++) {
+            if (count == latenciesMicros.length) {
+                latenciesMicros = Arrays.copyOf(latenciesMicros, Math.max(count * 2, count + other.count));
+            }
+            latenciesMicros[count++] = other.latenciesMicros[i];
+        }
+        other.statusCounts.forEach((status, n) -> statusCounts.merge(status, n, Long::sum));
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long errors() {
+        return statusCounts.entrySet().stream()
+                .filter(entry -> entry.getKey() == 0 || entry.getKey() >= 400)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    public Map<Integer, Long> statusCounts() {
+        return statusCounts;
+    }
+
+    /**
+     * Latency at the given percentile (0-100) in milliseconds, nearest-rank.
+     */
+    public double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        // Recording order does not matter once the run is over
+        Arrays.sort(latenciesMicros, 0, count);
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return latenciesMicros[Math.max(0, Math.min(count - 1, rank - 1))] / 1_000.0;
+    }
+}
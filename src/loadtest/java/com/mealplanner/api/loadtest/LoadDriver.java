@@ -0,0 +1,195 @@
+package com.mealplanner.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Replays a weighted mix of API calls against a running instance and reports latency percentiles
+ * and throughput per endpoint.
+ *
+ * A pool of customer sessions (and one admin session) is logged in up front. Each worker then picks calls
+ * at random according to the mix, one at a time, for the warm-up period (not recorded) and the measured
+ * period. Workers do not pace themselves, so throughput is what the server sustains at this concurrency.
+ */
+public class LoadDriver {
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public LoadDriver(URI baseUri) {
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * @param concurrency parallel workers, each with one request in flight
+     * @param sessions customer sessions logged in before the run
+     * @param users number of generated users to log in as (user0 .. user(users-1))
+     */
+    public record Settings(int concurrency, Duration warmup, Duration duration, int sessions, int users, long seed) {
+    }
+
+    public record Report(Map<String, LatencyStats> statsByEndpoint, Duration measured) {
+
+        public void print(PrintStream out) {
+            double seconds = measured.toMillis() / 1000.0;
+            out.printf("%-34s %9s %8s %10s %9s %9s %9s %9s  %s%n",
+                    "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "Statuses");
+            statsByEndpoint.forEach((endpoint, stats) -> out.printf("%-34s %9d %8d %10.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                    endpoint, stats.count(), stats.errors(), stats.count() / seconds,
+                    stats.percentileMillis(50), stats.percentileMillis(90), stats.percentileMillis(99),
+                    stats.percentileMillis(100), stats.statusCounts()));
+            int total = statsByEndpoint.values().stream().mapToInt(LatencyStats::count).sum();
+            out.printf("Total: %d requests in %.1f s (%.1f req/s)%n", total, seconds, total / seconds);
+        }
+    }
+
+    public Report run(Settings settings) throws Exception {
+        Random random = new Random(settings.seed());
+        String adminToken = login(LoadTestDataGenerator.ADMIN_EMAIL);
+        List<String> customerTokens = new ArrayList<>(settings.sessions());
+        for (int i = 0; i < settings.sessions(); i++) {
+            customerTokens.add(login("user" + random.nextInt(settings.users()) + "@loadtest.local"));
+        }
+        Catalog catalog = discoverCatalog(customerTokens.get(0));
+        List<Integer> mealIds = catalog.mealIds();
+        int mealPages = Math.max(1, (int) (catalog.totalMeals() / 20));
+
+        List<Call> mix = List.of(
+                new Call("GET /api/v1/meals", 35, r -> get("/api/v1/meals?page=" + r.nextInt(mealPages) + "&size=20",
+                        pick(customerTokens, r))),
+                new Call("GET /api/v1/meals/{id}", 15, r -> get("/api/v1/meals/" + pick(mealIds, r), pick(customerTokens, r))),
+                new Call("GET /api/deliveries/current", 30, r -> get("/api/deliveries/current", pick(customerTokens, r))),
+                new Call("POST /api/v1/users/login", 10, r -> loginRequest("user" + r.nextInt(settings.users()) + "@loadtest.local")),
+                new Call("GET /api/admin/deliveries", 5, r -> get("/api/admin/deliveries?page=" + r.nextInt(50) + "&size=20",
+                        adminToken)),
+                new Call("GET /api/admin/subscriptions", 5, r -> get("/api/admin/subscriptions?page=" + r.nextInt(50) + "&size=20",
+                        adminToken)));
+        int totalWeight = mix.stream().mapToInt(Call::weight).sum();
+
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + settings.warmup().toNanos();
+        long stopAt = measureFrom + settings.duration().toNanos();
+
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency());
+        List<Future<Map<String, LatencyStats>>> results = new ArrayList<>();
+        for (int w = 0; w < settings.concurrency(); w++) {
+            Random workerRandom = new Random(settings.seed() + 31L * (w + 1));
+            results.add(workers.submit(() -> {
+                Map<String, LatencyStats> stats = new LinkedHashMap<>();
+                while (System.nanoTime() < stopAt) {
+                    Call call = choose(mix, totalWeight, workerRandom);
+                    HttpRequest request = call.request().build(workerRandom);
+                    long sentAt = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (IOException e) {
+                        status = 0;
+                    }
+                    if (sentAt >= measureFrom) {
+                        stats.computeIfAbsent(call.name(), name -> new LatencyStats()).record(System.nanoTime() - sentAt, status);
+                    }
+                }
+                return stats;
+            }));
+        }
+
+        Map<String, LatencyStats> merged = new LinkedHashMap<>();
+        mix.forEach(call -> merged.put(call.name(), new LatencyStats()));
+        for (Future<Map<String, LatencyStats>> result : results) {
+            result.get().forEach((name, stats) -> merged.get(name).merge(stats));
+        }
+        workers.shutdown();
+        return new Report(merged, settings.duration());
+    }
+
+    private String login(String email) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(loginRequest(email), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + email + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    /**
+     * Meal IDs to request details for (the first 1000) and the total meal count, for paging.
+     */
+    private Catalog discoverCatalog(String token) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(get("/api/v1/meals?page=0&size=1000", token),
+                HttpResponse.BodyHandlers.ofString());
+        JsonNode page = objectMapper.readTree(response.body());
+        List<Integer> ids = new ArrayList<>();
+        page.path("content").forEach(meal -> ids.add(meal.get("mealId").asInt()));
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No meals found; generate a dataset first");
+        }
+        return new Catalog(ids, page.path("totalElements").asLong(ids.size()));
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest loginRequest(String email) {
+        String body = objectMapper.createObjectNode()
+                .put("email", email)
+                .put("password", LoadTestDataGenerator.PASSWORD)
+                .toString();
+        return HttpRequest.newBuilder(baseUri.resolve("/api/v1/users/login"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static Call choose(List<Call> mix, int totalWeight, Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Call call : mix) {
+            roll -= call.weight();
+            if (roll < 0) {
+                return call;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    @FunctionalInterface
+    interface RequestFactory {
+        HttpRequest build(Random random);
+    }
+
+    record Call(String name, int weight, RequestFactory request) {
+    }
+
+    private record Catalog(List<Integer> mealIds, long totalMeals) {
+    }
+}
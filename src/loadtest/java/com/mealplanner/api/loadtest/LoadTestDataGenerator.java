@@ -0,0 +1,334 @@
+package com.mealplanner.api.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills the schema with a synthetic, production-shaped dataset for load tests.
+ *
+ * The output depends only on the seed and the scale: users (plus one admin), meals with nutrition facts and
+ * allergens, custom plans with their meals, one subscription per user, a subscription meal per user and day
+ * for a window around today, and a delivery for every past and current day. Rows are written with plain
+ * JDBC batches and explicit IDs following the highest existing ID, so millions of rows take minutes, not
+ * hours, and the generated IDs are known to the load driver.
+ *
+ * Every generated user has the same password, {@link #PASSWORD}; hashing a distinct one per user would
+ * take longer than the rest of the generation.
+ */
+public class LoadTestDataGenerator {
+
+    public static final String PASSWORD = "LoadTest#2024";
+    public static final String ADMIN_EMAIL = "admin@loadtest.local";
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final String[] ALLERGIES = {"Gluten", "Dairy", "Eggs", "Peanuts", "Tree Nuts", "Soy", "Fish", "Shellfish"};
+    private static final String[] PLAN_CATEGORIES = {"Weight Loss", "Muscle Gain", "Keto", "Vegan", "Balanced", "Low Carb"};
+    private static final String[] MEAL_WORDS = {"Grilled", "Roasted", "Spicy", "Herb", "Lemon", "Garlic", "Teriyaki", "Smoky"};
+    private static final String[] MEAL_BASES = {"Chicken", "Salmon", "Tofu", "Beef", "Quinoa", "Lentil", "Turkey", "Shrimp"};
+
+    private final DataSource dataSource;
+    private final Scale scale;
+    private final boolean todaysDeliveries;
+
+    public LoadTestDataGenerator(DataSource dataSource, Scale scale) {
+        this(dataSource, scale, true);
+    }
+
+    /**
+     * @param todaysDeliveries whether to create today's deliveries (PREPARING, created at midnight); without
+     *                         them, today's subscription meals wait for the scheduler's daily creation job
+     */
+    public LoadTestDataGenerator(DataSource dataSource, Scale scale, boolean todaysDeliveries) {
+        this.dataSource = dataSource;
+        this.scale = scale;
+        this.todaysDeliveries = todaysDeliveries;
+    }
+
+    /**
+     * How much to generate. Subscription meals = users x (daysPast + daysFuture + 1);
+     * deliveries = users x (daysPast + 1).
+     */
+    public record Scale(int users, int meals, int plans, int mealsPerPlan, int daysPast, int daysFuture, long seed) {
+    }
+
+    /**
+     * IDs of what was generated, for the load driver to address.
+     */
+    public record Dataset(int firstUserId, int userCount, int firstMealId, int mealCount, Map<String, Long> rowCounts) {
+
+        public String userEmail(int index) {
+            return "user" + index + "@loadtest.local";
+        }
+    }
+
+    /**
+     * Whether a previous run already generated a dataset into this schema (a persistent database is reused).
+     */
+    public static boolean alreadyGenerated(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM users WHERE email = ?")) {
+            statement.setString(1, ADMIN_EMAIL);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    public Dataset generate() throws SQLException {
+        Random random = new Random(scale.seed());
+        LocalDate today = LocalDate.now();
+        Map<String, Long> rowCounts = new LinkedHashMap<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+
+            int userRole = ensureNamedRow(connection, "role", "role_id", "role_name", "USER");
+            int adminRole = ensureNamedRow(connection, "role", "role_id", "role_name", "ADMIN");
+            int active = ensureNamedRow(connection, "subscription_status", "status_id", "status_name", "active");
+            int paused = ensureNamedRow(connection, "subscription_status", "status_id", "status_name", "paused");
+            int cancelled = ensureNamedRow(connection, "subscription_status", "status_id", "status_name", "cancelled");
+            int preparing = ensureNamedRow(connection, "delivery_status", "status_id", "status_name", "PREPARING");
+            ensureNamedRow(connection, "delivery_status", "status_id", "status_name", "SHIPPED");
+            int delivered = ensureNamedRow(connection, "delivery_status", "status_id", "status_name", "DELIVERED");
+            int confirmed = ensureNamedRow(connection, "delivery_status", "status_id", "status_name", "CONFIRMED");
+            int[] allergyIds = new int[ALLERGIES.length];
+            for (int i = 0; i < ALLERGIES.length; i++) {
+                allergyIds[i] = ensureNamedRow(connection, "allergy", "allergy_id", "allergy_name", ALLERGIES[i]);
+            }
+            int[] categoryIds = new int[PLAN_CATEGORIES.length];
+            for (int i = 0; i < PLAN_CATEGORIES.length; i++) {
+                categoryIds[i] = ensureNamedRow(connection, "plan_category", "category_id", "category_name", PLAN_CATEGORIES[i]);
+            }
+            connection.commit();
+
+            // Users: the admin first, then customers user0 .. user(N-1)
+            String passwordHash = new BCryptPasswordEncoder(10).encode(PASSWORD);
+            int adminId = nextId(connection, "users", "user_id");
+            int firstUserId = adminId + 1;
+            try (Batch users = new Batch(connection,
+                    "INSERT INTO users (user_id, full_name, email, password_hash, email_verified, role_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+                users.add(adminId, "Load Test Admin", ADMIN_EMAIL, passwordHash, true, adminRole);
+                for (int i = 0; i < scale.users(); i++) {
+                    users.add(firstUserId + i, "Load User " + i, "user" + i + "@loadtest.local", passwordHash, true, userRole);
+                }
+                rowCounts.put("users", users.count());
+            }
+
+            // Meals, each with its own nutrition row, four nutrition facts and up to two allergens
+            int firstMealId = nextId(connection, "meal", "meal_id");
+            int firstNutritionId = nextId(connection, "nutrition", "nutrition_id");
+            int nextFactId = nextId(connection, "nutrition_facts", "fact_id");
+            try (Batch nutrition = new Batch(connection, "INSERT INTO nutrition (nutrition_id) VALUES (?)");
+                 Batch meals = new Batch(connection,
+                         "INSERT INTO meal (meal_id, meal_name, recipe_text, nutrition_id, rating) VALUES (?, ?, ?, ?, ?)", nutrition);
+                 Batch facts = new Batch(connection,
+                         "INSERT INTO nutrition_facts (fact_id, nutrition_id, fact_name, fact_value, unit) VALUES (?, ?, ?, ?, ?)", nutrition);
+                 Batch mealAllergies = new Batch(connection, "INSERT INTO meal_allergy (meal_id, allergy_id) VALUES (?, ?)", meals)) {
+                for (int i = 0; i < scale.meals(); i++) {
+                    int mealId = firstMealId + i;
+                    int nutritionId = firstNutritionId + i;
+                    nutrition.add(nutritionId);
+                    String name = MEAL_WORDS[random.nextInt(MEAL_WORDS.length)] + " "
+                            + MEAL_BASES[random.nextInt(MEAL_BASES.length)] + " #" + i;
+                    meals.add(mealId, name, "Prepare " + name + " and serve warm.", nutritionId, 1 + random.nextInt(5));
+                    facts.add(nextFactId++, nutritionId, "calories", 250.0 + random.nextInt(600), "kcal");
+                    facts.add(nextFactId++, nutritionId, "protein", 10.0 + random.nextInt(50), "g");
+                    facts.add(nextFactId++, nutritionId, "carbs", 10.0 + random.nextInt(80), "g");
+                    facts.add(nextFactId++, nutritionId, "fats", 5.0 + random.nextInt(40), "g");
+                    int allergens = random.nextInt(3);
+                    int firstAllergy = random.nextInt(allergyIds.length);
+                    for (int a = 0; a < allergens; a++) {
+                        mealAllergies.add(mealId, allergyIds[(firstAllergy + a) % allergyIds.length]);
+                    }
+                }
+                rowCounts.put("meal", meals.count());
+                rowCounts.put("nutrition_facts", facts.count());
+                rowCounts.put("meal_allergy", mealAllergies.count());
+            }
+
+            // Custom plans created by random users, each with a few distinct meals
+            int firstPlanId = nextId(connection, "custom_plan", "custom_plan_id");
+            List<int[]> planMeals = new ArrayList<>(scale.plans());
+            try (Batch plans = new Batch(connection,
+                    "INSERT INTO custom_plan (custom_plan_id, user_id, category_id, duration_minutes, price) VALUES (?, ?, ?, ?, ?)");
+                 Batch planMealRows = new Batch(connection, "INSERT INTO custom_plan_meal (custom_plan_id, meal_id) VALUES (?, ?)", plans)) {
+                int perPlan = Math.min(scale.mealsPerPlan(), scale.meals());
+                for (int i = 0; i < scale.plans(); i++) {
+                    int planId = firstPlanId + i;
+                    plans.add(planId, firstUserId + random.nextInt(scale.users()), categoryIds[random.nextInt(categoryIds.length)],
+                            30 + 15 * random.nextInt(8), 49.0 + random.nextInt(150));
+                    int[] mealIds = new int[perPlan];
+                    int start = random.nextInt(scale.meals());
+                    for (int m = 0; m < perPlan; m++) {
+                        mealIds[m] = firstMealId + (start + m) % scale.meals();
+                        planMealRows.add(planId, mealIds[m]);
+                    }
+                    planMeals.add(mealIds);
+                }
+                rowCounts.put("custom_plan", plans.count());
+                rowCounts.put("custom_plan_meal", planMealRows.count());
+            }
+
+            // One subscription per user, with a meal per day and a delivery for each day up to today
+            int firstSubscriptionId = nextId(connection, "subscription", "subscription_id");
+            int nextSubscriptionMealId = nextId(connection, "subscription_meal", "subscription_meal_id");
+            int nextDeliveryId = nextId(connection, "delivery", "delivery_id");
+            LocalDate firstDay = today.minusDays(scale.daysPast());
+            try (Batch subscriptions = new Batch(connection,
+                    "INSERT INTO subscription (subscription_id, user_id, custom_plan_id, start_date, plan_time, preferred_time, status_id) VALUES (?, ?, ?, ?, ?, ?, ?)");
+                 Batch subscriptionMeals = new Batch(connection,
+                         "INSERT INTO subscription_meal (subscription_meal_id, subscription_id, meal_id, delivery_date) VALUES (?, ?, ?, ?)", subscriptions);
+                 Batch deliveries = new Batch(connection,
+                         "INSERT INTO delivery (delivery_id, subscription_meal_id, address, delivery_time, status_id, created_at, status_updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", subscriptionMeals)) {
+                for (int i = 0; i < scale.users(); i++) {
+                    int subscriptionId = firstSubscriptionId + i;
+                    int planIndex = random.nextInt(scale.plans());
+                    int roll = random.nextInt(100);
+                    int status = roll < 85 ? active : roll < 95 ? paused : cancelled;
+                    LocalTime preferredTime = LocalTime.of(8 + random.nextInt(12), 15 * random.nextInt(4));
+                    subscriptions.add(subscriptionId, firstUserId + i, firstPlanId + planIndex, firstDay,
+                            today.plusDays(scale.daysFuture()), preferredTime, status);
+
+                    int[] mealIds = planMeals.get(planIndex);
+                    String address = (1 + random.nextInt(999)) + " Load Test Street";
+                    for (int day = 0; day <= scale.daysPast() + scale.daysFuture(); day++) {
+                        LocalDate date = firstDay.plusDays(day);
+                        int subscriptionMealId = nextSubscriptionMealId++;
+                        subscriptionMeals.add(subscriptionMealId, subscriptionId, mealIds[day % mealIds.length], date);
+                        if (date.isBefore(today) || date.isEqual(today) && todaysDeliveries) {
+                            int deliveryStatus = date.isEqual(today) ? preparing
+                                    : random.nextInt(10) < 8 ? confirmed : delivered;
+                            LocalDateTime createdAt = date.atStartOfDay();
+                            deliveries.add(nextDeliveryId++, subscriptionMealId, address, preferredTime, deliveryStatus,
+                                    createdAt, date.isEqual(today) ? createdAt : date.atTime(preferredTime));
+                        }
+                    }
+                }
+                rowCounts.put("subscription", subscriptions.count());
+                rowCounts.put("subscription_meal", subscriptionMeals.count());
+                rowCounts.put("delivery", deliveries.count());
+            }
+
+            restartIdentities(connection);
+            connection.commit();
+            return new Dataset(firstUserId, scale.users(), firstMealId, scale.meals(), rowCounts);
+        }
+    }
+
+    private static int ensureNamedRow(Connection connection, String table, String idColumn, String nameColumn, String name)
+            throws SQLException {
+        String select = "SELECT " + idColumn + " FROM " + table + " WHERE " + nameColumn + " = ?";
+        Integer id = queryId(connection, select, name);
+        if (id != null) {
+            return id;
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table + " (" + nameColumn + ") VALUES (?)")) {
+            insert.setString(1, name);
+            insert.executeUpdate();
+        }
+        return queryId(connection, select, name);
+    }
+
+    private static Integer queryId(Connection connection, String sql, String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() ? rows.getInt(1) : null;
+            }
+        }
+    }
+
+    private static int nextId(Connection connection, String table, String idColumn) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COALESCE(MAX(" + idColumn + "), 0) + 1 FROM " + table)) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+
+    /**
+     * MySQL moves AUTO_INCREMENT past explicitly inserted IDs by itself; H2 identity columns have to be told.
+     */
+    private static void restartIdentities(Connection connection) throws SQLException {
+        if (!connection.getMetaData().getDatabaseProductName().toLowerCase().contains("h2")) {
+            return;
+        }
+        String[][] identities = {
+                {"users", "user_id"}, {"nutrition", "nutrition_id"}, {"meal", "meal_id"}, {"nutrition_facts", "fact_id"},
+                {"custom_plan", "custom_plan_id"}, {"subscription", "subscription_id"},
+                {"subscription_meal", "subscription_meal_id"}, {"delivery", "delivery_id"}};
+        try (Statement statement = connection.createStatement()) {
+            for (String[] identity : identities) {
+                int next = nextId(connection, identity[0], identity[1]);
+                statement.execute("ALTER TABLE " + identity[0] + " ALTER COLUMN " + identity[1] + " RESTART WITH " + next);
+            }
+        }
+    }
+
+    /**
+     * Batched inserts for one statement, executed and committed every {@link #BATCH_SIZE} rows.
+     * Batches of the rows this one references are flushed first, so foreign keys always resolve.
+     */
+    private static final class Batch implements AutoCloseable {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final Batch[] parents;
+        private int pending;
+        private long count;
+
+        Batch(Connection connection, String sql, Batch... parents) throws SQLException {
+            this.connection = connection;
+            this.statement = connection.prepareStatement(sql);
+            this.parents = parents;
+        }
+
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            count++;
+            if (++pending == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        long count() {
+            return count;
+        }
+
+        private void flush() throws SQLException {
+            for (Batch parent : parents) {
+                parent.flush();
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
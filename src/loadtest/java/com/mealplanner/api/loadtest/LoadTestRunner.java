@@ -0,0 +1,123 @@
+package com.mealplanner.api.loadtest;
+
+import com.mealplanner.api.DemoApplication;
+import com.mealplanner.api.service.ReferenceDataRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Entry point of the load test: starts the application with the {@code loadtest} profile (embedded H2 in
+ * MySQL mode unless a datasource is passed), generates the dataset, runs the load driver against it and
+ * prints the per-endpoint report.
+ *
+ * Options ({@code --name=value}): users, meals, plans, meals-per-plan, days-past, days-future, seed,
+ * concurrency, sessions, warmup-seconds, duration-seconds, and target (base URL of an instance that is
+ * already running and already holds a generated dataset; nothing is started or generated then).
+ * Any other argument is passed on to Spring, e.g. {@code --spring.datasource.url=jdbc:mysql://...}.
+ */
+public final class LoadTestRunner {
+
+    private static final Set<String> OPTIONS = Set.of("users", "meals", "plans", "meals-per-plan", "days-past",
+            "days-future", "seed", "concurrency", "sessions", "warmup-seconds", "duration-seconds", "target");
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> springArgs = new ArrayList<>();
+        Map<String, String> options = parseOptions(args, OPTIONS, springArgs);
+
+        int users = intOption(options, "users", 10_000);
+        long seed = intOption(options, "seed", 42);
+        LoadTestDataGenerator.Scale scale = new LoadTestDataGenerator.Scale(
+                users,
+                intOption(options, "meals", 500),
+                intOption(options, "plans", Math.max(10, users / 10)),
+                intOption(options, "meals-per-plan", 7),
+                intOption(options, "days-past", 7),
+                intOption(options, "days-future", 7),
+                seed);
+        LoadDriver.Settings settings = new LoadDriver.Settings(
+                intOption(options, "concurrency", 32),
+                Duration.ofSeconds(intOption(options, "warmup-seconds", 10)),
+                Duration.ofSeconds(intOption(options, "duration-seconds", 60)),
+                intOption(options, "sessions", 200),
+                users,
+                seed);
+
+        ConfigurableApplicationContext context = null;
+        URI target;
+        if (options.containsKey("target")) {
+            target = URI.create(options.get("target"));
+        } else {
+            addDefaultProfile(springArgs);
+            context = new SpringApplicationBuilder(DemoApplication.class).run(springArgs.toArray(String[]::new));
+            generate(context, scale);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            target = URI.create("http://localhost:" + port);
+        }
+
+        System.out.printf("Running load against %s: %d workers, %d s warm-up, %d s measured%n",
+                target, settings.concurrency(), settings.warmup().toSeconds(), settings.duration().toSeconds());
+        LoadDriver.Report report = new LoadDriver(target).run(settings);
+        report.print(System.out);
+
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    static void addDefaultProfile(List<String> springArgs) {
+        if (springArgs.stream().noneMatch(arg -> arg.startsWith("--spring.profiles.active="))) {
+            springArgs.add("--spring.profiles.active=loadtest");
+        }
+    }
+
+    private static void generate(ConfigurableApplicationContext context, LoadTestDataGenerator.Scale scale) throws Exception {
+        DataSource dataSource = context.getBean(DataSource.class);
+        if (LoadTestDataGenerator.alreadyGenerated(dataSource)) {
+            System.out.println("Dataset already present; skipping generation");
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        LoadTestDataGenerator.Dataset dataset = new LoadTestDataGenerator(dataSource, scale).generate();
+        System.out.printf("Generated %s in %.1f s%n", dataset.rowCounts(), (System.nanoTime() - startedAt) / 1e9);
+
+        // Statuses and roles were added after startup
+        context.getBean(ReferenceDataRegistry.class).refresh();
+    }
+
+    /**
+     * Splits {@code --name=value} arguments whose name is one of {@code names} from the rest, which are
+     * added to {@code springArgs}.
+     */
+    static Map<String, String> parseOptions(String[] args, Set<String> names, List<String> springArgs) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = arg.startsWith("--") && equals > 2 ? arg.substring(2, equals) : null;
+            if (name != null && names.contains(name)) {
+                options.put(name, arg.substring(equals + 1));
+            } else {
+                springArgs.add(arg);
+            }
+        }
+        return options;
+    }
+
+    static int intOption(Map<String, String> options, String name, int defaultValue) {
+        String value = options.get(name);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+}
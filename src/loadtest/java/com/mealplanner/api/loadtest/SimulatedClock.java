@@ -0,0 +1,66 @@
+package com.mealplanner.api.loadtest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A clock that stands still at {@code origin} until {@link #start()}, then runs {@code speed} times faster
+ * than real time. Clocks derived with {@link #withZone} share the same time line.
+ */
+public final class SimulatedClock extends Clock {
+
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final Instant origin;
+    private final ZoneId zone;
+    private final long speed;
+    private final AtomicLong startedAtNanos;
+
+    public SimulatedClock(Instant origin, ZoneId zone, long speed) {
+        this(origin, zone, speed, new AtomicLong(NOT_STARTED));
+    }
+
+    private SimulatedClock(Instant origin, ZoneId zone, long speed, AtomicLong startedAtNanos) {
+        this.origin = origin;
+        this.zone = zone;
+        this.speed = speed;
+        this.startedAtNanos = startedAtNanos;
+    }
+
+    public void start() {
+        startedAtNanos.compareAndSet(NOT_STARTED, System.nanoTime());
+    }
+
+    public long speed() {
+        return speed;
+    }
+
+    public Instant origin() {
+        return origin;
+    }
+
+    /**
+     * Simulated nanoseconds since the origin.
+     */
+    public long elapsedNanos() {
+        long startedAt = startedAtNanos.get();
+        return startedAt == NOT_STARTED ? 0 : (System.nanoTime() - startedAt) * speed;
+    }
+
+    @Override
+    public Instant instant() {
+        return origin.plusNanos(elapsedNanos());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new SimulatedClock(origin, zone, speed, startedAtNanos);
+    }
+}
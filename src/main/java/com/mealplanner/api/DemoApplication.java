@@ -2,10 +2,8 @@ package com.mealplanner.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableScheduling
 public class DemoApplication {
 
     public static void main(String[] args) {
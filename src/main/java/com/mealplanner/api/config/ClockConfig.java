@@ -0,0 +1,21 @@
+package com.mealplanner.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * The clock the delivery pipeline reads the current date and time from. Tests and the delivery simulation
+ * (src/loadtest) register their own {@link Clock} bean, e.g. a fixed or an accelerated one, to replace it.
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,98 @@
+package com.mealplanner.api.config;
+
+import com.mealplanner.api.exception.ServiceUnavailableException;
+import com.mealplanner.api.util.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Bulkheads for API calls: admin endpoints and customer endpoints each get their own adaptive
+ * concurrency limit, so a burst of heavy admin listings cannot take every request thread and
+ * database connection from customers.
+ *
+ * A request over its group's limit waits briefly in a bounded queue; if the queue is full or the wait
+ * runs out it is shed with 503 and Retry-After before any work is done. Runs after authentication, so
+ * only authorised calls hold permits. For async responses (e.g. streamed bulk operations) the permit is
+ * held until the response completes.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    static final String ADMIN_PATH_PREFIX = "/api/admin/";
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final AdaptiveConcurrencyLimiter adminLimiter;
+    private final AdaptiveConcurrencyLimiter customerLimiter;
+
+    @Autowired
+    public ConcurrencyLimitInterceptor(
+            @Value("${concurrency.admin.initial-limit:4}") int adminInitialLimit,
+            @Value("${concurrency.admin.min-limit:2}") int adminMinLimit,
+            @Value("${concurrency.admin.max-limit:5}") int adminMaxLimit,
+            @Value("${concurrency.admin.max-queue:5}") int adminMaxQueue,
+            @Value("${concurrency.admin.queue-timeout-ms:250}") long adminQueueTimeoutMillis,
+            @Value("${concurrency.customer.initial-limit:20}") int customerInitialLimit,
+            @Value("${concurrency.customer.min-limit:10}") int customerMinLimit,
+            @Value("${concurrency.customer.max-limit:40}") int customerMaxLimit,
+            @Value("${concurrency.customer.max-queue:40}") int customerMaxQueue,
+            @Value("${concurrency.customer.queue-timeout-ms:1000}") long customerQueueTimeoutMillis) {
+        this(new AdaptiveConcurrencyLimiter(adminInitialLimit, adminMinLimit, adminMaxLimit,
+                        adminMaxQueue, adminQueueTimeoutMillis),
+             new AdaptiveConcurrencyLimiter(customerInitialLimit, customerMinLimit, customerMaxLimit,
+                        customerMaxQueue, customerQueueTimeoutMillis));
+    }
+
+    ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter adminLimiter, AdaptiveConcurrencyLimiter customerLimiter) {
+        this.adminLimiter = adminLimiter;
+        this.customerLimiter = customerLimiter;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            // Async dispatch of a request that already holds its permit
+            return true;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiterFor(request);
+        if (!limiter.tryAcquire()) {
+            throw new ServiceUnavailableException("The server is busy. Please try again shortly.", 1);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(limiter, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof Permit held) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            boolean failed = ex != null || response.getStatus() >= 500;
+            held.limiter().release(System.nanoTime() - held.startedAt(), failed);
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter limiterFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith(ADMIN_PATH_PREFIX) ? adminLimiter : customerLimiter;
+    }
+
+    public AdaptiveConcurrencyLimiter getAdminLimiter() {
+        return adminLimiter;
+    }
+
+    public AdaptiveConcurrencyLimiter getCustomerLimiter() {
+        return customerLimiter;
+    }
+
+    private record Permit(AdaptiveConcurrencyLimiter limiter, long startedAt) {
+    }
+}
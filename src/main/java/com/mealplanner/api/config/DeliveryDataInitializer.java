@@ -2,6 +2,8 @@ package com.mealplanner.api.config;
 
 import com.mealplanner.api.model.DeliveryStatus;
 import com.mealplanner.api.repository.DeliveryStatusRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +15,8 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class DeliveryDataInitializer {
 
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryDataInitializer.class);
+
     @Bean
     public CommandLineRunner initDeliveryStatuses(DeliveryStatusRepository deliveryStatusRepository) {
         return args -> {
@@ -23,7 +27,7 @@ public class DeliveryDataInitializer {
                 if (deliveryStatusRepository.findByStatusName(statusName).isEmpty()) {
                     DeliveryStatus status = new DeliveryStatus(statusName);
                     deliveryStatusRepository.save(status);
-                    System.out.println("Initialized delivery status: " + statusName);
+                    logger.info("Initialized delivery status: {}", statusName);
                 }
             }
         };
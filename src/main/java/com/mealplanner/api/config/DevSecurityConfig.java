@@ -1,6 +1,8 @@
 package com.mealplanner.api.config;
 
+import com.mealplanner.api.security.BoundedPasswordEncoder;
 import com.mealplanner.api.security.CustomUserDetailsService;
+import com.mealplanner.api.security.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,8 +14,7 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -21,23 +22,24 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class DevSecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final RateLimitFilter rateLimitFilter;
 
     @Autowired
-    public DevSecurityConfig(CustomUserDetailsService userDetailsService) {
+    public DevSecurityConfig(CustomUserDetailsService userDetailsService, BoundedPasswordEncoder passwordEncoder,
+                             RateLimitFilter rateLimitFilter) {
         this.userDetailsService = userDetailsService;
-    }
-
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        this.passwordEncoder = passwordEncoder;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
     @SuppressWarnings("deprecation")
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         authProvider.setUserDetailsService(userDetailsService);
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -54,7 +56,8 @@ public class DevSecurityConfig {
                 .anyRequest().permitAll()
             )
             .authenticationProvider(authenticationProvider())
-            .httpBasic(Customizer.withDefaults());
+            .httpBasic(Customizer.withDefaults())
+            .addFilterBefore(rateLimitFilter, BasicAuthenticationFilter.class);
 
         return http.build();
     }
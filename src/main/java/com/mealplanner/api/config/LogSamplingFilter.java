@@ -0,0 +1,95 @@
+package com.mealplanner.api.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback turbo filter that keeps only every Nth INFO, DEBUG or TRACE event of selected loggers, so a chatty
+ * logger on a hot path costs one counter increment per call instead of a formatted line. WARN and ERROR
+ * always pass.
+ *
+ * Configured in logback-spring.xml from {@code logging.sampling.rates}, a comma-separated list of
+ * {@code logger=N} entries. An entry applies to the logger and every logger below it, the most specific
+ * entry wins, and N = 1 turns sampling off for that subtree.
+ */
+public class LogSamplingFilter extends TurboFilter {
+
+    private String rates = "";
+    private Map<String, Integer> ratesByLogger = Map.of();
+    // Resolved per logger name on first use; the set of logger names is fixed, so this stays small
+    private final Map<String, Sampler> samplers = new ConcurrentHashMap<>();
+
+    public void setRates(String rates) {
+        this.rates = rates != null ? rates : "";
+    }
+
+    @Override
+    public void start() {
+        Map<String, Integer> parsed = new HashMap<>();
+        for (String entry : rates.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int equals = entry.lastIndexOf('=');
+            try {
+                int rate = Integer.parseInt(entry.substring(equals + 1).trim());
+                if (equals <= 0 || rate < 1) {
+                    throw new NumberFormatException();
+                }
+                parsed.put(entry.substring(0, equals).trim(), rate);
+            } catch (NumberFormatException e) {
+                addWarn("Ignoring log sampling entry '" + entry.trim() + "', expected logger=N with N >= 1");
+            }
+        }
+        ratesByLogger = Map.copyOf(parsed);
+        samplers.clear();
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isDebugEnabled() and friends (no format) are never sampled, nor are levels the logger drops anyway
+        if (ratesByLogger.isEmpty() || format == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Sampler sampler = samplers.computeIfAbsent(logger.getName(), this::resolve);
+        return sampler.keep() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Sampler resolve(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Integer rate = ratesByLogger.get(name);
+            if (rate != null) {
+                return rate == 1 ? Sampler.ALL : new Sampler(rate, new AtomicLong());
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return Sampler.ALL;
+            }
+            name = name.substring(0, dot);
+        }
+    }
+
+    /**
+     * Keeps the first event and then every {@code rate}th. Each logger counts on its own, even when several
+     * fall under the same entry.
+     */
+    private record Sampler(int rate, AtomicLong seen) {
+
+        static final Sampler ALL = new Sampler(1, new AtomicLong());
+
+        boolean keep() {
+            return rate == 1 || seen.getAndIncrement() % rate == 0;
+        }
+    }
+}
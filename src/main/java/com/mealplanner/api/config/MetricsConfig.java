@@ -0,0 +1,57 @@
+package com.mealplanner.api.config;
+
+import com.mealplanner.api.security.RateLimitFilter;
+import com.mealplanner.api.util.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meters for the in-memory protections that Micrometer cannot see on its own: the concurrency bulkheads
+ * and the public rate limiter. HTTP, JVM, Hikari and scheduled task metrics come from Spring Boot.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(ConcurrencyLimitInterceptor concurrencyLimitInterceptor) {
+        return registry -> {
+            bindLimiter(registry, "admin", concurrencyLimitInterceptor.getAdminLimiter());
+            bindLimiter(registry, "customer", concurrencyLimitInterceptor.getCustomerLimiter());
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimitFilter rateLimitFilter) {
+        return registry -> {
+            Gauge.builder("rate.limit.buckets", rateLimitFilter, RateLimitFilter::trackedBuckets)
+                    .description("Client buckets currently tracked by the public rate limiter")
+                    .register(registry);
+            FunctionCounter.builder("rate.limit.rejected", rateLimitFilter, RateLimitFilter::rejectedCount)
+                    .description("Requests rejected with 429 by the public rate limiter")
+                    .register(registry);
+        };
+    }
+
+    private static void bindLimiter(MeterRegistry registry, String group, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .tag("group", group)
+                .register(registry);
+        Gauge.builder("concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Requests holding a permit")
+                .tag("group", group)
+                .register(registry);
+        Gauge.builder("concurrency.waiting", limiter, AdaptiveConcurrencyLimiter::waiting)
+                .description("Requests queued for a permit")
+                .tag("group", group)
+                .register(registry);
+        FunctionCounter.builder("concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::rejected)
+                .description("Requests shed with 503")
+                .tag("group", group)
+                .register(registry);
+    }
+}
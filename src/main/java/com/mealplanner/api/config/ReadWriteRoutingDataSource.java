@@ -0,0 +1,41 @@
+package com.mealplanner.api.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to a replica chosen by the {@link ReplicaSet}, and everything
+ * else (read-write transactions, work outside a transaction) to the primary.
+ *
+ * The read-only flag is only known once the transaction has begun, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which fetches the connection
+ * when the first statement runs.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaSet replicaSet;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaSet replicaSet) {
+        this.replicaSet = replicaSet;
+        Map<Object, Object> targets = new HashMap<>(replicaSet.dataSources());
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        initialize();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        String replica = replicaSet.choose(ReadYourWritesGuard.currentPrincipal());
+        return replica != null ? replica : PRIMARY;
+    }
+}
@@ -0,0 +1,66 @@
+package com.mealplanner.api.config;
+
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each user last committed a read-write transaction, so that {@link ReplicaSet} keeps that
+ * user's reads on the primary until a replica has caught up with the write.
+ *
+ * Registered with the transaction manager as an execution listener. Users are identified by the name of the
+ * authenticated principal; work without one (schedulers, anonymous requests) is not tracked. Entries are
+ * dropped once they are older than the replica lag limit, when every replica still in use has them.
+ */
+public class ReadYourWritesGuard implements TransactionExecutionListener {
+
+    private final Clock clock;
+    private final ConcurrentHashMap<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+
+    public ReadYourWritesGuard(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly()) {
+            return;
+        }
+        String principal = currentPrincipal();
+        if (principal != null) {
+            // Taken after the commit: a heartbeat stamped later than this was written after the change
+            lastWriteMillis.put(principal, clock.millis());
+        }
+    }
+
+    /**
+     * Clock millis of the principal's last committed write, or null if there is none still tracked.
+     */
+    @Nullable
+    public Long lastWriteMillis(@Nullable String principal) {
+        return principal != null ? lastWriteMillis.get(principal) : null;
+    }
+
+    public void forgetWritesBefore(long millis) {
+        lastWriteMillis.values().removeIf(writtenAt -> writtenAt < millis);
+    }
+
+    public int trackedUsers() {
+        return lastWriteMillis.size();
+    }
+
+    @Nullable
+    static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,135 @@
+package com.mealplanner.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Read replicas, enabled by setting {@code db.replicas.urls}. Replaces Spring Boot's single DataSource with
+ * the primary pool (configured as before by {@code spring.datasource.*}), one read-only pool per replica, and
+ * a routing DataSource in front of them that sends read-only transactions to a current replica.
+ *
+ * A connection is routed once, when it is fetched, so Hibernate is set to hand it back after every transaction.
+ * Otherwise a session kept open across transactions (open-session-in-view, or a non-transactional service method
+ * calling several repository methods) would run a later write on the replica connection of an earlier read.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.replicas.urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesGuard readYourWritesGuard(Clock clock) {
+        return new ReadYourWritesGuard(clock);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaSet replicaSet(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                DataSourceProperties properties,
+                                ObjectProvider<SlowQueryDetector> slowQueryDetector,
+                                ReadYourWritesGuard readYourWritesGuard,
+                                Clock clock,
+                                @Value("${db.replicas.urls}") List<String> urls,
+                                @Value("${db.replicas.username:${spring.datasource.username:}}") String username,
+                                @Value("${db.replicas.password:${spring.datasource.password:}}") String password,
+                                @Value("${db.replicas.pool-size:10}") int poolSize,
+                                @Value("${db.replicas.max-lag:PT5S}") Duration maxLag,
+                                @Value("${db.replicas.connection-timeout:PT2S}") Duration connectionTimeout) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i).trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Short, so a replica that is down holds up the heartbeat check and the reads routed to it only briefly
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            // Not beans, so the slow query post-processor does not see them
+            SlowQueryDetector detector = slowQueryDetector.getIfAvailable();
+            replicas.put(replica.getPoolName(), detector != null ? detector.wrap(replica) : replica);
+        }
+        return new ReplicaSet(primaryDataSource, replicas, clock, maxLag, readYourWritesGuard);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource, ReplicaSet replicaSet) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primaryDataSource, replicaSet));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public MeterBinder replicaMetrics(ReplicaSet replicaSet) {
+        return registry -> {
+            for (Map.Entry<String, DataSource> replica : replicaSet.dataSources().entrySet()) {
+                Gauge.builder("db.replica.lag", replicaSet, set -> set.lagSeconds(replica.getKey()))
+                        .description("Age of the last heartbeat the replica has applied (NaN while it is not usable)")
+                        .baseUnit("seconds")
+                        .tag("replica", replica.getKey())
+                        .register(registry);
+                // Spring Boot binds pool metrics for DataSource beans only; the pools start on first use
+                try {
+                    HikariDataSource pool = replica.getValue().unwrap(HikariDataSource.class);
+                    if (pool.getMetricRegistry() == null && pool.getMetricsTrackerFactory() == null) {
+                        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                    }
+                } catch (SQLException | IllegalStateException e) {
+                    // Not a Hikari pool, or already started
+                }
+            }
+            bindRoute(registry, replicaSet, "replica", ReplicaSet::routedToReplicaCount);
+            bindRoute(registry, replicaSet, "primary_lag", ReplicaSet::keptForLagCount);
+            bindRoute(registry, replicaSet, "primary_read_your_writes", ReplicaSet::keptForReadYourWritesCount);
+        };
+    }
+
+    private static void bindRoute(MeterRegistry registry, ReplicaSet replicaSet, String route,
+                                  ToDoubleFunction<ReplicaSet> count) {
+        FunctionCounter.builder("db.read.routing", replicaSet, count)
+                .description("Read-only transactions by where they were sent: a replica, or the primary because no "
+                        + "replica was current or none had the user's last write")
+                .tag("route", route)
+                .register(registry);
+    }
+}
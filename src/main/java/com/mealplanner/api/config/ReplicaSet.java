@@ -0,0 +1,223 @@
+package com.mealplanner.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The read replicas behind {@link ReadWriteRoutingDataSource}, and how far behind the primary each one is.
+ *
+ * Lag is measured with a heartbeat: the primary's {@code replication_heartbeat} row is stamped with the clock
+ * time every interval, and each replica's copy of the row shows the last stamp it has applied. A replica is
+ * used while that stamp is at most {@code maxLag} old; the measured lag overstates the real one by up to two
+ * intervals. A replica that cannot be reached, or has not applied any heartbeat yet, is not used. Every
+ * instance writes the heartbeat, so their clocks are expected to be in sync.
+ */
+public class ReplicaSet implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaSet.class);
+
+    static final String CREATE_HEARTBEAT_TABLE =
+            "CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)";
+    private static final String UPDATE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String INSERT_HEARTBEAT = "INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)";
+    private static final String SELECT_HEARTBEAT = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Clock clock;
+    private final long maxLagMillis;
+    private final ReadYourWritesGuard readYourWritesGuard;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder routedToReplica = new LongAdder();
+    private final LongAdder keptForLag = new LongAdder();
+    private final LongAdder keptForReadYourWrites = new LongAdder();
+    private volatile boolean heartbeatTableCreated;
+
+    /**
+     * @param replicas replica DataSources by name, used as routing keys
+     */
+    public ReplicaSet(DataSource primary, Map<String, DataSource> replicas, Clock clock, Duration maxLag,
+                      ReadYourWritesGuard readYourWritesGuard) {
+        this.primary = primary;
+        List<Replica> list = new ArrayList<>();
+        replicas.forEach((name, dataSource) -> list.add(new Replica(name, dataSource)));
+        this.replicas = Collections.unmodifiableList(list);
+        this.clock = clock;
+        this.maxLagMillis = maxLag.toMillis();
+        this.readYourWritesGuard = readYourWritesGuard;
+    }
+
+    /**
+     * Writes the heartbeat on the primary, then reads it back from every replica.
+     */
+    @Scheduled(fixedDelayString = "${db.replicas.heartbeat-interval-ms:1000}")
+    public void checkReplicas() {
+        long now = clock.millis();
+        try {
+            writeHeartbeat(now);
+        } catch (SQLException e) {
+            logger.warn("Could not write the replication heartbeat: {}", e.getMessage());
+        }
+        for (Replica replica : replicas) {
+            replica.readHeartbeat();
+        }
+        readYourWritesGuard.forgetWritesBefore(now - maxLagMillis);
+    }
+
+    /**
+     * Picks a replica for a read-only transaction, round robin among those that are current enough, or
+     * returns null when the read has to go to the primary.
+     *
+     * @param principal the user running the transaction, if any; a replica must have their last write
+     */
+    @Nullable
+    public String choose(@Nullable String principal) {
+        long now = clock.millis();
+        Long lastWrite = readYourWritesGuard.lastWriteMillis(principal);
+        int start = next.getAndIncrement();
+        boolean anyCurrent = false;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.isCurrent(now, maxLagMillis)) {
+                continue;
+            }
+            anyCurrent = true;
+            // Strictly later: a heartbeat stamped in the same millisecond may have been written before the change
+            if (lastWrite == null || replica.appliedUpToMillis > lastWrite) {
+                routedToReplica.increment();
+                return replica.name;
+            }
+        }
+        (anyCurrent ? keptForReadYourWrites : keptForLag).increment();
+        return null;
+    }
+
+    public Map<String, DataSource> dataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        replicas.forEach(replica -> dataSources.put(replica.name, replica.dataSource));
+        return dataSources;
+    }
+
+    public List<String> names() {
+        return replicas.stream().map(replica -> replica.name).toList();
+    }
+
+    /**
+     * Seconds since the last heartbeat the replica has applied, or NaN if it has applied none or cannot be reached.
+     */
+    public double lagSeconds(String name) {
+        for (Replica replica : replicas) {
+            if (replica.name.equals(name)) {
+                long appliedUpTo = replica.appliedUpToMillis;
+                return replica.reachable && appliedUpTo != Long.MIN_VALUE
+                        ? (clock.millis() - appliedUpTo) / 1000.0
+                        : Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+
+    public long routedToReplicaCount() {
+        return routedToReplica.sum();
+    }
+
+    public long keptForLagCount() {
+        return keptForLag.sum();
+    }
+
+    public long keptForReadYourWritesCount() {
+        return keptForReadYourWrites.sum();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            try {
+                if (replica.dataSource.isWrapperFor(Closeable.class)) {
+                    replica.dataSource.unwrap(Closeable.class).close();
+                }
+            } catch (SQLException e) {
+                logger.warn("Could not close replica {}: {}", replica.name, e.getMessage());
+            }
+        }
+    }
+
+    private void writeHeartbeat(long now) throws SQLException {
+        try (Connection connection = primary.getConnection()) {
+            if (!heartbeatTableCreated) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_HEARTBEAT_TABLE);
+                }
+                heartbeatTableCreated = true;
+            }
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_HEARTBEAT)) {
+                update.setLong(1, now);
+                if (update.executeUpdate() > 0) {
+                    return;
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_HEARTBEAT)) {
+                insert.setLong(1, now);
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long appliedUpToMillis = Long.MIN_VALUE;
+        private volatile boolean reachable;
+        private volatile boolean failureLogged;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private boolean isCurrent(long now, long maxLagMillis) {
+            return reachable && appliedUpToMillis != Long.MIN_VALUE && now - appliedUpToMillis <= maxLagMillis;
+        }
+
+        private void readHeartbeat() {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement select = connection.prepareStatement(SELECT_HEARTBEAT);
+                 ResultSet row = select.executeQuery()) {
+                if (row.next()) {
+                    appliedUpToMillis = row.getLong(1);
+                }
+                if (failureLogged) {
+                    logger.info("Replica {} is reachable again", name);
+                    failureLogged = false;
+                }
+                reachable = true;
+            } catch (SQLException e) {
+                if (!failureLogged) {
+                    logger.warn("Replica {} is not used: {}", name, e.getMessage());
+                    failureLogged = true;
+                }
+                reachable = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.mealplanner.api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.mealplanner.api.model.CacheRegions;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caffeine caches (through JCache) backing the Hibernate second-level and query cache.
+ *
+ * Entity and collection regions hold the catalogue and lookup rows, bounded in size and expired after a
+ * while so that rows changed outside this instance (another instance, or SQL run by hand) are picked up.
+ * Query regions hold the IDs returned by the cacheable catalogue queries; Hibernate drops them as soon as
+ * one of the queried tables is written through this instance. The update timestamps region, which records
+ * those writes, is never bounded or expired.
+ *
+ * Hit, miss, put and eviction counts per region are published as the {@code cache.*} meters.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${cache.second-level.max-entries:10000}") long maxEntries,
+            @Value("${cache.second-level.expire-after-write:PT10M}") Duration expireAfterWrite,
+            @Value("${cache.second-level.query-max-entries:2000}") long queryMaxEntries,
+            @Value("${cache.second-level.query-expire-after-write:PT5M}") Duration queryExpireAfterWrite) {
+        // A manager of its own per application context: test contexts share the JVM, the JMX statistics beans
+        // are registered under the manager URI
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager(
+                URI.create("hibernate-" + UUID.randomUUID()), SecondLevelCacheConfig.class.getClassLoader());
+
+        for (String region : CacheRegions.ENTITY_REGIONS) {
+            cacheManager.createCache(region, configuration(maxEntries, expireAfterWrite));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                configuration(queryMaxEntries, queryExpireAfterWrite));
+        for (String region : CacheRegions.QUERY_REGIONS) {
+            cacheManager.createCache(region, configuration(queryMaxEntries, queryExpireAfterWrite));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, configuration(0, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> {
+            for (String name : secondLevelCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, secondLevelCacheManager.getCache(name));
+            }
+        };
+    }
+
+    /**
+     * @param maxEntries upper bound on entries, or 0 for none
+     * @param expireAfterWrite time an entry is kept after it was written, or null to keep it until evicted
+     */
+    private static CaffeineConfiguration<Object, Object> configuration(long maxEntries, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores immutable cache entries; copying them on every read and write buys nothing
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maxEntries > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mealplanner.api.config;
+
+import com.mealplanner.api.util.SlowQueryLog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts the {@link SlowQueryDetector} in front of the DataSource.
+ */
+@Configuration
+public class SlowQueryConfig {
+
+    @Bean
+    public SlowQueryDetector slowQueryDetector(@Value("${db.slow-query.enabled:true}") boolean enabled,
+                                               @Value("${db.slow-query.threshold-ms:200}") long thresholdMillis,
+                                               @Value("${db.slow-query.capacity:500}") int capacity,
+                                               @Value("${db.slow-query.explain:false}") boolean explain) {
+        return new SlowQueryDetector(new SlowQueryLog(capacity), enabled, thresholdMillis, explain);
+    }
+
+    // Static, so the post-processor exists before the DataSource is created; the detector is looked up lazily
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryDetector> slowQueryDetector) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                // Proxies and routing in front of other DataSources (ReplicaRoutingConfig) are left alone; the
+                // pools behind them are wrapped already, and wrapping both would log every statement twice
+                if (!(bean instanceof DataSource dataSource)
+                        || bean instanceof DelegatingDataSource || bean instanceof AbstractRoutingDataSource) {
+                    return bean;
+                }
+                return slowQueryDetector.getObject().wrap(dataSource);
+            }
+        };
+    }
+}
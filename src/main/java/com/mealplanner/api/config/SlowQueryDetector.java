@@ -0,0 +1,338 @@
+package com.mealplanner.api.config;
+
+import com.mealplanner.api.dto.SlowQueryDto;
+import com.mealplanner.api.util.SlowQueryLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times every JDBC statement and records the ones slower than the threshold in a {@link SlowQueryLog}:
+ * statement shape, the application method that issued it, the types of its bind parameters, duration
+ * and row count.
+ *
+ * Works by wrapping the DataSource (see {@link SlowQueryConfig}) in JDK proxies for connections, statements
+ * and result sets. A query's time runs from execute until its result set is closed, so fetching the rows
+ * counts. The first slow execution of each shape is logged as a warning, repeats at DEBUG.
+ *
+ * With EXPLAIN enabled, the first slow execution of each SELECT shape is explained in the background on a
+ * separate connection with the same bind values. The values are only held until then; the log never
+ * contains them.
+ */
+public class SlowQueryDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryDetector.class);
+
+    private static final String APP_PACKAGE = "com.mealplanner.api.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final SlowQueryLog slowQueryLog;
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final ExecutorService explainExecutor;
+
+    public SlowQueryDetector(SlowQueryLog slowQueryLog, boolean enabled, long thresholdMillis, boolean explain) {
+        this.slowQueryLog = slowQueryLog;
+        this.enabled = enabled;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        // One thread and a short queue: plans are a diagnostic, never worth competing with requests for
+        this.explainExecutor = explain
+                ? new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy())
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The given DataSource with every statement timed; unchanged when detection is disabled.
+     */
+    public DataSource wrap(DataSource target) {
+        if (!enabled) {
+            return target;
+        }
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return "getConnection".equals(method.getName()) ? wrapConnection(target, (Connection) result) : result;
+        });
+    }
+
+    /**
+     * Statement shapes in the log by total time spent, highest first.
+     */
+    public List<SlowQueryDto> getTopOffenders(int limit) {
+        return slowQueryLog.topOffenders(limit).stream()
+                .map(offender -> new SlowQueryDto(
+                        offender.shape(),
+                        offender.lastCaller(),
+                        offender.lastBindShape(),
+                        offender.count(),
+                        offender.totalMicros() / 1000.0,
+                        offender.maxMicros() / 1000.0,
+                        offender.maxRows(),
+                        offender.lastSeen(),
+                        offender.plan()))
+                .collect(Collectors.toList());
+    }
+
+    public void clear() {
+        slowQueryLog.clear();
+    }
+
+    public void shutdown() {
+        if (explainExecutor != null) {
+            explainExecutor.shutdownNow();
+        }
+    }
+
+    private Connection wrapConnection(DataSource dataSource, Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return proxy(PreparedStatement.class, new StatementHandler(dataSource, (Statement) result, (String) args[0]));
+                case "prepareCall":
+                    return proxy(CallableStatement.class, new StatementHandler(dataSource, (Statement) result, (String) args[0]));
+                case "createStatement":
+                    return proxy(Statement.class, new StatementHandler(dataSource, (Statement) result, null));
+                default:
+                    return result;
+            }
+        });
+    }
+
+    /**
+     * Remembers bind parameter types (and values, for EXPLAIN) and times each execution.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final DataSource dataSource;
+        private final Statement target;
+        private final String preparedSql;
+        private String[] bindTypes = new String[8];
+        private Object[] bindValues;
+
+        StatementHandler(DataSource dataSource, Statement target, String preparedSql) {
+            this.dataSource = dataSource;
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.bindValues = explainExecutor != null ? new Object[8] : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            // Indexed parameter setters only: setInt(1, 42), setNull(2, Types.DATE); not setFetchSize(100)
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name, args[1]);
+                return SlowQueryDetector.invoke(target, method, args);
+            }
+            if ("clearParameters".equals(name)) {
+                Arrays.fill(bindTypes, null);
+                if (bindValues != null) {
+                    Arrays.fill(bindValues, null);
+                }
+                return SlowQueryDetector.invoke(target, method, args);
+            }
+            if (!name.startsWith("execute")) {
+                return SlowQueryDetector.invoke(target, method, args);
+            }
+
+            String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            long startedAt = System.nanoTime();
+            Object result = SlowQueryDetector.invoke(target, method, args);
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(this, resultSet, sql, startedAt));
+            }
+            finish(sql, startedAt, rowsOf(result));
+            return result;
+        }
+
+        private void bind(int index, String setter, Object value) {
+            if (index >= bindTypes.length) {
+                bindTypes = Arrays.copyOf(bindTypes, Math.max(index + 1, bindTypes.length * 2));
+                if (bindValues != null) {
+                    bindValues = Arrays.copyOf(bindValues, bindTypes.length);
+                }
+            }
+            String type = setter.substring(3);
+            if ("Null".equals(type)) {
+                type = "null";
+            } else if ("Object".equals(type) && value != null) {
+                type = value.getClass().getSimpleName();
+            }
+            bindTypes[index] = type;
+            if (bindValues != null) {
+                bindValues[index] = "null".equals(type) ? null : value;
+            }
+        }
+
+        void finish(String sql, long startedAt, long rows) {
+            long elapsed = System.nanoTime() - startedAt;
+            if (sql == null || elapsed < thresholdNanos) {
+                return;
+            }
+
+            String shape = StatementLog.shape(sql);
+            String caller = findCaller();
+            String bindShape = bindShape();
+            slowQueryLog.record(new SlowQueryLog.Entry(shape, caller, bindShape, elapsed / 1000, rows, LocalDateTime.now()));
+            if (slowQueryLog.firstSighting(shape)) {
+                logger.warn("Slow SQL ({} ms, {} rows) in {} [{}]: {}", elapsed / 1_000_000, rows, caller, bindShape, shape);
+                if (explainExecutor != null && shape.regionMatches(true, 0, "select", 0, 6)) {
+                    Object[] values = Arrays.copyOf(bindValues, bindValues.length);
+                    explainExecutor.execute(() -> explain(dataSource, sql, shape, values));
+                }
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("Slow SQL ({} ms, {} rows) in {} [{}]: {}", elapsed / 1_000_000, rows, caller, bindShape, shape);
+            }
+        }
+
+        private String bindShape() {
+            int last = bindTypes.length - 1;
+            while (last > 0 && bindTypes[last] == null) {
+                last--;
+            }
+            StringBuilder shape = new StringBuilder();
+            // JDBC parameters start at 1
+            for (int i = 1; i <= last; i++) {
+                if (shape.length() > 0) {
+                    shape.append(", ");
+                }
+                shape.append(bindTypes[i] != null ? bindTypes[i] : "?");
+            }
+            return shape.toString();
+        }
+
+        private long rowsOf(Object result) {
+            if (result instanceof Integer count) {
+                return count;
+            }
+            if (result instanceof Long count) {
+                return count;
+            }
+            if (result instanceof int[] counts) {
+                return Arrays.stream(counts).filter(count -> count >= 0).asLongStream().sum();
+            }
+            if (result instanceof long[] counts) {
+                return Arrays.stream(counts).filter(count -> count >= 0).sum();
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Counts the rows read and reports the query when the result set is closed.
+     */
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final StatementHandler statement;
+        private final ResultSet target;
+        private final String sql;
+        private final long startedAt;
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(StatementHandler statement, ResultSet target, String sql, long startedAt) {
+            this.statement = statement;
+            this.target = target;
+            this.sql = sql;
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryDetector.invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                rows++;
+            } else if ("close".equals(method.getName()) && !finished) {
+                finished = true;
+                statement.finish(sql, startedAt, rows);
+            }
+            return result;
+        }
+    }
+
+    private void explain(DataSource dataSource, String sql, String shape, Object[] values) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i < values.length; i++) {
+                if (values[i] != null) {
+                    statement.setObject(i, values[i]);
+                }
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                while (resultSet.next()) {
+                    if (plan.length() > 0) {
+                        plan.append('\n');
+                    }
+                    for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                        if (column > 1) {
+                            plan.append(", ");
+                        }
+                        plan.append(metaData.getColumnLabel(column)).append('=').append(resultSet.getString(column));
+                    }
+                }
+            }
+            slowQueryLog.recordPlan(shape, plan.toString());
+        } catch (SQLException e) {
+            slowQueryLog.recordPlan(shape, "EXPLAIN failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The innermost application method on the stack, e.g. {@code DeliveryService.getCurrentDelivery}.
+     * Repository interfaces are JDK proxies and Spring's subclasses contain "$$", so both are skipped.
+     */
+    private static String findCaller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE)
+                        && !frame.getClassName().equals(SlowQueryDetector.class.getName())
+                        && !frame.getClassName().startsWith(SlowQueryDetector.class.getName() + "$")
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse("unknown"));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SlowQueryDetector.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,42 @@
+package com.mealplanner.api.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL statements Hibernate prepares on the current thread between {@link #begin()} and {@link #end()}.
+ *
+ * Registered through {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}; Hibernate
+ * creates the instance, so the log lives in a static thread-local. Threads that never called
+ * {@code begin()} (schedulers, outbox workers) are not recorded. The SQL is returned unchanged.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<StatementLog> LOG = new ThreadLocal<>();
+
+    /**
+     * Starts recording on this thread, discarding any log in progress.
+     */
+    public static void begin() {
+        LOG.set(new StatementLog());
+    }
+
+    /**
+     * Stops recording on this thread.
+     *
+     * @return statements prepared since {@link #begin()}; empty if recording was not started
+     */
+    public static StatementLog end() {
+        StatementLog log = LOG.get();
+        LOG.remove();
+        return log != null ? log : new StatementLog();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        StatementLog log = LOG.get();
+        if (log != null) {
+            log.add(sql);
+        }
+        return sql;
+    }
+}
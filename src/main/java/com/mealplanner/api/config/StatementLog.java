@@ -0,0 +1,68 @@
+package com.mealplanner.api.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The SQL statements one unit of work (a request, a test block) prepared, counted per distinct statement.
+ *
+ * Statements are grouped by shape for N+1 detection: Hibernate already binds every value as {@code ?},
+ * so two statements differ in shape only by the length of their IN lists and by whitespace, both of
+ * which are folded away. The same shape prepared many times is the signature of a per-row query
+ * inside a loop.
+ */
+public final class StatementLog {
+
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Raw SQL until asked; normalising only the distinct statements keeps recording cheap
+    private final Map<String, Integer> countsBySql = new LinkedHashMap<>();
+    private int total;
+
+    void add(String sql) {
+        countsBySql.merge(sql, 1, Integer::sum);
+        total++;
+    }
+
+    public int total() {
+        return total;
+    }
+
+    /**
+     * Statement count per shape, in order of first appearance.
+     */
+    public Map<String, Integer> countsByShape() {
+        Map<String, Integer> countsByShape = new LinkedHashMap<>();
+        countsBySql.forEach((sql, count) -> countsByShape.merge(shape(sql), count, Integer::sum));
+        return countsByShape;
+    }
+
+    /**
+     * Shapes prepared at least {@code minRepeats} times: likely N+1 queries.
+     */
+    public Map<String, Integer> repeated(int minRepeats) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        countsByShape().forEach((shape, count) -> {
+            if (count >= minRepeats) {
+                repeated.put(shape, count);
+            }
+        });
+        return repeated;
+    }
+
+    /**
+     * One line per shape, e.g. {@code "  3 x select ... where meal_id=?"}, for logs and assertion messages.
+     */
+    public String describe() {
+        StringBuilder text = new StringBuilder();
+        countsByShape().forEach((shape, count) -> text.append(String.format("%n%5d x %s", count, shape)));
+        return text.toString();
+    }
+
+    static String shape(String sql) {
+        String folded = IN_LIST.matcher(sql).replaceAll("(?...)");
+        return WHITESPACE.matcher(folded).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,109 @@
+package com.mealplanner.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the number of SQL statements each request issues as {@code http.server.statements},
+ * tagged with the method and route pattern like {@code http.server.requests}, and checks them against
+ * a per-request budget.
+ *
+ * A request over the budget, or one that prepares the same statement shape {@code repeat-threshold} or
+ * more times (an N+1 query), is counted in {@code http.server.statements.violations} and logged as a
+ * warning. Each route and problem is logged once per instance, so a hot endpoint cannot flood the log;
+ * the counter keeps counting. Every request's total is logged at DEBUG.
+ *
+ * Ordered ahead of the security filters, so user lookups during authentication are counted too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementMetricsFilter.class);
+
+    static final String METRIC_NAME = "http.server.statements";
+    static final String VIOLATIONS_METRIC_NAME = "http.server.statements.violations";
+
+    private static final int MAX_REPORTED = 1_000;
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+    private final int repeatThreshold;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+
+    public StatementMetricsFilter(MeterRegistry meterRegistry,
+                                  @Value("${db.statements.budget-per-request:50}") int budget,
+                                  @Value("${db.statements.repeat-threshold:5}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        StatementCountingInspector.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementLog statements = StatementCountingInspector.end();
+            // Only requests that reached a handler have a route; anything else would be one tag value per raw path
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder(METRIC_NAME)
+                    .description("SQL statements issued per request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(statements.total());
+            logger.debug("{} {} issued {} SQL statements", request.getMethod(), uri, statements.total());
+            check(request.getMethod() + " " + uri, uri, statements);
+        }
+    }
+
+    private void check(String route, String uri, StatementLog statements) {
+        if (statements.total() == 0) {
+            return;
+        }
+        if (budget > 0 && statements.total() > budget) {
+            meterRegistry.counter(VIOLATIONS_METRIC_NAME, "uri", uri, "kind", "budget").increment();
+            if (firstReport(route + "|budget")) {
+                logger.warn("{} issued {} SQL statements, over the budget of {}:{}",
+                        route, statements.total(), budget, statements.describe());
+            }
+        }
+        if (repeatThreshold > 1) {
+            for (Map.Entry<String, Integer> repeated : statements.repeated(repeatThreshold).entrySet()) {
+                meterRegistry.counter(VIOLATIONS_METRIC_NAME, "uri", uri, "kind", "repeated").increment();
+                if (firstReport(route + "|" + repeated.getKey())) {
+                    logger.warn("Possible N+1 on {}: the same statement ran {} times: {}",
+                            route, repeated.getValue(), repeated.getKey());
+                }
+            }
+        }
+    }
+
+    private boolean firstReport(String key) {
+        return reported.size() < MAX_REPORTED && reported.add(key);
+    }
+}
@@ -86,7 +86,7 @@ public class AdminDeliveryController {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails) {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            return userDetails.getUser().getUserId();
+            return userDetails.getUserId();
         }
         throw new RuntimeException("Unable to get current user");
     }
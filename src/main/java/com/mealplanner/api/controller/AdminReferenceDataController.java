@@ -0,0 +1,34 @@
+package com.mealplanner.api.controller;
+
+import com.mealplanner.api.service.ReferenceDataRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST controller for admin maintenance of the cached lookup tables
+ * (statuses, roles, plan categories, allergies).
+ * All endpoints require ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/admin/reference-data")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminReferenceDataController {
+
+    private final ReferenceDataRegistry referenceDataRegistry;
+
+    public AdminReferenceDataController(ReferenceDataRegistry referenceDataRegistry) {
+        this.referenceDataRegistry = referenceDataRegistry;
+    }
+
+    /**
+     * POST /api/admin/reference-data/refresh - Reload lookup tables after editing them in the database
+     * Returns the number of rows loaded per table.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Integer>> refresh() {
+        return ResponseEntity.ok(referenceDataRegistry.refresh());
+    }
+}
@@ -0,0 +1,42 @@
+package com.mealplanner.api.controller;
+
+import com.mealplanner.api.config.SlowQueryDetector;
+import com.mealplanner.api.dto.SlowQueryDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the slow query log.
+ * All endpoints require ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminSlowQueryController {
+
+    private final SlowQueryDetector slowQueryDetector;
+
+    public AdminSlowQueryController(SlowQueryDetector slowQueryDetector) {
+        this.slowQueryDetector = slowQueryDetector;
+    }
+
+    /**
+     * GET /api/admin/slow-queries - Slow statements by total time spent, highest first
+     */
+    @GetMapping
+    public ResponseEntity<List<SlowQueryDto>> getTopOffenders(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(slowQueryDetector.getTopOffenders(Math.max(1, Math.min(limit, 100))));
+    }
+
+    /**
+     * DELETE /api/admin/slow-queries - Empty the log, e.g. after deploying a fix
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        slowQueryDetector.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
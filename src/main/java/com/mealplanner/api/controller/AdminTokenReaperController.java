@@ -0,0 +1,43 @@
+package com.mealplanner.api.controller;
+
+import com.mealplanner.api.dto.TokenPurgeStatsDto;
+import com.mealplanner.api.service.ExpiredTokenReaper;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the expired token reaper.
+ * All endpoints require ADMIN role.
+ */
+@RestController
+@RequestMapping("/api/admin/token-reaper")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminTokenReaperController {
+
+    private final ExpiredTokenReaper expiredTokenReaper;
+
+    public AdminTokenReaperController(ExpiredTokenReaper expiredTokenReaper) {
+        this.expiredTokenReaper = expiredTokenReaper;
+    }
+
+    /**
+     * GET /api/admin/token-reaper - Purge figures per token table since startup
+     */
+    @GetMapping
+    public ResponseEntity<List<TokenPurgeStatsDto>> getStats() {
+        return ResponseEntity.ok(expiredTokenReaper.getStats());
+    }
+
+    /**
+     * POST /api/admin/token-reaper/run - Start a purge now instead of waiting for the hourly run.
+     * The purge runs in the background (or is already running); returns 202 with the figures so far.
+     */
+    @PostMapping("/run")
+    public ResponseEntity<List<TokenPurgeStatsDto>> run() {
+        expiredTokenReaper.start();
+        return ResponseEntity.accepted().body(expiredTokenReaper.getStats());
+    }
+}
@@ -117,7 +117,7 @@ public class MealController {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails) {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            return userDetails.getUser().getUserId();
+            return userDetails.getUserId();
         }
         throw new RuntimeException("Unable to get current user");
     }
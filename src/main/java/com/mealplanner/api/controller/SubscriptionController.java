@@ -1,30 +1,47 @@
 package com.mealplanner.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mealplanner.api.dto.*;
 import com.mealplanner.api.security.CustomUserDetails;
+import com.mealplanner.api.service.SubscriptionBulkService;
 import com.mealplanner.api.service.SubscriptionService;
+import com.mealplanner.api.service.SubscriptionTransition;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 public class SubscriptionController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final SubscriptionService subscriptionService;
+    private final SubscriptionBulkService subscriptionBulkService;
+    private final ObjectMapper objectMapper;
 
-    public SubscriptionController(SubscriptionService subscriptionService) {
+    public SubscriptionController(SubscriptionService subscriptionService,
+                                  SubscriptionBulkService subscriptionBulkService,
+                                  ObjectMapper objectMapper) {
         this.subscriptionService = subscriptionService;
+        this.subscriptionBulkService = subscriptionBulkService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -126,6 +143,40 @@ public class SubscriptionController {
         return ResponseEntity.ok(meals);
     }
 
+    /**
+     * POST /api/subscriptions/{id}/holds - Skip deliveries for a date range (owner)
+     */
+    @PostMapping("/api/subscriptions/{id}/holds")
+    public ResponseEntity<SubscriptionHoldDto> addHold(
+            @PathVariable Integer id,
+            @Valid @RequestBody CreateSubscriptionHoldDto holdDto) {
+        Integer userId = getCurrentUserId();
+        SubscriptionHoldDto hold = subscriptionService.addHold(id, userId, holdDto);
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    /**
+     * GET /api/subscriptions/{id}/holds - List delivery holds (owner or admin)
+     */
+    @GetMapping("/api/subscriptions/{id}/holds")
+    public ResponseEntity<List<SubscriptionHoldDto>> getHolds(@PathVariable Integer id) {
+        Integer userId = getCurrentUserId();
+        boolean isAdmin = isCurrentUserAdmin();
+
+        List<SubscriptionHoldDto> holds = subscriptionService.getHolds(id, userId, isAdmin);
+        return ResponseEntity.ok(holds);
+    }
+
+    /**
+     * DELETE /api/subscriptions/{id}/holds/{holdId} - Remove a delivery hold (owner)
+     */
+    @DeleteMapping("/api/subscriptions/{id}/holds/{holdId}")
+    public ResponseEntity<Void> removeHold(@PathVariable Integer id, @PathVariable Integer holdId) {
+        Integer userId = getCurrentUserId();
+        subscriptionService.removeHold(id, holdId, userId);
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * GET /api/admin/subscriptions - List all subscriptions (admin only)
      */
@@ -143,6 +194,46 @@ public class SubscriptionController {
         return ResponseEntity.ok(subscriptions);
     }
 
+    /**
+     * POST /api/admin/subscriptions/bulk - Pause, resume or cancel many subscriptions (admin only)
+     * Streams one JSON progress record per line (application/x-ndjson) as chunks complete.
+     */
+    @PostMapping("/api/admin/subscriptions/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> bulkUpdateSubscriptions(
+            @Valid @RequestBody BulkSubscriptionOperationDto bulkDto) {
+
+        // Validate up front so bad requests get a normal error response instead of a stream
+        SubscriptionTransition transition = subscriptionBulkService.validate(bulkDto);
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                subscriptionBulkService.execute(bulkDto, transition,
+                        progress -> writeProgressLine(outputStream, progress));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (RuntimeException e) {
+                BulkOperationProgressDto failure = new BulkOperationProgressDto();
+                failure.setAction(transition.name().toLowerCase());
+                failure.setDone(true);
+                failure.setError("Bulk operation stopped: " + e.getMessage());
+                writeProgressLine(outputStream, failure);
+            }
+        };
+
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private void writeProgressLine(OutputStream outputStream, BulkOperationProgressDto progress) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(progress));
+            outputStream.write("\n".getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Helper method to extract current user ID from SecurityContext
      */
@@ -150,7 +241,7 @@ public class SubscriptionController {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails) {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-            return userDetails.getUser().getUserId();
+            return userDetails.getUserId();
         }
         throw new RuntimeException("Unable to get current user");
     }
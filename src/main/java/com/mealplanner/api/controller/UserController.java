@@ -1,17 +1,21 @@
 package com.mealplanner.api.controller;
 
 import com.mealplanner.api.dto.*;
-import com.mealplanner.api.model.RefreshToken;
 import com.mealplanner.api.model.User;
 import com.mealplanner.api.security.CustomUserDetails;
 import com.mealplanner.api.security.JwtUtil;
+import com.mealplanner.api.security.LoginAttemptThrottle;
 import com.mealplanner.api.service.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -22,38 +26,37 @@ import java.util.Map;
 @RequestMapping("/api/v1/users")
 public class UserController {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
     private final RefreshTokenService refreshTokenService;
     private final PasswordResetService passwordResetService;
-    private final EmailService emailService;
     private final TokenBlacklistService tokenBlacklistService;
     private final EmailVerificationService emailVerificationService;
+    private final LoginAttemptThrottle loginAttemptThrottle;
 
     @Autowired
     public UserController(UserService userService, AuthenticationManager authenticationManager, 
                          JwtUtil jwtUtil, RefreshTokenService refreshTokenService,
-                         PasswordResetService passwordResetService, EmailService emailService,
+                         PasswordResetService passwordResetService,
                          TokenBlacklistService tokenBlacklistService,
-                         EmailVerificationService emailVerificationService) {
+                         EmailVerificationService emailVerificationService,
+                         LoginAttemptThrottle loginAttemptThrottle) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.refreshTokenService = refreshTokenService;
         this.passwordResetService = passwordResetService;
-        this.emailService = emailService;
         this.tokenBlacklistService = tokenBlacklistService;
         this.emailVerificationService = emailVerificationService;
+        this.loginAttemptThrottle = loginAttemptThrottle;
     }
 
     @PostMapping("/register") 
     public ResponseEntity<?> registerUser(@RequestBody UserRegistrationDto registrationDto) {
         try {
-            System.out.println("=== REGISTRATION ATTEMPT ===");
-            System.out.println("Email: " + registrationDto.getEmail());
-            System.out.println("Full Name: " + registrationDto.getFullName());
-            
             User newUser = new User(
                 registrationDto.getFullName(), 
                 registrationDto.getEmail(), 
@@ -93,28 +96,18 @@ public class UserController {
                 newUser.setCaloriesPerDay(registrationDto.getCaloriesPerDay());
             }
 
-            System.out.println("Calling userService.registerNewUser...");
             User savedUser = userService.registerNewUser(newUser, registrationDto.getPassword());
-            System.out.println("User saved successfully with ID: " + savedUser.getUserId());
 
             // Generate tokens
             CustomUserDetails userDetails = new CustomUserDetails(savedUser);
             String accessToken = jwtUtil.generateToken(userDetails);
             String refreshToken = refreshTokenService.createRefreshToken(savedUser);
 
-            // Send welcome email (non-blocking, don't fail registration if email fails)
-            try {
-                emailService.sendWelcomeEmail(savedUser.getEmail(), savedUser.getFullName());
-            } catch (Exception e) {
-                System.err.println("Failed to send welcome email: " + e.getMessage());
-            }
-            
-            // Send email verification (non-blocking, don't fail registration if email fails)
+            // Welcome and verification emails are queued in the outbox and sent in the background
             try {
-                String verificationToken = emailVerificationService.createEmailVerificationToken(savedUser);
-                emailService.sendEmailVerification(savedUser.getEmail(), verificationToken);
+                emailVerificationService.createEmailVerificationToken(savedUser);
             } catch (Exception e) {
-                System.err.println("Failed to send verification email: " + e.getMessage());
+                logger.warn("Failed to create email verification token for user {}", savedUser.getUserId(), e);
             }
 
             AuthResponseDto responseDto = new AuthResponseDto(
@@ -128,10 +121,7 @@ public class UserController {
 
             return new ResponseEntity<>(responseDto, HttpStatus.CREATED);
         } catch (Exception e) {
-            System.err.println("=== REGISTRATION ERROR ===");
-            System.err.println("Error Type: " + e.getClass().getName());
-            System.err.println("Error Message: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Registration failed", e);
             
             // Return detailed error in response
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -144,11 +134,22 @@ public class UserController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDto> loginUser(@RequestBody LoginRequestDto loginDto) {
+    public ResponseEntity<AuthResponseDto> loginUser(@RequestBody LoginRequestDto loginDto, HttpServletRequest request) {
         
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(loginDto.getEmail(), loginDto.getPassword())
-        );
+        // Rejected before the password is hashed
+        String clientIp = request.getRemoteAddr();
+        loginAttemptThrottle.checkAllowed(loginDto.getEmail(), clientIp);
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(loginDto.getEmail(), loginDto.getPassword())
+            );
+        } catch (AuthenticationException e) {
+            loginAttemptThrottle.recordFailure(loginDto.getEmail(), clientIp);
+            throw e;
+        }
+        loginAttemptThrottle.recordSuccess(loginDto.getEmail(), clientIp);
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -190,7 +191,7 @@ public class UserController {
         
         // Authorization check: user can only update their own profile
         CustomUserDetails currentUser = getCurrentUser();
-        if (!currentUser.getUser().getUserId().equals(userId)) {
+        if (!currentUser.getUserId().equals(userId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only update your own profile");
         }
         
@@ -212,7 +213,7 @@ public class UserController {
         
         // Authorization check: user can only change their own password
         CustomUserDetails currentUser = getCurrentUser();
-        if (!currentUser.getUser().getUserId().equals(userId)) {
+        if (!currentUser.getUserId().equals(userId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only change your own password");
         }
         
@@ -225,8 +226,7 @@ public class UserController {
     @PostMapping("/forgot-password")
     public ResponseEntity<Map<String, String>> forgotPassword(@RequestBody ForgotPasswordDto forgotPasswordDto) {
         
-        String resetToken = passwordResetService.createPasswordResetToken(forgotPasswordDto.getEmail());
-        emailService.sendPasswordResetEmail(forgotPasswordDto.getEmail(), resetToken);
+        passwordResetService.createPasswordResetToken(forgotPasswordDto.getEmail());
 
         return ResponseEntity.ok(Map.of("message", "Password reset email sent"));
     }
@@ -244,19 +244,19 @@ public class UserController {
     public ResponseEntity<AuthResponseDto> refreshToken(@RequestBody Map<String, String> request) {
         
         String refreshToken = request.get("refreshToken");
-        RefreshToken validatedToken = refreshTokenService.validateRefreshToken(refreshToken);
+        // The presented token is consumed; the response carries its replacement
+        RefreshTokenService.RotatedRefreshToken rotated = refreshTokenService.rotateRefreshToken(refreshToken);
         
-        User user = validatedToken.getUser();
-        CustomUserDetails userDetails = new CustomUserDetails(user);
+        CustomUserDetails userDetails = CustomUserDetails.fromClaims(rotated.userId(), rotated.email(), rotated.roleName());
         String newAccessToken = jwtUtil.generateToken(userDetails);
 
         AuthResponseDto responseDto = new AuthResponseDto(
             newAccessToken,
-            refreshToken,
-            user.getUserId(),
-            user.getEmail(),
-            user.getFullName(),
-            user.getRole().getRoleName()
+            rotated.refreshToken(),
+            rotated.userId(),
+            rotated.email(),
+            rotated.fullName(),
+            rotated.roleName()
         );
 
         return ResponseEntity.ok(responseDto);
@@ -291,8 +291,7 @@ public class UserController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email is already verified");
         }
 
-        String verificationToken = emailVerificationService.createEmailVerificationToken(user);
-        emailService.sendEmailVerification(user.getEmail(), verificationToken);
+        emailVerificationService.createEmailVerificationToken(user);
 
         return ResponseEntity.ok(Map.of("message", "Verification email sent"));
     }
@@ -0,0 +1,81 @@
+package com.mealplanner.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Progress record streamed back while an admin bulk operation runs.
+ * One record is emitted per processed chunk, followed by a final record with done=true.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOperationProgressDto {
+    private String action;
+    private long total;
+    private long processed;
+    private long updated;
+    private boolean done;
+    private String error;
+
+    public BulkOperationProgressDto() {
+    }
+
+    public BulkOperationProgressDto(String action, long total, long processed, long updated, boolean done) {
+        this.action = action;
+        this.total = total;
+        this.processed = processed;
+        this.updated = updated;
+        this.done = done;
+    }
+
+    // Getters and Setters
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    /**
+     * Subscriptions whose status actually changed. The rest were already in the
+     * target status or in a status the transition does not apply to.
+     */
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public void setDone(boolean done) {
+        this.done = done;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
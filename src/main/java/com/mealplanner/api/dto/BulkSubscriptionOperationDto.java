@@ -0,0 +1,107 @@
+package com.mealplanner.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for admin bulk subscription operations.
+ * Targets either an explicit list of subscription IDs or every subscription matching the filter
+ * (plan, current status, users and start date range). Filter fields are combined with AND.
+ */
+public class BulkSubscriptionOperationDto {
+    @NotBlank(message = "Action is required")
+    @Pattern(regexp = "^(?i)(pause|resume|cancel)$",
+             message = "Action must be one of: pause, resume, cancel")
+    private String action;
+
+    private List<Integer> subscriptionIds;
+
+    private Integer planId;
+    private String status;
+    private List<Integer> userIds;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDateFrom;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDateTo;
+
+    public BulkSubscriptionOperationDto() {
+    }
+
+    public BulkSubscriptionOperationDto(String action, List<Integer> subscriptionIds) {
+        this.action = action;
+        this.subscriptionIds = subscriptionIds;
+    }
+
+    /**
+     * True if at least one filter field is set.
+     */
+    public boolean hasFilter() {
+        return planId != null
+                || (status != null && !status.isEmpty())
+                || (userIds != null && !userIds.isEmpty())
+                || startDateFrom != null
+                || startDateTo != null;
+    }
+
+    // Getters and Setters
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public List<Integer> getSubscriptionIds() {
+        return subscriptionIds;
+    }
+
+    public void setSubscriptionIds(List<Integer> subscriptionIds) {
+        this.subscriptionIds = subscriptionIds;
+    }
+
+    public Integer getPlanId() {
+        return planId;
+    }
+
+    public void setPlanId(Integer planId) {
+        this.planId = planId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<Integer> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<Integer> userIds) {
+        this.userIds = userIds;
+    }
+
+    public LocalDate getStartDateFrom() {
+        return startDateFrom;
+    }
+
+    public void setStartDateFrom(LocalDate startDateFrom) {
+        this.startDateFrom = startDateFrom;
+    }
+
+    public LocalDate getStartDateTo() {
+        return startDateTo;
+    }
+
+    public void setStartDateTo(LocalDate startDateTo) {
+        this.startDateTo = startDateTo;
+    }
+}
@@ -0,0 +1,111 @@
+package com.mealplanner.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDateTime;
+
+/**
+ * One statement shape from the slow query log, summed over its slow executions still in the log.
+ */
+public class SlowQueryDto {
+    private String sql;
+    private String caller;
+    private String bindTypes;
+    private int count;
+    private double totalMs;
+    private double maxMs;
+    private long maxRows;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastSeenAt;
+
+    private String plan;
+
+    public SlowQueryDto() {
+    }
+
+    public SlowQueryDto(String sql, String caller, String bindTypes, int count, double totalMs, double maxMs,
+                        long maxRows, LocalDateTime lastSeenAt, String plan) {
+        this.sql = sql;
+        this.caller = caller;
+        this.bindTypes = bindTypes;
+        this.count = count;
+        this.totalMs = totalMs;
+        this.maxMs = maxMs;
+        this.maxRows = maxRows;
+        this.lastSeenAt = lastSeenAt;
+        this.plan = plan;
+    }
+
+    // Getters and Setters
+    public String getSql() {
+        return sql;
+    }
+
+    public void setSql(String sql) {
+        this.sql = sql;
+    }
+
+    public String getCaller() {
+        return caller;
+    }
+
+    public void setCaller(String caller) {
+        this.caller = caller;
+    }
+
+    public String getBindTypes() {
+        return bindTypes;
+    }
+
+    public void setBindTypes(String bindTypes) {
+        this.bindTypes = bindTypes;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public double getTotalMs() {
+        return totalMs;
+    }
+
+    public void setTotalMs(double totalMs) {
+        this.totalMs = totalMs;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public void setMaxMs(double maxMs) {
+        this.maxMs = maxMs;
+    }
+
+    public long getMaxRows() {
+        return maxRows;
+    }
+
+    public void setMaxRows(long maxRows) {
+        this.maxRows = maxRows;
+    }
+
+    public LocalDateTime getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(LocalDateTime lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public void setPlan(String plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,58 @@
+package com.mealplanner.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDate;
+
+public class SubscriptionHoldDto {
+    private Integer holdId;
+    private Integer subscriptionId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    public SubscriptionHoldDto() {
+    }
+
+    public SubscriptionHoldDto(Integer holdId, Integer subscriptionId, LocalDate startDate, LocalDate endDate) {
+        this.holdId = holdId;
+        this.subscriptionId = subscriptionId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    // Getters and Setters
+    public Integer getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(Integer holdId) {
+        this.holdId = holdId;
+    }
+
+    public Integer getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    public void setSubscriptionId(Integer subscriptionId) {
+        this.subscriptionId = subscriptionId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
@@ -0,0 +1,80 @@
+package com.mealplanner.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDateTime;
+
+/**
+ * Purge figures for one token table, as reported by the expired token reaper.
+ */
+public class TokenPurgeStatsDto {
+    private String table;
+    private long totalPurged;
+    private long lastRunPurged;
+    private int lastRunChunks;
+    private long lastRunDurationMs;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastRunAt;
+
+    public TokenPurgeStatsDto() {
+    }
+
+    public TokenPurgeStatsDto(String table, long totalPurged, long lastRunPurged, int lastRunChunks,
+                              long lastRunDurationMs, LocalDateTime lastRunAt) {
+        this.table = table;
+        this.totalPurged = totalPurged;
+        this.lastRunPurged = lastRunPurged;
+        this.lastRunChunks = lastRunChunks;
+        this.lastRunDurationMs = lastRunDurationMs;
+        this.lastRunAt = lastRunAt;
+    }
+
+    // Getters and Setters
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public long getTotalPurged() {
+        return totalPurged;
+    }
+
+    public void setTotalPurged(long totalPurged) {
+        this.totalPurged = totalPurged;
+    }
+
+    public long getLastRunPurged() {
+        return lastRunPurged;
+    }
+
+    public void setLastRunPurged(long lastRunPurged) {
+        this.lastRunPurged = lastRunPurged;
+    }
+
+    public int getLastRunChunks() {
+        return lastRunChunks;
+    }
+
+    public void setLastRunChunks(int lastRunChunks) {
+        this.lastRunChunks = lastRunChunks;
+    }
+
+    public long getLastRunDurationMs() {
+        return lastRunDurationMs;
+    }
+
+    public void setLastRunDurationMs(long lastRunDurationMs) {
+        this.lastRunDurationMs = lastRunDurationMs;
+    }
+
+    public LocalDateTime getLastRunAt() {
+        return lastRunAt;
+    }
+
+    public void setLastRunAt(LocalDateTime lastRunAt) {
+        this.lastRunAt = lastRunAt;
+    }
+}
@@ -2,7 +2,10 @@ package com.mealplanner.api.exception;
 
 import com.mealplanner.api.dto.ErrorResponseDto;
 import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -18,6 +21,8 @@ import java.util.stream.Collectors;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDto> handleResourceNotFound(
             ResourceNotFoundException ex, HttpServletRequest request) {
@@ -96,6 +101,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponseDto> handleTooManyRequests(
+            TooManyRequestsException ex, HttpServletRequest request) {
+        ErrorResponseDto error = new ErrorResponseDto(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                ex.getMessage(),
+                "Too many requests or attempts were made in a short period. Please wait before trying again.",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponseDto> handleServiceUnavailable(
+            ServiceUnavailableException ex, HttpServletRequest request) {
+        ErrorResponseDto error = new ErrorResponseDto(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                "The server is temporarily at capacity for this operation. Please retry after the indicated delay.",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     @ExceptionHandler(DeliveryException.class)
     public ResponseEntity<ErrorResponseDto> handleDelivery(
             DeliveryException ex, HttpServletRequest request) {
@@ -231,11 +266,7 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponseDto> handleGeneral(
             Exception ex, HttpServletRequest request) {
         // Log the actual error for debugging
-        System.err.println("=== UNHANDLED EXCEPTION ===");
-        System.err.println("Type: " + ex.getClass().getName());
-        System.err.println("Message: " + ex.getMessage());
-        System.err.println("Path: " + request.getRequestURI());
-        ex.printStackTrace();
+        logger.error("Unhandled exception on {} {}", request.getMethod(), request.getRequestURI(), ex);
         
         // Prevent exposure of internal details in error messages
         ErrorResponseDto error = new ErrorResponseDto(
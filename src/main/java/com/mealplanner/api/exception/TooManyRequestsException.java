@@ -0,0 +1,17 @@
+package com.mealplanner.api.exception;
+
+/**
+ * Thrown when a caller has exceeded an attempt or rate limit. Maps to 429 with a Retry-After header.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
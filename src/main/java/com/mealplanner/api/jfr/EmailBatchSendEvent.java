@@ -0,0 +1,25 @@
+package com.mealplanner.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One batch of outbox emails sent over a single SMTP connection by {@code EmailOutboxDispatcher}.
+ */
+@Name("com.mealplanner.EmailBatchSend")
+@Label("Email Batch Send")
+@Category({"Meal Planner", "Email"})
+@Description("One batch of outbox emails sent over one SMTP connection")
+@StackTrace(false)
+public class EmailBatchSendEvent extends Event {
+
+    @Label("Messages")
+    public int messages;
+
+    @Label("Failed")
+    public int failed;
+}
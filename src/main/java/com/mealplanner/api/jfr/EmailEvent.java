@@ -0,0 +1,39 @@
+package com.mealplanner.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An email handed to {@code EmailService}: rendered and queued in the outbox, or only logged when email
+ * is disabled. The SMTP send happens later and is recorded as {@link EmailBatchSendEvent}.
+ */
+@Name("com.mealplanner.Email")
+@Label("Email")
+@Category({"Meal Planner", "Email"})
+@Description("An account email rendered and queued, or logged when email is disabled")
+@StackTrace(false)
+public class EmailEvent extends Event {
+
+    @Label("Template")
+    public String template;
+
+    @Label("Queued")
+    @Description("False when email is disabled and the message was only logged")
+    public boolean queued;
+
+    public static EmailEvent start(String template) {
+        EmailEvent event = new EmailEvent();
+        event.template = template;
+        event.begin();
+        return event;
+    }
+
+    public void end(boolean queued) {
+        this.queued = queued;
+        commit();
+    }
+}
@@ -0,0 +1,23 @@
+package com.mealplanner.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Signature and expiry check of a bearer token in {@code JwtAuthenticationFilter}.
+ * Verifications answered from the verified-token cache are recorded as well; they are just shorter.
+ */
+@Name("com.mealplanner.JwtVerify")
+@Label("JWT Verify")
+@Category({"Meal Planner", "Security"})
+@Description("Verification of a bearer token's signature and expiry")
+@StackTrace(false)
+public class JwtVerifyEvent extends Event {
+
+    @Label("Valid")
+    public boolean valid;
+}
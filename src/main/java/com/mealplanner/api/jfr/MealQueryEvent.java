@@ -0,0 +1,46 @@
+package com.mealplanner.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One phase of a meal catalogue query in {@code MealService.getMeals}: running the query picked for the
+ * given filters ({@link #SELECT}), then filtering and mapping the page to DTOs ({@link #MAP}), which includes
+ * loading the nutrition facts.
+ */
+@Name("com.mealplanner.MealQuery")
+@Label("Meal Query")
+@Category({"Meal Planner", "Catalogue"})
+@Description("One phase of a meal catalogue query")
+@StackTrace(false)
+public class MealQueryEvent extends Event {
+
+    public static final String SELECT = "select";
+    public static final String MAP = "map";
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Filter")
+    @Description("Query used: excludeAllergens, search, minRating or all")
+    public String filter;
+
+    @Label("Rows")
+    public int rows;
+
+    public static MealQueryEvent start(String phase) {
+        MealQueryEvent event = new MealQueryEvent();
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    public void end(int rows) {
+        this.rows = rows;
+        commit();
+    }
+}
@@ -0,0 +1,34 @@
+package com.mealplanner.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One run of a {@code DeliverySchedulerService} job. The phases of the run are recorded as
+ * {@link SchedulerPhaseEvent}s on the same thread.
+ */
+@Name("com.mealplanner.SchedulerJob")
+@Label("Scheduler Job")
+@Category({"Meal Planner", "Scheduler"})
+@Description("One run of a delivery scheduler job")
+@StackTrace(false)
+public class SchedulerJobEvent extends Event {
+
+    @Label("Job")
+    public String job;
+
+    @Label("Rows")
+    @Description("Subscriptions or deliveries looked at")
+    public int rows;
+
+    @Label("Changed")
+    @Description("Deliveries created or moved to the next status")
+    public int changed;
+
+    @Label("Failed")
+    public int failed;
+}
@@ -0,0 +1,47 @@
+package com.mealplanner.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One phase of a scheduler job run, e.g. loading the rows to work on or processing them.
+ */
+@Name("com.mealplanner.SchedulerPhase")
+@Label("Scheduler Phase")
+@Category({"Meal Planner", "Scheduler"})
+@Description("One phase of a delivery scheduler job run")
+@StackTrace(false)
+public class SchedulerPhaseEvent extends Event {
+
+    public static final String LOAD = "load";
+    public static final String PROCESS = "process";
+
+    @Label("Job")
+    public String job;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Rows")
+    public int rows;
+
+    /**
+     * Starts timing a phase; finish it with {@link #end(int)}.
+     */
+    public static SchedulerPhaseEvent start(String job, String phase) {
+        SchedulerPhaseEvent event = new SchedulerPhaseEvent();
+        event.job = job;
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+
+    public void end(int rows) {
+        this.rows = rows;
+        commit();
+    }
+}
@@ -0,0 +1,29 @@
+package com.mealplanner.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Loading of the authenticated user in {@code JwtAuthenticationFilter}, for tokens whose claims cannot be
+ * trusted on their own.
+ */
+@Name("com.mealplanner.UserLoad")
+@Label("User Load")
+@Category({"Meal Planner", "Security"})
+@Description("Load of the user behind a bearer token whose claims were not enough")
+@StackTrace(false)
+public class UserLoadEvent extends Event {
+
+    public static final String REASON_NO_CLAIMS = "no identity claims";
+    public static final String REASON_CHANGED = "changed since issue";
+
+    @Label("Reason")
+    public String reason;
+
+    @Label("Found")
+    public boolean found;
+}
@@ -4,15 +4,19 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "blacklisted_tokens")
+@Table(name = "blacklisted_tokens", indexes = {
+    @Index(name = "idx_blacklisted_tokens_expiry_date", columnList = "expiry_date"),
+    @Index(name = "idx_blacklisted_tokens_blacklisted_at", columnList = "blacklisted_at")
+})
 public class BlacklistedToken {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(nullable = false, unique = true, length = 500)
-    private String token;
+    // JWT ID (jti) of the revoked token, or the hex SHA-256 of tokens issued without one
+    @Column(name = "token_id", nullable = false, unique = true, length = 64)
+    private String tokenId;
 
     @Column(nullable = false)
     private LocalDateTime blacklistedAt;
@@ -22,8 +26,8 @@ public class BlacklistedToken {
 
     public BlacklistedToken() {}
 
-    public BlacklistedToken(String token, LocalDateTime expiryDate) {
-        this.token = token;
+    public BlacklistedToken(String tokenId, LocalDateTime expiryDate) {
+        this.tokenId = tokenId;
         this.blacklistedAt = LocalDateTime.now();
         this.expiryDate = expiryDate;
     }
@@ -37,12 +41,12 @@ public class BlacklistedToken {
         this.id = id;
     }
 
-    public String getToken() {
-        return token;
+    public String getTokenId() {
+        return tokenId;
     }
 
-    public void setToken(String token) {
-        this.token = token;
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
     }
 
     public LocalDateTime getBlacklistedAt() {
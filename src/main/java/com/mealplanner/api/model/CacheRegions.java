@@ -0,0 +1,37 @@
+package com.mealplanner.api.model;
+
+import java.util.List;
+
+/**
+ * Names of the Hibernate second-level cache regions. Every region used by an entity, collection or cacheable
+ * query must be listed here; the cache manager is built from these lists and Hibernate refuses to start
+ * if a region is missing.
+ */
+public final class CacheRegions {
+
+    // Catalogue: edited by admins, read by every meal and plan page
+    public static final String MEAL = "catalog.meal";
+    public static final String MEAL_ALLERGIES = "catalog.meal.allergies";
+    public static final String MEAL_ALLERGY = "catalog.meal-allergy";
+    public static final String NUTRITION = "catalog.nutrition";
+    public static final String NUTRITION_FACTS = "catalog.nutrition.facts";
+    public static final String NUTRITION_FACT = "catalog.nutrition-fact";
+
+    // Lookup tables: seeded once
+    public static final String ALLERGY = "reference.allergy";
+    public static final String PLAN_CATEGORY = "reference.plan-category";
+    public static final String DELIVERY_STATUS = "reference.delivery-status";
+    public static final String SUBSCRIPTION_STATUS = "reference.subscription-status";
+
+    // Query results: meal list pages (and their counts), and the per-meal nutrition and allergen lookups
+    public static final String MEAL_PAGES = "catalog.meal-pages";
+    public static final String MEAL_DETAILS = "catalog.meal-details";
+
+    public static final List<String> ENTITY_REGIONS = List.of(MEAL, MEAL_ALLERGIES, MEAL_ALLERGY, NUTRITION,
+            NUTRITION_FACTS, NUTRITION_FACT, ALLERGY, PLAN_CATEGORY, DELIVERY_STATUS, SUBSCRIPTION_STATUS);
+
+    public static final List<String> QUERY_REGIONS = List.of(MEAL_PAGES, MEAL_DETAILS);
+
+    private CacheRegions() {
+    }
+}
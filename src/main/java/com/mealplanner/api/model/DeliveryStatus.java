@@ -1,8 +1,11 @@
 package com.mealplanner.api.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.DELIVERY_STATUS)
 @Table(name = "delivery_status")
 public class DeliveryStatus {
 
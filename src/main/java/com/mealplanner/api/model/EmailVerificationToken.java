@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "email_verification_tokens")
+@Table(name = "email_verification_tokens", indexes = {
+    @Index(name = "idx_email_verification_tokens_expiry_date", columnList = "expiry_date")
+})
 public class EmailVerificationToken {
 
     @Id
@@ -1,9 +1,12 @@
 package com.mealplanner.api.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MEAL)
 @Table(name = "meal")
 public class Meal {
 
@@ -23,6 +26,7 @@ public class Meal {
 
     // Aggregation: Many-to-Many with Allergy (via MealAllergy join table)
     @OneToMany(mappedBy = "meal")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MEAL_ALLERGIES)
     private Set<MealAllergy> mealAllergies;
     
     // Aggregation: Many-to-Many with CustomPlan (via CustomPlanMeal join table)
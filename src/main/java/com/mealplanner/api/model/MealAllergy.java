@@ -1,8 +1,11 @@
 package com.mealplanner.api.model;
 
 import jakarta.persistence.*; 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MEAL_ALLERGY)
 @Table(name = "meal_allergy")
 public class MealAllergy {
 
@@ -1,9 +1,12 @@
 package com.mealplanner.api.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Set;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.NUTRITION)
 @Table(name = "nutrition")
 public class Nutrition {
 
@@ -13,6 +16,7 @@ public class Nutrition {
 
     // Composition: Nutrition owns NutritionFacts
     @OneToMany(mappedBy = "nutrition", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.NUTRITION_FACTS)
     private Set<NutritionFact> facts;
 
     // ----------------------------------------------------
@@ -1,8 +1,11 @@
 package com.mealplanner.api.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.NUTRITION_FACT)
 @Table(name = "nutrition_facts")
 public class NutritionFact {
 
@@ -3,16 +3,31 @@ package com.mealplanner.api.model;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+/**
+ * One refresh token family: the session started by a login.
+ *
+ * Each use of the refresh token rotates it in place, so the table holds one row per session rather
+ * than one per refresh. Only SHA-256 hashes of the tokens are stored. The previous hash is kept so
+ * that replaying an already-rotated token can be detected and the whole family revoked.
+ */
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = {
+    @Index(name = "idx_refresh_tokens_previous_token_hash", columnList = "previous_token_hash"),
+    @Index(name = "idx_refresh_tokens_expiry_date", columnList = "expiry_date")
+})
 public class RefreshToken {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    // Hex SHA-256 of the current token
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // Hex SHA-256 of the token this one replaced, null until the first rotation
+    @Column(name = "previous_token_hash", length = 64)
+    private String previousTokenHash;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -21,12 +36,14 @@ public class RefreshToken {
     @Column(nullable = false)
     private LocalDateTime expiryDate;
 
+    private LocalDateTime rotatedAt;
+
     private boolean revoked;
 
     public RefreshToken() {}
 
-    public RefreshToken(String token, User user, LocalDateTime expiryDate) {
-        this.token = token;
+    public RefreshToken(String tokenHash, User user, LocalDateTime expiryDate) {
+        this.tokenHash = tokenHash;
         this.user = user;
         this.expiryDate = expiryDate;
         this.revoked = false;
@@ -41,12 +58,20 @@ public class RefreshToken {
         this.id = id;
     }
 
-    public String getToken() {
-        return token;
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public String getPreviousTokenHash() {
+        return previousTokenHash;
     }
 
-    public void setToken(String token) {
-        this.token = token;
+    public void setPreviousTokenHash(String previousTokenHash) {
+        this.previousTokenHash = previousTokenHash;
     }
 
     public User getUser() {
@@ -65,6 +90,14 @@ public class RefreshToken {
         this.expiryDate = expiryDate;
     }
 
+    public LocalDateTime getRotatedAt() {
+        return rotatedAt;
+    }
+
+    public void setRotatedAt(LocalDateTime rotatedAt) {
+        this.rotatedAt = rotatedAt;
+    }
+
     public boolean isRevoked() {
         return revoked;
     }
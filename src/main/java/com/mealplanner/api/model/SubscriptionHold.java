@@ -0,0 +1,61 @@
+package com.mealplanner.api.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "subscription_hold", indexes = {
+    @Index(name = "idx_subscription_hold_end_date", columnList = "end_date"),
+    @Index(name = "idx_subscription_hold_subscription", columnList = "subscription_id")
+})
+public class SubscriptionHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer holdId; // Maps to hold_id
+
+    // Association with Subscription
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "subscription_id", referencedColumnName = "subscriptionId", nullable = false)
+    private Subscription subscription; // Maps to subscription_id
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate; // Maps to start_date (inclusive)
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate; // Maps to end_date (inclusive)
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt; // Maps to created_at
+
+    // ----------------------------------------------------
+    // CONSTRUCTORS
+    // ----------------------------------------------------
+    public SubscriptionHold() {}
+
+    public SubscriptionHold(Subscription subscription, LocalDate startDate, LocalDate endDate) {
+        this.subscription = subscription;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // ----------------------------------------------------
+    // GETTERS AND SETTERS
+    // ----------------------------------------------------
+    public Integer getHoldId() { return holdId; }
+    public void setHoldId(Integer holdId) { this.holdId = holdId; }
+
+    public Subscription getSubscription() { return subscription; }
+    public void setSubscription(Subscription subscription) { this.subscription = subscription; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
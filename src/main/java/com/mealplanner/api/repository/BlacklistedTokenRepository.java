@@ -1,14 +1,38 @@
 package com.mealplanner.api.repository;
 
 import com.mealplanner.api.model.BlacklistedToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 
 @Repository
 public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, Integer> {
-    Optional<BlacklistedToken> findByToken(String token);
-    void deleteByExpiryDateBefore(LocalDateTime date);
+    boolean existsByTokenId(String tokenId);
+
+    /**
+     * Revocations still in force. Used to load the in-memory revocation set at startup.
+     */
+    List<BlacklistedToken> findByExpiryDateAfter(LocalDateTime now);
+
+    /**
+     * Revocations recorded at or after the given time that are still in force. Used to pick up
+     * revocations made by other instances.
+     */
+    List<BlacklistedToken> findByBlacklistedAtGreaterThanEqualAndExpiryDateAfter(LocalDateTime since, LocalDateTime now);
+
+    /**
+     * Next chunk of expired row IDs after the given ID, in ID order (keyset pagination for the reaper).
+     */
+    @Query("SELECT b.id FROM BlacklistedToken b WHERE b.id > :afterId AND b.expiryDate < :cutoff ORDER BY b.id")
+    List<Integer> findExpiredIds(@Param("afterId") Integer afterId, @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM BlacklistedToken b WHERE b.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Integer> ids);
 }
@@ -2,10 +2,14 @@ package com.mealplanner.api.repository;
 
 import com.mealplanner.api.model.Delivery;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,8 +29,9 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Integer>, Jp
 
     /**
      * Finds the delivery for a specific user on a specific date.
-     * Used for getting current delivery.
+     * Used for getting current delivery; fetches its subscription meal and status with it.
      */
+    @EntityGraph(attributePaths = {"subscriptionMeal", "subscriptionMeal.subscription", "status"})
     Optional<Delivery> findBySubscriptionMeal_Subscription_User_UserIdAndSubscriptionMeal_DeliveryDate(
         Integer userId, LocalDate deliveryDate);
 
@@ -54,4 +59,12 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Integer>, Jp
      * Used for pagination metadata.
      */
     long countBySubscriptionMeal_Subscription_User_UserId(Integer userId);
+
+    /**
+     * Loads deliveries with their meal and owning user in one query.
+     * Used to render delivery digest emails.
+     */
+    @Query("SELECT d FROM Delivery d JOIN FETCH d.subscriptionMeal sm LEFT JOIN FETCH sm.meal " +
+           "JOIN FETCH sm.subscription s JOIN FETCH s.user WHERE d.deliveryId IN :ids")
+    List<Delivery> findForDigestByDeliveryIdIn(@Param("ids") Collection<Integer> ids);
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.mealplanner.api.repository;
+
+import com.mealplanner.api.model.EmailOutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Pending messages that are due and not claimed by a live dispatcher, oldest first.
+     */
+    @Query("SELECT m.id FROM EmailOutboxMessage m WHERE m.status = 'PENDING' AND m.nextAttemptAt <= :now " +
+           "AND (m.claimedUntil IS NULL OR m.claimedUntil < :now) ORDER BY m.nextAttemptAt, m.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims the given messages unless another dispatcher got them first. Returns the number claimed.
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.claimToken = :claimToken, m.claimedUntil = :claimedUntil " +
+           "WHERE m.id IN :ids AND m.status = 'PENDING' AND (m.claimedUntil IS NULL OR m.claimedUntil < :now)")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("claimToken") String claimToken,
+              @Param("claimedUntil") LocalDateTime claimedUntil,
+              @Param("now") LocalDateTime now);
+
+    List<EmailOutboxMessage> findByClaimTokenOrderByIdAsc(String claimToken);
+
+    /**
+     * Marks the given messages sent if they are still held under this claim. A claim that lapsed and was
+     * taken by another dispatcher is left alone. Returns the number updated.
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = 'SENT', m.sentAt = :sentAt, m.attempts = m.attempts + 1, " +
+           "m.claimToken = NULL, m.claimedUntil = NULL, m.lastError = NULL " +
+           "WHERE m.id IN :ids AND m.claimToken = :claimToken")
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("claimToken") String claimToken,
+                 @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Records a failed attempt if the message is still held under this claim. Returns the number updated.
+     */
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = :status, m.attempts = :attempts, m.lastError = :lastError, " +
+           "m.nextAttemptAt = :nextAttemptAt, m.claimToken = NULL, m.claimedUntil = NULL " +
+           "WHERE m.id = :id AND m.claimToken = :claimToken")
+    int markFailed(@Param("id") Long id,
+                   @Param("claimToken") String claimToken,
+                   @Param("status") String status,
+                   @Param("attempts") int attempts,
+                   @Param("lastError") String lastError,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Query("SELECT m.id FROM EmailOutboxMessage m WHERE m.status = 'SENT' AND m.sentAt < :cutoff ORDER BY m.id")
+    List<Long> findSentIdsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    long countByStatus(String status);
+}
@@ -1,12 +1,15 @@
 package com.mealplanner.api.repository;
 
 import com.mealplanner.api.model.EmailVerificationToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +19,14 @@ public interface EmailVerificationTokenRepository extends JpaRepository<EmailVer
     @Modifying
     @Query("DELETE FROM EmailVerificationToken e WHERE e.user.userId = :userId")
     void deleteByUserId(@Param("userId") Integer userId);
+
+    /**
+     * Next chunk of expired row IDs after the given ID, in ID order (keyset pagination for the reaper).
+     */
+    @Query("SELECT e.id FROM EmailVerificationToken e WHERE e.id > :afterId AND e.expiryDate < :cutoff ORDER BY e.id")
+    List<Integer> findExpiredIds(@Param("afterId") Integer afterId, @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM EmailVerificationToken e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Integer> ids);
 }
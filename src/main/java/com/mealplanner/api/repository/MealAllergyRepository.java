@@ -1,17 +1,24 @@
 package com.mealplanner.api.repository;
 
+import com.mealplanner.api.model.CacheRegions;
 import com.mealplanner.api.model.MealAllergy;
 import com.mealplanner.api.model.MealAllergyId;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
 public interface MealAllergyRepository extends JpaRepository<MealAllergy, MealAllergyId> {
 
     /**
-     * Finds all allergies associated with a specific meal ID.
+     * Finds all allergies associated with a specific meal ID. Cached for the meal detail page.
      */
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.MEAL_DETAILS)})
     List<MealAllergy> findById_MealId(Integer mealId);
 
     /**
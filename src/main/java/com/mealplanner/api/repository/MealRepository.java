@@ -1,17 +1,31 @@
 package com.mealplanner.api.repository;
 
+import com.mealplanner.api.model.CacheRegions;
 import com.mealplanner.api.model.Meal;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
 public interface MealRepository extends JpaRepository<Meal, Integer> {
 
+    /**
+     * Meal list page, unfiltered. The paged queries below are served from the query cache
+     * (with their count queries) until the meal table changes.
+     */
+    @Override
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.MEAL_PAGES)})
+    Page<Meal> findAll(Pageable pageable);
+
     /**
      * Finds all meals with a rating equal to or above a certain minimum value.
      */
@@ -25,11 +39,13 @@ public interface MealRepository extends JpaRepository<Meal, Integer> {
     /**
      * Finds meals by searching within the meal name with pagination.
      */
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.MEAL_PAGES)})
     Page<Meal> findByMealNameContainingIgnoreCase(String name, Pageable pageable);
 
     /**
      * Finds all meals with a rating equal to or above a certain minimum value with pagination.
      */
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.MEAL_PAGES)})
     Page<Meal> findByRatingGreaterThanEqual(Integer minRating, Pageable pageable);
 
     /**
@@ -41,5 +57,6 @@ public interface MealRepository extends JpaRepository<Meal, Integer> {
            "  SELECT ma.meal.mealId FROM MealAllergy ma " +
            "  WHERE ma.allergy.allergyId IN :allergenIds" +
            ")")
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.MEAL_PAGES)})
     Page<Meal> findMealsExcludingAllergens(@Param("allergenIds") List<Integer> allergenIds, Pageable pageable);
 }
\ No newline at end of file
@@ -1,15 +1,23 @@
 package com.mealplanner.api.repository;
 
+import com.mealplanner.api.model.CacheRegions;
 import com.mealplanner.api.model.NutritionFact;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
 public interface NutritionFactRepository extends JpaRepository<NutritionFact, Integer> {
 
     /**
      * Finds all NutritionFact records associated with a specific Nutrition parent ID.
+     * Cached: every meal in a list page needs its nutrition summary.
      */
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = CacheRegions.MEAL_DETAILS)})
     List<NutritionFact> findByNutrition_NutritionId(Integer nutritionId);
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.mealplanner.api.repository;
 
 import com.mealplanner.api.model.PasswordResetToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +19,14 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     @Modifying
     @Query("DELETE FROM PasswordResetToken p WHERE p.user.userId = :userId")
     void deleteByUserId(@Param("userId") Integer userId);
+
+    /**
+     * Next chunk of expired row IDs after the given ID, in ID order (keyset pagination for the reaper).
+     */
+    @Query("SELECT p.id FROM PasswordResetToken p WHERE p.id > :afterId AND p.expiryDate < :cutoff ORDER BY p.id")
+    List<Integer> findExpiredIds(@Param("afterId") Integer afterId, @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM PasswordResetToken p WHERE p.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Integer> ids);
 }
@@ -1,19 +1,61 @@
 package com.mealplanner.api.repository;
 
 import com.mealplanner.api.model.RefreshToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Integer> {
-    Optional<RefreshToken> findByToken(String token);
-    
+
+    // The user and role are needed to issue the new access token
+    @EntityGraph(attributePaths = {"user", "user.role"})
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Locking read: sees a rotation committed by a concurrent refresh after this transaction's snapshot
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @EntityGraph(attributePaths = {"user", "user.role"})
+    Optional<RefreshToken> findFirstByPreviousTokenHash(String previousTokenHash);
+
+    /**
+     * Rotates a family only if it still holds the presented token and has not expired, so two concurrent
+     * refreshes with the same token cannot both succeed. The family keeps the expiry set at login.
+     * Returns the number of rows updated.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE RefreshToken r SET r.tokenHash = :newHash, r.previousTokenHash = :currentHash, " +
+           "r.rotatedAt = :rotatedAt " +
+           "WHERE r.id = :id AND r.tokenHash = :currentHash AND r.revoked = false AND r.expiryDate > :rotatedAt")
+    int rotate(@Param("id") Integer id,
+               @Param("currentHash") String currentHash,
+               @Param("newHash") String newHash,
+               @Param("rotatedAt") LocalDateTime rotatedAt);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.id = :id")
+    int revokeFamily(@Param("id") Integer id);
+
     @Modifying
     @Query("DELETE FROM RefreshToken r WHERE r.user.userId = :userId")
     void deleteByUserId(@Param("userId") Integer userId);
+
+    /**
+     * Next chunk of expired row IDs after the given ID, in ID order (keyset pagination for the reaper).
+     */
+    @Query("SELECT r.id FROM RefreshToken r WHERE r.id > :afterId AND r.expiryDate < :cutoff ORDER BY r.id")
+    List<Integer> findExpiredIds(@Param("afterId") Integer afterId, @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Integer> ids);
 }
@@ -0,0 +1,26 @@
+package com.mealplanner.api.repository;
+
+import com.mealplanner.api.model.SubscriptionHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SubscriptionHoldRepository extends JpaRepository<SubscriptionHold, Integer> {
+
+    /**
+     * Finds all holds for a subscription ordered by start date.
+     */
+    List<SubscriptionHold> findBySubscription_SubscriptionIdOrderByStartDate(Integer subscriptionId);
+
+    /**
+     * Loads the (subscriptionId, startDate, endDate) triples of every hold that has not ended
+     * before the given date. Used by the scheduler to build the in-memory hold calendar once per run.
+     */
+    @Query("SELECT h.subscription.subscriptionId, h.startDate, h.endDate FROM SubscriptionHold h " +
+           "WHERE h.endDate >= :date")
+    List<Object[]> findHoldRangesEndingOnOrAfter(@Param("date") LocalDate date);
+}
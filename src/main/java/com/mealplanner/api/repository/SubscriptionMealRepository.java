@@ -1,6 +1,7 @@
 package com.mealplanner.api.repository;
 
 import com.mealplanner.api.model.SubscriptionMeal;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,8 +13,9 @@ import java.util.List;
 public interface SubscriptionMealRepository extends JpaRepository<SubscriptionMeal, Integer> {
 
     /**
-     * Finds all assigned meals for a specific subscription on a given date.
+     * Finds all assigned meals for a specific subscription on a given date, with each meal and delivery.
      */
+    @EntityGraph(attributePaths = {"meal", "delivery"})
     List<SubscriptionMeal> findBySubscription_SubscriptionIdAndDeliveryDate(Integer subscriptionId, LocalDate deliveryDate);
 
     /**
@@ -1,13 +1,24 @@
 package com.mealplanner.api.repository;
 
+import com.mealplanner.api.dto.SubscriptionResponseDto;
 import com.mealplanner.api.model.Subscription;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
 @Repository
 public interface SubscriptionRepository extends JpaRepository<Subscription, Integer> {
 
@@ -23,23 +34,114 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Inte
     Optional<Subscription> findTopByUser_UserIdOrderByStartDateDesc(Integer userId);
 
     /**
-     * Finds all subscriptions for a specific user with pagination.
+     * Pages subscription list rows straight into SubscriptionResponseDto, joining the plan category
+     * and status in the same statement so listing a page never lazy-loads per row.
+     * Null filters are ignored. The count query only runs when Spring Data needs the total.
      */
-    Page<Subscription> findByUserUserId(Integer userId, Pageable pageable);
+    @Query(value = "SELECT new com.mealplanner.api.dto.SubscriptionResponseDto(" +
+           "s.subscriptionId, COALESCE(c.categoryName, 'Custom Plan'), s.startDate, st.statusName) " +
+           "FROM Subscription s JOIN s.customPlan p LEFT JOIN p.category c JOIN s.status st " +
+           "WHERE (:userId IS NULL OR s.user.userId = :userId) " +
+           "AND (:status IS NULL OR st.statusName = :status)",
+           countQuery = "SELECT COUNT(s) FROM Subscription s JOIN s.customPlan p JOIN s.status st " +
+           "WHERE (:userId IS NULL OR s.user.userId = :userId) " +
+           "AND (:status IS NULL OR st.statusName = :status)")
+    Page<SubscriptionResponseDto> findResponseDtos(@Param("userId") Integer userId,
+                                                   @Param("status") String status,
+                                                   Pageable pageable);
 
     /**
-     * Finds all subscriptions for a specific user filtered by status with pagination.
+     * Loads a subscription together with everything SubscriptionDetailDto reads
+     * (owner, status, plan, plan category and plan meals) in one statement.
      */
-    Page<Subscription> findByUserUserIdAndStatusStatusName(Integer userId, String status, Pageable pageable);
-
-    /**
-     * Finds all subscriptions with a specific status with pagination.
-     */
-    Page<Subscription> findByStatusStatusName(String status, Pageable pageable);
+    @EntityGraph(attributePaths = {"user", "status", "customPlan", "customPlan.category", "customPlan.customPlanMeals"})
+    Optional<Subscription> findDetailedBySubscriptionId(Integer subscriptionId);
 
     /**
      * Finds all subscriptions with a specific status.
      * Used by scheduler to get all active subscriptions.
      */
     List<Subscription> findByStatus_StatusName(String statusName);
-}
\ No newline at end of file
+
+    /**
+     * Atomically moves a subscription owned by the given user to a new status,
+     * but only if its current status is one of the allowed source statuses.
+     * Runs as a single UPDATE, so concurrent transitions cannot overwrite each other.
+     * Returns the number of rows matched (0 or 1).
+     * The native UPDATE declares the table it writes, so Hibernate does not clear the whole second-level cache.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "subscription"))
+    @Query(value = "UPDATE subscription " +
+           "SET status_id = (SELECT ss.status_id FROM subscription_status ss WHERE ss.status_name = :toStatus) " +
+           "WHERE subscription_id = :subscriptionId " +
+           "AND user_id = :userId " +
+           "AND status_id IN (SELECT ss2.status_id FROM subscription_status ss2 WHERE ss2.status_name IN (:fromStatuses)) " +
+           "AND EXISTS (SELECT 1 FROM subscription_status ss3 WHERE ss3.status_name = :toStatus)",
+           nativeQuery = true)
+    int compareAndSetStatus(@Param("subscriptionId") Integer subscriptionId,
+                            @Param("userId") Integer userId,
+                            @Param("toStatus") String toStatus,
+                            @Param("fromStatuses") List<String> fromStatuses);
+
+    /**
+     * Returns a single [userId, statusName] row for the subscription, or no rows if it does not exist.
+     * Used to explain why a status transition did not apply.
+     */
+    @Query("SELECT s.user.userId, s.status.statusName FROM Subscription s WHERE s.subscriptionId = :subscriptionId")
+    List<Object[]> findOwnerIdAndStatusName(@Param("subscriptionId") Integer subscriptionId);
+
+    /**
+     * Set-based variant of compareAndSetStatus for admin bulk operations.
+     * Moves every listed subscription whose current status is one of the source statuses.
+     * Returns the number of rows changed.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "subscription"))
+    @Query(value = "UPDATE subscription " +
+           "SET status_id = (SELECT ss.status_id FROM subscription_status ss WHERE ss.status_name = :toStatus) " +
+           "WHERE subscription_id IN (:subscriptionIds) " +
+           "AND status_id IN (SELECT ss2.status_id FROM subscription_status ss2 WHERE ss2.status_name IN (:fromStatuses)) " +
+           "AND EXISTS (SELECT 1 FROM subscription_status ss3 WHERE ss3.status_name = :toStatus)",
+           nativeQuery = true)
+    int bulkCompareAndSetStatus(@Param("subscriptionIds") Collection<Integer> subscriptionIds,
+                                @Param("toStatus") String toStatus,
+                                @Param("fromStatuses") List<String> fromStatuses);
+
+    /**
+     * Keyset-paginated IDs of subscriptions matching the admin bulk filter, in ascending ID order.
+     * Null filter values are ignored; userIds is only applied when filterByUsers is true.
+     */
+    @Query("SELECT s.subscriptionId FROM Subscription s " +
+           "WHERE s.subscriptionId > :afterId " +
+           "AND (:planId IS NULL OR s.customPlan.customPlanId = :planId) " +
+           "AND (:status IS NULL OR s.status.statusName = :status) " +
+           "AND (:filterByUsers = false OR s.user.userId IN :userIds) " +
+           "AND (:startDateFrom IS NULL OR s.startDate >= :startDateFrom) " +
+           "AND (:startDateTo IS NULL OR s.startDate <= :startDateTo) " +
+           "ORDER BY s.subscriptionId")
+    List<Integer> findIdsForBulkOperation(@Param("afterId") Integer afterId,
+                                          @Param("planId") Integer planId,
+                                          @Param("status") String status,
+                                          @Param("filterByUsers") boolean filterByUsers,
+                                          @Param("userIds") Collection<Integer> userIds,
+                                          @Param("startDateFrom") LocalDate startDateFrom,
+                                          @Param("startDateTo") LocalDate startDateTo,
+                                          Pageable pageable);
+
+    /**
+     * Counts subscriptions matching the admin bulk filter (same semantics as findIdsForBulkOperation).
+     */
+    @Query("SELECT COUNT(s) FROM Subscription s " +
+           "WHERE (:planId IS NULL OR s.customPlan.customPlanId = :planId) " +
+           "AND (:status IS NULL OR s.status.statusName = :status) " +
+           "AND (:filterByUsers = false OR s.user.userId IN :userIds) " +
+           "AND (:startDateFrom IS NULL OR s.startDate >= :startDateFrom) " +
+           "AND (:startDateTo IS NULL OR s.startDate <= :startDateTo)")
+    long countForBulkOperation(@Param("planId") Integer planId,
+                               @Param("status") String status,
+                               @Param("filterByUsers") boolean filterByUsers,
+                               @Param("userIds") Collection<Integer> userIds,
+                               @Param("startDateFrom") LocalDate startDateFrom,
+                               @Param("startDateTo") LocalDate startDateTo);
+}
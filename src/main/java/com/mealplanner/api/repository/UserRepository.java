@@ -1,6 +1,7 @@
 package com.mealplanner.api.repository;
 
 import com.mealplanner.api.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
@@ -14,4 +15,11 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      * Spring Data JPA automatically implements this based on the method name.
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Finds a user by email with the role loaded in the same query,
+     * so the authorities can be built outside a transaction.
+     */
+    @EntityGraph(attributePaths = "role")
+    Optional<User> findWithRoleByEmail(String email);
 }
\ No newline at end of file
@@ -8,29 +8,59 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.Collections;
 
+/**
+ * Authenticated principal.
+ *
+ * Built either from a loaded {@link User} (login, refresh, legacy tokens) or from the userId/email/role
+ * claims of a verified access token, in which case no entity is attached and {@link #getUser()} returns null.
+ * Code that only needs the caller's identity should use {@link #getUserId()}.
+ */
 public class CustomUserDetails implements UserDetails {
 
     private final User user;
+    private final Integer userId;
+    private final String email;
+    private final String roleName;
 
     public CustomUserDetails(User user) {
         this.user = user;
+        this.userId = user.getUserId();
+        this.email = user.getEmail();
+        this.roleName = user.getRole() != null ? user.getRole().getRoleName() : null;
+    }
+
+    private CustomUserDetails(Integer userId, String email, String roleName) {
+        this.user = null;
+        this.userId = userId;
+        this.email = email;
+        this.roleName = roleName;
+    }
+
+    /**
+     * Creates a principal from verified token claims without touching the database.
+     */
+    public static CustomUserDetails fromClaims(Integer userId, String email, String roleName) {
+        return new CustomUserDetails(userId, email, roleName);
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
+        if (roleName == null) {
+            return Collections.emptyList();
+        }
         return Collections.singletonList(
-            new SimpleGrantedAuthority("ROLE_" + user.getRole().getRoleName())
+            new SimpleGrantedAuthority("ROLE_" + roleName)
         );
     }
 
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return user != null ? user.getPasswordHash() : null;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
@@ -53,6 +83,17 @@ public class CustomUserDetails implements UserDetails {
         return true;
     }
 
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+
+    /**
+     * Returns the loaded user entity, or null when the principal was built from token claims.
+     */
     public User getUser() {
         return user;
     }
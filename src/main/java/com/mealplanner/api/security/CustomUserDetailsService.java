@@ -4,25 +4,57 @@ import com.mealplanner.api.model.User;
 import com.mealplanner.api.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, UserDetailsCache userDetailsCache) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
     }
 
+    /**
+     * Always reads the user from the database. Used by login, where the password hash must be current.
+     */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findWithRoleByEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         
         return new CustomUserDetails(user);
     }
+
+    /**
+     * Stores a re-encoded hash for the same password. Called after a successful login when the
+     * stored hash uses a lower BCrypt cost than the configured one.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = userRepository.findWithRoleByEmail(userDetails.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPasswordHash(newEncodedPassword);
+        return new CustomUserDetails(userRepository.save(user));
+    }
+
+    /**
+     * Same as {@link #loadUserByUsername(String)} but served from the short-TTL cache when possible.
+     * Used by the request filter for tokens whose claims cannot be used on their own.
+     */
+    public CustomUserDetails loadCachedUserByUsername(String email) throws UsernameNotFoundException {
+        CustomUserDetails cached = userDetailsCache.get(email);
+        if (cached != null) {
+            return cached;
+        }
+        CustomUserDetails loaded = (CustomUserDetails) loadUserByUsername(email);
+        userDetailsCache.put(loaded);
+        return loaded;
+    }
 }
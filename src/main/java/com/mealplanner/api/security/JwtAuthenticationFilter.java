@@ -1,6 +1,9 @@
 package com.mealplanner.api.security;
 
+import com.mealplanner.api.jfr.JwtVerifyEvent;
+import com.mealplanner.api.jfr.UserLoadEvent;
 import com.mealplanner.api.service.TokenBlacklistService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -22,13 +24,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final UserDetailsCache userDetailsCache;
 
     @Autowired
     public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService, 
-                                   TokenBlacklistService tokenBlacklistService) {
+                                   TokenBlacklistService tokenBlacklistService,
+                                   UserDetailsCache userDetailsCache) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.userDetailsCache = userDetailsCache;
     }
 
     @Override
@@ -39,26 +44,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String username = null;
         String jwt = null;
+        Claims claims = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
+            JwtVerifyEvent verifyEvent = new JwtVerifyEvent();
+            verifyEvent.begin();
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // Signature and expiry are verified once here; the claims are reused below
+                claims = jwtUtil.verify(jwt);
+                username = claims.getSubject();
             } catch (Exception e) {
                 // Invalid token, continue without authentication
             }
+            verifyEvent.valid = username != null;
+            verifyEvent.commit();
         }
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             // Check if token is blacklisted
-            if (jwt != null && tokenBlacklistService.isTokenBlacklisted(jwt)) {
+            if (tokenBlacklistService.isTokenBlacklisted(claims, jwt)) {
                 filterChain.doFilter(request, response);
                 return;
             }
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // The principal comes from the token's claims; the user is only loaded (and cached) for
+            // tokens without identity claims or issued before the user's last password/role change
+            CustomUserDetails userDetails = jwtUtil.toUserDetails(claims);
+            if (userDetails == null
+                    || userDetailsCache.isIssuedBeforeLastChange(userDetails.getUserId(), claims.getIssuedAt())) {
+                UserLoadEvent loadEvent = new UserLoadEvent();
+                loadEvent.reason = userDetails == null ? UserLoadEvent.REASON_NO_CLAIMS : UserLoadEvent.REASON_CHANGED;
+                loadEvent.begin();
+                try {
+                    userDetails = userDetailsService.loadCachedUserByUsername(username);
+                    loadEvent.found = true;
+                } finally {
+                    loadEvent.commit();
+                }
+            }
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
+            if (jwtUtil.validateClaims(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
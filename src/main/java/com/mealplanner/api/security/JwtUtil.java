@@ -1,29 +1,89 @@
 package com.mealplanner.api.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
+    // Identity claims carried by access tokens so requests can be authenticated without a user lookup
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+
     @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLongForHS256Algorithm}")
     private String secret;
 
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    @Value("${jwt.verified-cache.size:1024}")
+    private int verifiedCacheSize;
+
+    // Built once from the secret; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    // Recently verified tokens -> claims, LRU-bounded. Guarded by its own monitor.
+    private Map<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
+
+        final int maxEntries = Math.max(0, verifiedCacheSize);
+        verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Verifies the token's signature and expiry once and returns its claims.
+     * A token seen recently is answered from a small cache; its expiry is still re-checked on every hit.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims verify(String token) {
+        Claims cached;
+        synchronized (verifiedTokens) {
+            cached = verifiedTokens.get(token);
+        }
+        if (cached != null) {
+            if (!isExpired(cached)) {
+                return cached;
+            }
+            // Expired since it was cached: drop it and let the parser raise the proper exception
+            synchronized (verifiedTokens) {
+                verifiedTokens.remove(token);
+            }
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
     }
 
     public String extractUsername(String token) {
@@ -35,39 +95,77 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isExpired(Claims claims) {
+        Date tokenExpiration = claims.getExpiration();
+        return tokenExpiration != null && tokenExpiration.before(new Date());
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof CustomUserDetails customUserDetails) {
+            if (customUserDetails.getUserId() != null) {
+                claims.put(CLAIM_USER_ID, customUserDetails.getUserId());
+            }
+            if (customUserDetails.getRoleName() != null) {
+                claims.put(CLAIM_ROLE, customUserDetails.getRoleName());
+            }
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Builds the principal from verified claims, or returns null if the token predates the
+     * identity claims and the user has to be loaded instead.
+     */
+    public CustomUserDetails toUserDetails(Claims claims) {
+        Integer userId = claims.get(CLAIM_USER_ID, Integer.class);
+        String roleName = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || roleName == null || claims.getSubject() == null) {
+            return null;
+        }
+        return CustomUserDetails.fromClaims(userId, claims.getSubject(), roleName);
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Compact, stable identifier for a verified token: its jti claim, or for tokens issued
+     * without one, the hex SHA-256 of the token string.
+     */
+    public String tokenId(Claims claims, String token) {
+        if (claims.getId() != null) {
+            return claims.getId();
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateClaims(verify(token), userDetails);
+    }
+
+    /**
+     * Checks already-verified claims against the loaded user without parsing the token again.
+     */
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        String username = claims.getSubject();
+        return username != null && username.equals(userDetails.getUsername()) && !isExpired(claims);
     }
 }
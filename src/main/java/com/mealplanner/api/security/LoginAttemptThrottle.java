@@ -0,0 +1,126 @@
+package com.mealplanner.api.security;
+
+import com.mealplanner.api.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits failed login attempts per account and client IP pair, and per client IP, within a fixed window.
+ *
+ * Checked before any password is hashed, so a credential-stuffing burst is turned away with
+ * 429 without spending BCrypt time. Failures against an account only block the address they came
+ * from, so knowing someone's email is not enough to lock them out. Counters live in memory (per
+ * instance) and a successful login clears the counter for that account and address.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+    private final int maxFailuresPerAccountAndIp;
+    private final int maxFailuresPerIp;
+    private final long windowMillis;
+    private final int maxTrackedKeys;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<String, Window> failuresByAccountAndIp = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Window> failuresByIp = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LoginAttemptThrottle(@Value("${security.login.max-failures-per-account-and-ip:5}") int maxFailuresPerAccountAndIp,
+                                @Value("${security.login.max-failures-per-ip:20}") int maxFailuresPerIp,
+                                @Value("${security.login.window-minutes:15}") long windowMinutes,
+                                @Value("${security.login.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this(maxFailuresPerAccountAndIp, maxFailuresPerIp, windowMinutes * 60_000, maxTrackedKeys, System::currentTimeMillis);
+    }
+
+    LoginAttemptThrottle(int maxFailuresPerAccountAndIp, int maxFailuresPerIp, long windowMillis,
+                         int maxTrackedKeys, LongSupplier clock) {
+        this.maxFailuresPerAccountAndIp = maxFailuresPerAccountAndIp;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.windowMillis = windowMillis;
+        this.maxTrackedKeys = maxTrackedKeys;
+        this.clock = clock;
+    }
+
+    /**
+     * @throws TooManyRequestsException if the account from this IP, or the IP as a whole, has used up its
+     *         failures for the window
+     */
+    public void checkAllowed(String email, String ip) {
+        long now = clock.getAsLong();
+        long retryAfter = Math.max(
+                blockedForSeconds(failuresByAccountAndIp, accountKey(email, ip), maxFailuresPerAccountAndIp, now),
+                blockedForSeconds(failuresByIp, ip, maxFailuresPerIp, now));
+        if (retryAfter > 0) {
+            throw new TooManyRequestsException("Too many failed login attempts. Please try again later.", retryAfter);
+        }
+    }
+
+    public void recordFailure(String email, String ip) {
+        long now = clock.getAsLong();
+        increment(failuresByAccountAndIp, accountKey(email, ip), now);
+        increment(failuresByIp, ip, now);
+    }
+
+    public void recordSuccess(String email, String ip) {
+        String key = accountKey(email, ip);
+        if (key != null) {
+            failuresByAccountAndIp.remove(key);
+        }
+    }
+
+    /**
+     * Drops counters whose window has ended.
+     */
+    @Scheduled(fixedDelayString = "${security.login.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = clock.getAsLong();
+        failuresByAccountAndIp.values().removeIf(window -> window.isOver(now, windowMillis));
+        failuresByIp.values().removeIf(window -> window.isOver(now, windowMillis));
+    }
+
+    private long blockedForSeconds(ConcurrentMap<String, Window> counters, String key, int limit, long now) {
+        if (key == null) {
+            return 0;
+        }
+        Window window = counters.get(key);
+        if (window == null || window.isOver(now, windowMillis) || window.failures < limit) {
+            return 0;
+        }
+        long remainingMillis = window.startedAt + windowMillis - now;
+        return Math.max(1, (remainingMillis + 999) / 1000);
+    }
+
+    private void increment(ConcurrentMap<String, Window> counters, String key, long now) {
+        if (key == null) {
+            return;
+        }
+        if (counters.size() >= maxTrackedKeys && !counters.containsKey(key)) {
+            // Bound memory under a spray of distinct keys; stale windows go first
+            counters.values().removeIf(window -> window.isOver(now, windowMillis));
+            if (counters.size() >= maxTrackedKeys) {
+                return;
+            }
+        }
+        counters.compute(key, (k, window) -> window == null || window.isOver(now, windowMillis)
+                ? new Window(now, 1)
+                : new Window(window.startedAt, window.failures + 1));
+    }
+
+    // e.g. "user@example.com|203.0.113.7"
+    private static String accountKey(String email, String ip) {
+        return email == null || ip == null ? null : email.trim().toLowerCase(Locale.ROOT) + "|" + ip;
+    }
+
+    private record Window(long startedAt, int failures) {
+        boolean isOver(long now, long windowMillis) {
+            return now - startedAt >= windowMillis;
+        }
+    }
+}
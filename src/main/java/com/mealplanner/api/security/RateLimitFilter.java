@@ -0,0 +1,126 @@
+package com.mealplanner.api.security;
+
+import com.mealplanner.api.exception.TooManyRequestsException;
+import com.mealplanner.api.util.TokenBucketLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limits the public, unauthenticated endpoints per client IP and route before any other work is done.
+ *
+ * Runs ahead of {@link JwtAuthenticationFilter}. Login, registration and forgot-password share a tight
+ * limit (each request may cost a BCrypt hash or an email); public meal and plan browsing gets a looser one.
+ * Rejections are handed to the MVC exception handlers, so they get the usual 429 error body and Retry-After
+ * header. Buckets are kept in memory, per instance.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int STRIPES = 16;
+
+    private final List<Rule> rules;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+    private final LongAdder rejected = new LongAdder();
+
+    @Value("${security.rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    @Autowired
+    public RateLimitFilter(@Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                           @Value("${security.rate-limit.auth.capacity:10}") int authCapacity,
+                           @Value("${security.rate-limit.auth.refill-per-minute:10}") int authRefillPerMinute,
+                           @Value("${security.rate-limit.catalog.capacity:100}") int catalogCapacity,
+                           @Value("${security.rate-limit.catalog.refill-per-minute:300}") int catalogRefillPerMinute,
+                           @Value("${security.rate-limit.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this(exceptionResolver, List.of(
+                new Rule("POST", List.of("/api/v1/users/login", "/api/v1/users/register", "/api/v1/users/forgot-password"),
+                        new TokenBucketLimiter(authCapacity, authRefillPerMinute, maxTrackedKeys, STRIPES, System::nanoTime)),
+                // The paths permitted publicly in SecurityConfig and the versioned paths the controllers are mapped to
+                new Rule("GET", List.of("/api/meals/**", "/api/plans/**", "/api/v1/meals/**", "/api/v1/plans/**"),
+                        new TokenBucketLimiter(catalogCapacity, catalogRefillPerMinute, maxTrackedKeys, STRIPES, System::nanoTime))));
+    }
+
+    RateLimitFilter(HandlerExceptionResolver exceptionResolver, List<Rule> rules) {
+        this.exceptionResolver = exceptionResolver;
+        this.rules = rules;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = urlPathHelper.getPathWithinApplication(request);
+        for (Rule rule : rules) {
+            if (!rule.method().equals(request.getMethod())) {
+                continue;
+            }
+            for (String pattern : rule.patterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    // One bucket per client and route pattern, e.g. "/api/v1/users/login|203.0.113.7"
+                    long waitMillis = rule.limiter().tryAcquire(pattern + "|" + request.getRemoteAddr());
+                    if (waitMillis > 0) {
+                        rejected.increment();
+                        exceptionResolver.resolveException(request, response, null, new TooManyRequestsException(
+                                "Too many requests. Please try again later.", (waitMillis + 999) / 1000));
+                        return;
+                    }
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Drops buckets that have refilled completely; an idle client costs nothing until it returns.
+     */
+    @Scheduled(fixedDelayString = "${security.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        for (Rule rule : rules) {
+            rule.limiter().evictIdle();
+        }
+    }
+
+    public int trackedBuckets() {
+        int buckets = 0;
+        for (Rule rule : rules) {
+            buckets += rule.limiter().size();
+        }
+        return buckets;
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Requests with the given method whose path matches one of the patterns are limited by {@code limiter}.
+     */
+    record Rule(String method, List<String> patterns, TokenBucketLimiter limiter) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.mealplanner.api.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived, per-instance cache of user details for the authentication path, plus a record of
+ * when each user's password or role last changed.
+ *
+ * Access tokens carry the user's ID and role, so normal requests never load the user. When a password
+ * or role changes, {@link #invalidate(Integer, String)} drops the cached details and marks the claims of
+ * every token issued before that moment as stale; those tokens are then authenticated from the
+ * (re)loaded user instead, so a role change applies on the next request as it did before.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final long ttlMillis;
+    private final long tokenLifetimeMillis;
+
+    private final Map<String, Entry> detailsByEmail = new ConcurrentHashMap<>();
+    // userId -> epoch second of the last credential/role change
+    private final Map<Integer, Long> changedAtByUserId = new ConcurrentHashMap<>();
+
+    public UserDetailsCache(@Value("${security.user-cache.ttl-seconds:60}") long ttlSeconds,
+                            @Value("${jwt.expiration:86400000}") long tokenLifetimeMillis) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.tokenLifetimeMillis = tokenLifetimeMillis;
+    }
+
+    public CustomUserDetails get(String email) {
+        Entry entry = detailsByEmail.get(email);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            detailsByEmail.remove(email, entry);
+            return null;
+        }
+        return entry.details;
+    }
+
+    public void put(CustomUserDetails details) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        detailsByEmail.put(details.getUsername(), new Entry(details, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Call after a user's password or role changes.
+     */
+    public void invalidate(Integer userId, String email) {
+        if (email != null) {
+            detailsByEmail.remove(email);
+        }
+        if (userId != null) {
+            long now = System.currentTimeMillis();
+            changedAtByUserId.put(userId, now / 1000);
+            // Marks older than the token lifetime can no longer affect a live token
+            long oldestRelevant = (now - tokenLifetimeMillis) / 1000;
+            changedAtByUserId.values().removeIf(changedAt -> changedAt < oldestRelevant);
+        }
+    }
+
+    /**
+     * Returns true if the token was issued before the user's last password or role change,
+     * meaning its role claim cannot be trusted. Issue times have one-second precision,
+     * so tokens issued within the same second as the change are treated as stale too.
+     */
+    public boolean isIssuedBeforeLastChange(Integer userId, Date issuedAt) {
+        if (userId == null || issuedAt == null) {
+            return false;
+        }
+        Long changedAt = changedAtByUserId.get(userId);
+        return changedAt != null && issuedAt.getTime() / 1000 <= changedAt;
+    }
+
+    private static final class Entry {
+        private final CustomUserDetails details;
+        private final long expiresAt;
+
+        private Entry(CustomUserDetails details, long expiresAt) {
+            this.details = details;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -22,20 +22,20 @@ import java.util.stream.Collectors;
 public class CustomPlanService {
 
     private final CustomPlanRepository customPlanRepository;
-    private final PlanCategoryRepository planCategoryRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final CustomPlanMealRepository customPlanMealRepository;
     private final MealRepository mealRepository;
     private final UserRepository userRepository;
     private final NutritionFactRepository nutritionFactRepository;
 
     public CustomPlanService(CustomPlanRepository customPlanRepository,
-                            PlanCategoryRepository planCategoryRepository,
+                            ReferenceDataRegistry referenceDataRegistry,
                             CustomPlanMealRepository customPlanMealRepository,
                             MealRepository mealRepository,
                             UserRepository userRepository,
                             NutritionFactRepository nutritionFactRepository) {
         this.customPlanRepository = customPlanRepository;
-        this.planCategoryRepository = planCategoryRepository;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.customPlanMealRepository = customPlanMealRepository;
         this.mealRepository = mealRepository;
         this.userRepository = userRepository;
@@ -51,7 +51,7 @@ public class CustomPlanService {
      * Requirements: 4.1
      */
     public List<PlanCategoryDto> getAllCategories() {
-        return planCategoryRepository.findAll().stream()
+        return referenceDataRegistry.getPlanCategories().stream()
                 .map(this::mapToCategoryDto)
                 .collect(Collectors.toList());
     }
@@ -60,6 +60,7 @@ public class CustomPlanService {
      * Get plans with pagination and optional category filtering
      * Requirements: 4.2, 4.3
      */
+    @Transactional(readOnly = true)
     @SuppressWarnings("null")
     public Page<CustomPlanResponseDto> getPlans(Integer categoryId, Pageable pageable) {
         Page<CustomPlan> plans;
@@ -77,6 +78,7 @@ public class CustomPlanService {
      * Get plan details by ID including associated meals
      * Requirements: 4.4
      */
+    @Transactional(readOnly = true)
     @SuppressWarnings("null")
     public CustomPlanDetailDto getPlanById(Integer planId) {
         CustomPlan plan = customPlanRepository.findById(planId)
@@ -100,7 +102,7 @@ public class CustomPlanService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
         
         // Fetch category
-        PlanCategory category = planCategoryRepository.findById(dto.getCategoryId())
+        PlanCategory category = referenceDataRegistry.findPlanCategory(dto.getCategoryId())
                 .orElseThrow(() -> new ValidationException("Plan category not found with ID: " + dto.getCategoryId()));
         
         // Create plan
@@ -136,7 +138,7 @@ public class CustomPlanService {
         
         // Update fields if provided
         if (dto.getCategoryId() != null) {
-            PlanCategory category = planCategoryRepository.findById(dto.getCategoryId())
+            PlanCategory category = referenceDataRegistry.findPlanCategory(dto.getCategoryId())
                     .orElseThrow(() -> new ValidationException("Plan category not found with ID: " + dto.getCategoryId()));
             plan.setCategory(category);
         }
@@ -246,7 +248,7 @@ public class CustomPlanService {
         
         // Update fields if provided (no ownership check for admin)
         if (dto.getCategoryId() != null) {
-            PlanCategory category = planCategoryRepository.findById(dto.getCategoryId())
+            PlanCategory category = referenceDataRegistry.findPlanCategory(dto.getCategoryId())
                     .orElseThrow(() -> new ValidationException("Plan category not found with ID: " + dto.getCategoryId()));
             plan.setCategory(category);
         }
@@ -0,0 +1,222 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.model.Delivery;
+import com.mealplanner.api.model.SubscriptionMeal;
+import com.mealplanner.api.model.User;
+import com.mealplanner.api.repository.DeliveryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Turns delivery status changes into one digest email per user per window (daily by default).
+ *
+ * Status changes are buffered in memory after their transaction commits, keeping only the latest status of
+ * each delivery, so a delivery that goes PREPARING -> SHIPPED -> DELIVERED -> CONFIRMED in one day is one line.
+ * At the end of the window the deliveries are loaded in chunks with their users, grouped into one digest per
+ * user and queued in the email outbox in small batches with a pause between them. Email volume therefore
+ * follows the number of users with updates, not the number of status changes. The scheduled flush runs on its
+ * own thread, so those pauses do not hold up the other scheduled jobs.
+ *
+ * The buffer is per instance and is lost on restart; a missed digest only delays information the customer
+ * can also see in the app.
+ */
+@Service
+public class DeliveryDigestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryDigestService.class);
+
+    private static final int LOAD_CHUNK_SIZE = 500;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("EEE, MMM d", Locale.ENGLISH);
+
+    private final DeliveryRepository deliveryRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "delivery-digest");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Delivery ID -> latest status change in the current window. Guarded by itself.
+    private Map<Integer, DeliveryStatusChangedEvent> pending = new HashMap<>();
+
+    @Value("${notifications.digest.max-pending:100000}")
+    private int maxPending = 100_000;
+
+    @Value("${notifications.digest.batch-size:200}")
+    private int batchSize = 200;
+
+    @Value("${notifications.digest.batch-pause-ms:500}")
+    private long batchPauseMillis = 500;
+
+    public DeliveryDigestService(DeliveryRepository deliveryRepository, EmailService emailService,
+                                 PlatformTransactionManager transactionManager) {
+        this.deliveryRepository = deliveryRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Buffers a status change once its transaction has committed (or immediately outside a transaction).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryStatusChanged(DeliveryStatusChangedEvent event) {
+        synchronized (this) {
+            if (pending.size() >= maxPending && !pending.containsKey(event.deliveryId())) {
+                logger.warn("Delivery digest buffer full ({} deliveries); dropping update for delivery {}",
+                        maxPending, event.deliveryId());
+                return;
+            }
+            pending.merge(event.deliveryId(), event,
+                    (previous, latest) -> latest.changedAt().isBefore(previous.changedAt()) ? previous : latest);
+        }
+    }
+
+    @Scheduled(cron = "${notifications.digest.cron:0 0 20 * * *}")
+    public void scheduledFlush() {
+        if (!flushing.compareAndSet(false, true)) {
+            logger.warn("Previous delivery digest flush still running, skipping");
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                flush();
+            } finally {
+                flushing.set(false);
+            }
+        });
+    }
+
+    /**
+     * Ends the current window: renders and queues one digest per user with buffered updates.
+     *
+     * @return number of digests queued
+     */
+    public int flush() {
+        Map<Integer, DeliveryStatusChangedEvent> window;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            window = pending;
+            pending = new HashMap<>();
+        }
+
+        List<Digest> digests = render(window);
+        int queued = 0;
+        for (int from = 0; from < digests.size(); from += batchSize) {
+            if (from > 0 && !pause()) {
+                logger.warn("Delivery digest flush interrupted after {} of {} digests", queued, digests.size());
+                break;
+            }
+            List<Digest> batch = digests.subList(from, Math.min(from + batchSize, digests.size()));
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(digest ->
+                    emailService.sendDeliveryDigest(digest.email, digest.fullName, digest.lines)));
+            queued += batch.size();
+        }
+
+        logger.info("Queued {} delivery digests covering {} deliveries", queued, window.size());
+        return queued;
+    }
+
+    /**
+     * Loads the buffered deliveries in chunks and groups their lines by user, ordered by delivery date.
+     */
+    private List<Digest> render(Map<Integer, DeliveryStatusChangedEvent> window) {
+        List<Integer> deliveryIds = new ArrayList<>(window.keySet());
+        deliveryIds.sort(Comparator.naturalOrder());
+
+        List<Delivery> deliveries = new ArrayList<>(deliveryIds.size());
+        for (int from = 0; from < deliveryIds.size(); from += LOAD_CHUNK_SIZE) {
+            deliveries.addAll(deliveryRepository.findForDigestByDeliveryIdIn(
+                    deliveryIds.subList(from, Math.min(from + LOAD_CHUNK_SIZE, deliveryIds.size()))));
+        }
+        deliveries.sort(Comparator
+                .comparing((Delivery d) -> d.getSubscriptionMeal().getDeliveryDate(),
+                        Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(Delivery::getDeliveryId));
+
+        Map<Integer, Digest> digestsByUser = new LinkedHashMap<>();
+        for (Delivery delivery : deliveries) {
+            User user = delivery.getSubscriptionMeal().getSubscription().getUser();
+            digestsByUser.computeIfAbsent(user.getUserId(), id -> new Digest(user.getEmail(), user.getFullName()))
+                    .lines.add(describe(delivery, window.get(delivery.getDeliveryId())));
+        }
+        return new ArrayList<>(digestsByUser.values());
+    }
+
+    private static String describe(Delivery delivery, DeliveryStatusChangedEvent event) {
+        SubscriptionMeal subscriptionMeal = delivery.getSubscriptionMeal();
+        StringBuilder line = new StringBuilder();
+        if (subscriptionMeal.getDeliveryDate() != null) {
+            line.append(subscriptionMeal.getDeliveryDate().format(DATE_FORMAT));
+        }
+        if (delivery.getDeliveryTime() != null) {
+            line.append(" at ").append(delivery.getDeliveryTime());
+        }
+        if (subscriptionMeal.getMeal() != null) {
+            line.append(" (").append(subscriptionMeal.getMeal().getMealName()).append(")");
+        }
+        line.append(": ").append(statusLabel(event.statusName()));
+        return line.toString().trim();
+    }
+
+    private static String statusLabel(String statusName) {
+        return switch (statusName) {
+            case "PREPARING" -> "being prepared";
+            case "SHIPPED" -> "on its way";
+            case "DELIVERED" -> "delivered";
+            case "CONFIRMED" -> "confirmed, thank you";
+            default -> statusName.toLowerCase();
+        };
+    }
+
+    private boolean pause() {
+        if (batchPauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Digest {
+        private final String email;
+        private final String fullName;
+        private final List<String> lines = new ArrayList<>();
+
+        private Digest(String email, String fullName) {
+            this.email = email;
+            this.fullName = fullName;
+        }
+    }
+}
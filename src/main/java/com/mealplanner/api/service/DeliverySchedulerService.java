@@ -1,14 +1,20 @@
 package com.mealplanner.api.service;
 
+import com.mealplanner.api.jfr.SchedulerJobEvent;
+import com.mealplanner.api.jfr.SchedulerPhaseEvent;
 import com.mealplanner.api.model.*;
 import com.mealplanner.api.repository.*;
+import com.mealplanner.api.util.HoldCalendar;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -18,6 +24,11 @@ import java.util.List;
 /**
  * Background service for automated delivery management.
  * Handles daily delivery creation and status progression.
+ * The current date and time come from the injected {@link Clock}, so the jobs can be run on simulated time.
+ * Rows handled per run are counted in {@code delivery.scheduler.rows} (tagged by job and outcome);
+ * run durations are recorded by Spring Boot as {@code tasks.scheduled.execution}.
+ * Each run is also recorded as a JFR {@link SchedulerJobEvent}, with its load and process phases as
+ * {@link SchedulerPhaseEvent}s.
  */
 @Service
 @Transactional
@@ -35,32 +46,72 @@ public class DeliverySchedulerService {
     private DeliveryRepository deliveryRepository;
 
     @Autowired
-    private DeliveryStatusRepository deliveryStatusRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Autowired
+    private SubscriptionHoldRepository subscriptionHoldRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Clock clock;
 
     /**
      * Creates deliveries for all active subscriptions at day start.
      * Runs daily at midnight.
      * Skips if delivery already exists.
-     * Does not create deliveries for cancelled or paused subscriptions.
+     * Does not create deliveries for cancelled or paused subscriptions,
+     * or for subscriptions with a hold covering today.
      * 
      * Requirements: 2.1, 2.2, 11.1, 11.2
      */
     @Scheduled(cron = "0 0 0 * * *") // Daily at midnight
     public void createDailyDeliveries() {
+        SchedulerJobEvent jobEvent = new SchedulerJobEvent();
+        jobEvent.job = "createDailyDeliveries";
+        jobEvent.begin();
+        try {
+            createDailyDeliveries(jobEvent);
+        } finally {
+            jobEvent.commit();
+        }
+    }
+
+    private void createDailyDeliveries(SchedulerJobEvent jobEvent) {
         logger.info("Starting daily delivery creation job");
-        LocalDate today = LocalDate.now();
+        LocalDate today = LocalDate.now(clock);
         
         // Query all active subscriptions (Requirements 11.1, 11.2)
+        SchedulerPhaseEvent loadPhase = SchedulerPhaseEvent.start(jobEvent.job, SchedulerPhaseEvent.LOAD);
         List<Subscription> activeSubscriptions = subscriptionRepository
                 .findByStatus_StatusName("active");
         
         logger.info("Found {} active subscriptions", activeSubscriptions.size());
         
+        // Load all relevant holds once; each subscription is then checked in memory
+        HoldCalendar holdCalendar = HoldCalendar.fromRows(
+                subscriptionHoldRepository.findHoldRangesEndingOnOrAfter(today));
+        loadPhase.end(activeSubscriptions.size());
+        
+        SchedulerPhaseEvent processPhase = SchedulerPhaseEvent.start(jobEvent.job, SchedulerPhaseEvent.PROCESS);
         int created = 0;
         int skipped = 0;
+        int held = 0;
+        int failed = 0;
         
         for (Subscription subscription : activeSubscriptions) {
             try {
+                if (holdCalendar.isOnHold(subscription.getSubscriptionId(), today)) {
+                    logger.debug("Subscription {} is on hold for {}", 
+                            subscription.getSubscriptionId(), today);
+                    held++;
+                    continue;
+                }
+                
                 // Get subscription meals for today
                 List<SubscriptionMeal> subscriptionMeals = subscriptionMealRepository
                         .findBySubscription_SubscriptionIdAndDeliveryDate(
@@ -92,10 +143,21 @@ public class DeliverySchedulerService {
             } catch (Exception e) {
                 logger.error("Error creating delivery for subscription {}: {}", 
                         subscription.getSubscriptionId(), e.getMessage(), e);
+                failed++;
             }
         }
         
-        logger.info("Daily delivery creation completed. Created: {}, Skipped: {}", created, skipped);
+        processPhase.end(activeSubscriptions.size());
+        jobEvent.rows = activeSubscriptions.size();
+        jobEvent.changed = created;
+        jobEvent.failed = failed;
+        
+        logger.info("Daily delivery creation completed. Created: {}, Skipped: {}, On hold: {}", 
+                created, skipped, held);
+        countRows("createDailyDeliveries", "created", created);
+        countRows("createDailyDeliveries", "skipped", skipped);
+        countRows("createDailyDeliveries", "held", held);
+        countRows("createDailyDeliveries", "failed", failed);
     }
 
     /**
@@ -105,7 +167,7 @@ public class DeliverySchedulerService {
                                               SubscriptionMeal subscriptionMeal, 
                                               LocalDate deliveryDate) {
         // Get PREPARING status (Requirement 2.3)
-        DeliveryStatus preparingStatus = deliveryStatusRepository.findByStatusName("PREPARING")
+        DeliveryStatus preparingStatus = referenceDataRegistry.findDeliveryStatus("PREPARING")
                 .orElseThrow(() -> new RuntimeException("PREPARING status not found in system"));
         
         // Get user address or use default
@@ -121,8 +183,8 @@ public class DeliverySchedulerService {
         delivery.setDeliveryTime(subscription.getPreferredTime()); // Requirement 2.4
         delivery.setEstimatedDeliveryTime(subscription.getPreferredTime());
         delivery.setStatus(preparingStatus);
-        delivery.setCreatedAt(LocalDateTime.now());
-        delivery.setStatusUpdatedAt(LocalDateTime.now());
+        delivery.setCreatedAt(LocalDateTime.now(clock));
+        delivery.setStatusUpdatedAt(LocalDateTime.now(clock));
         
         deliveryRepository.save(delivery);
         
@@ -140,11 +202,24 @@ public class DeliverySchedulerService {
      */
     @Scheduled(fixedRate = 60000) // Every minute
     public void updateDeliveryStatuses() {
+        SchedulerJobEvent jobEvent = new SchedulerJobEvent();
+        jobEvent.job = "updateDeliveryStatuses";
+        jobEvent.begin();
+        try {
+            updateDeliveryStatuses(jobEvent);
+        } finally {
+            jobEvent.commit();
+        }
+    }
+
+    private void updateDeliveryStatuses(SchedulerJobEvent jobEvent) {
         logger.debug("Starting delivery status update job");
         
         // Query deliveries in PREPARING and SHIPPED status (Requirement 3.1, 3.2)
+        SchedulerPhaseEvent loadPhase = SchedulerPhaseEvent.start(jobEvent.job, SchedulerPhaseEvent.LOAD);
         List<Delivery> deliveries = deliveryRepository
                 .findByStatus_StatusNameIn(Arrays.asList("PREPARING", "SHIPPED"));
+        loadPhase.end(deliveries.size());
         
         if (deliveries.isEmpty()) {
             logger.debug("No deliveries to update");
@@ -153,7 +228,9 @@ public class DeliverySchedulerService {
         
         logger.debug("Found {} deliveries to process", deliveries.size());
         
+        SchedulerPhaseEvent processPhase = SchedulerPhaseEvent.start(jobEvent.job, SchedulerPhaseEvent.PROCESS);
         int updated = 0;
+        int failed = 0;
         
         for (Delivery delivery : deliveries) {
             try {
@@ -163,10 +240,19 @@ public class DeliverySchedulerService {
             } catch (Exception e) {
                 logger.error("Error updating delivery {}: {}", 
                         delivery.getDeliveryId(), e.getMessage(), e);
+                failed++;
             }
         }
         
+        processPhase.end(deliveries.size());
+        jobEvent.rows = deliveries.size();
+        jobEvent.changed = updated;
+        jobEvent.failed = failed;
+        
         logger.debug("Delivery status update completed. Updated: {}", updated);
+        countRows("updateDeliveryStatuses", "updated", updated);
+        countRows("updateDeliveryStatuses", "unchanged", deliveries.size() - updated - failed);
+        countRows("updateDeliveryStatuses", "failed", failed);
     }
 
     /**
@@ -175,8 +261,8 @@ public class DeliverySchedulerService {
      * 
      * Requirements: 3.1, 3.2, 3.3, 3.4, 11.3
      */
-    private boolean progressDeliveryStatus(Delivery delivery) {
-        LocalDateTime now = LocalDateTime.now();
+    boolean progressDeliveryStatus(Delivery delivery) {
+        LocalDateTime now = LocalDateTime.now(clock);
         LocalTime currentTime = now.toLocalTime();
         
         String currentStatus = delivery.getStatus().getStatusName();
@@ -219,18 +305,24 @@ public class DeliverySchedulerService {
         return false;
     }
 
+    private void countRows(String job, String outcome, int rows) {
+        meterRegistry.counter("delivery.scheduler.rows", "job", job, "outcome", outcome).increment(rows);
+    }
+
     /**
      * Updates the status of a delivery and records the timestamp.
      * 
      * Requirement 3.3
      */
     private void updateStatus(Delivery delivery, String statusName) {
-        DeliveryStatus newStatus = deliveryStatusRepository.findByStatusName(statusName)
+        DeliveryStatus newStatus = referenceDataRegistry.findDeliveryStatus(statusName)
                 .orElseThrow(() -> new RuntimeException(statusName + " status not found in system"));
         
         delivery.setStatus(newStatus);
-        delivery.setStatusUpdatedAt(LocalDateTime.now()); // Requirement 3.3
+        delivery.setStatusUpdatedAt(LocalDateTime.now(clock)); // Requirement 3.3
         
         deliveryRepository.save(delivery);
+        eventPublisher.publishEvent(new DeliveryStatusChangedEvent(
+                delivery.getDeliveryId(), statusName, delivery.getStatusUpdatedAt()));
     }
 }
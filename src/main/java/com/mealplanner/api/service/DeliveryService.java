@@ -7,12 +7,14 @@ import com.mealplanner.api.exception.ValidationException;
 import com.mealplanner.api.model.*;
 import com.mealplanner.api.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -28,7 +30,7 @@ public class DeliveryService {
     private DeliveryRepository deliveryRepository;
 
     @Autowired
-    private DeliveryStatusRepository deliveryStatusRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @Autowired
     private SubscriptionRepository subscriptionRepository;
@@ -39,6 +41,12 @@ public class DeliveryService {
     @Autowired
     private HistoryRepository historyRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Clock clock;
+
     /**
      * Creates a daily delivery for a given subscription and date.
      * Sets initial status to PREPARING, delivery time from subscription preferred time,
@@ -82,7 +90,7 @@ public class DeliveryService {
         }
 
         // Get PREPARING status
-        DeliveryStatus preparingStatus = deliveryStatusRepository.findByStatusName("PREPARING")
+        DeliveryStatus preparingStatus = referenceDataRegistry.findDeliveryStatus("PREPARING")
                 .orElseThrow(() -> new ValidationException("PREPARING status not found in system"));
 
         // Get user address or use default
@@ -98,8 +106,8 @@ public class DeliveryService {
         delivery.setDeliveryTime(subscription.getPreferredTime());
         delivery.setEstimatedDeliveryTime(subscription.getPreferredTime());
         delivery.setStatus(preparingStatus);
-        delivery.setCreatedAt(LocalDateTime.now());
-        delivery.setStatusUpdatedAt(LocalDateTime.now());
+        delivery.setCreatedAt(LocalDateTime.now(clock));
+        delivery.setStatusUpdatedAt(LocalDateTime.now(clock));
 
         delivery = deliveryRepository.save(delivery);
 
@@ -112,8 +120,9 @@ public class DeliveryService {
      * 
      * Requirements: 4.1, 4.4
      */
+    @Transactional(readOnly = true)
     public DeliveryResponseDto getCurrentDelivery(Integer userId) {
-        LocalDate today = LocalDate.now();
+        LocalDate today = LocalDate.now(clock);
         
         Delivery delivery = deliveryRepository
                 .findBySubscriptionMeal_Subscription_User_UserIdAndSubscriptionMeal_DeliveryDate(userId, today)
@@ -136,6 +145,7 @@ public class DeliveryService {
      * 
      * Requirements: 4.2, 4.3
      */
+    @Transactional(readOnly = true)
     @SuppressWarnings("null")
     public DeliveryResponseDto getDeliveryById(Integer deliveryId, Integer userId, boolean isAdmin) {
         if (deliveryId == null) {
@@ -167,6 +177,7 @@ public class DeliveryService {
      * 
      * Requirements: 4.5, 10.1, 10.3, 10.5
      */
+    @Transactional(readOnly = true)
     @SuppressWarnings("null")
     public Page<DeliveryHistoryDto> getDeliveryHistory(Integer userId, LocalDate startDate, 
                                                        LocalDate endDate, String status, 
@@ -334,15 +345,17 @@ public class DeliveryService {
         }
 
         // Get CONFIRMED status
-        DeliveryStatus confirmedStatus = deliveryStatusRepository.findByStatusName("CONFIRMED")
+        DeliveryStatus confirmedStatus = referenceDataRegistry.findDeliveryStatus("CONFIRMED")
                 .orElseThrow(() -> new ValidationException("CONFIRMED status not found in system"));
 
         // Update status to CONFIRMED and set confirmedAt timestamp (Requirements 5.1, 5.4)
         delivery.setStatus(confirmedStatus);
-        delivery.setConfirmedAt(LocalDateTime.now());
-        delivery.setStatusUpdatedAt(LocalDateTime.now());
+        delivery.setConfirmedAt(LocalDateTime.now(clock));
+        delivery.setStatusUpdatedAt(LocalDateTime.now(clock));
 
         delivery = deliveryRepository.save(delivery);
+        eventPublisher.publishEvent(new DeliveryStatusChangedEvent(
+                deliveryId, "CONFIRMED", delivery.getStatusUpdatedAt()));
 
         // Get all subscription meals for this delivery date
         LocalDate deliveryDate = delivery.getSubscriptionMeal().getDeliveryDate();
@@ -360,6 +373,7 @@ public class DeliveryService {
      * 
      * Requirements: 9.1, 9.5
      */
+    @Transactional(readOnly = true)
     @SuppressWarnings("null")
     public Page<AdminDeliveryDto> getAllDeliveriesForAdmin(String status, LocalDate date, 
                                                            Integer userId, String userEmail,
@@ -426,6 +440,7 @@ public class DeliveryService {
      * 
      * Requirements: 9.2, 9.4
      */
+    @Transactional(readOnly = true)
     @SuppressWarnings("null")
     public AdminDeliveryDto getDeliveryByIdForAdmin(Integer deliveryId) {
         Delivery delivery = deliveryRepository.findById(deliveryId)
@@ -447,21 +462,23 @@ public class DeliveryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Delivery not found"));
 
         // Validate status
-        DeliveryStatus newStatus = deliveryStatusRepository.findByStatusName(newStatusName)
+        DeliveryStatus newStatus = referenceDataRegistry.findDeliveryStatus(newStatusName)
                 .orElseThrow(() -> new ValidationException("Invalid status: " + newStatusName));
 
         String oldStatus = delivery.getStatus().getStatusName();
 
         // Update status
         delivery.setStatus(newStatus);
-        delivery.setStatusUpdatedAt(LocalDateTime.now());
+        delivery.setStatusUpdatedAt(LocalDateTime.now(clock));
 
         // If status is CONFIRMED, set confirmedAt
         if ("CONFIRMED".equals(newStatusName) && delivery.getConfirmedAt() == null) {
-            delivery.setConfirmedAt(LocalDateTime.now());
+            delivery.setConfirmedAt(LocalDateTime.now(clock));
         }
 
         delivery = deliveryRepository.save(delivery);
+        eventPublisher.publishEvent(new DeliveryStatusChangedEvent(
+                deliveryId, newStatus.getStatusName(), delivery.getStatusUpdatedAt()));
 
         // Record admin action in history
         User deliveryOwner = delivery.getSubscriptionMeal().getSubscription().getUser();
@@ -472,7 +489,7 @@ public class DeliveryService {
                 "Admin manually updated delivery #%d status from %s to %s",
                 deliveryId, oldStatus, newStatusName
         ));
-        historyRecord.setEventTime(LocalDateTime.now());
+        historyRecord.setEventTime(LocalDateTime.now(clock));
         historyRepository.save(historyRecord);
 
         return mapToAdminDtoWithHistory(delivery);
@@ -0,0 +1,10 @@
+package com.mealplanner.api.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a delivery moves to a new status, by the scheduler, the customer or an admin.
+ * Listeners that act on it should wait for the surrounding transaction to commit.
+ */
+public record DeliveryStatusChangedEvent(Integer deliveryId, String statusName, LocalDateTime changedAt) {
+}
@@ -0,0 +1,303 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.jfr.EmailBatchSendEvent;
+import com.mealplanner.api.model.EmailOutboxMessage;
+import com.mealplanner.api.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends queued emails from the email_outbox table.
+ *
+ * Each poll claims up to {@code workers x batch-size} due messages and splits them across a small worker pool.
+ * Every worker sends its batch over a single SMTP connection. The poll only claims and hands out the work; it
+ * does not wait for the sends, and skips while the previous round is still in flight, so a slow SMTP server
+ * does not hold up the other scheduled jobs. Failed messages are retried with exponential
+ * backoff (plus jitter) until {@code max-attempts}, then marked FAILED. Sent rows are purged after the
+ * retention period.
+ *
+ * Each batch send is timed as {@code email.send} (one SMTP connection, tagged by outcome) and every message
+ * is counted in {@code email.outbox.messages} as sent, retry or failed. Batches are also recorded as JFR
+ * {@link EmailBatchSendEvent}s.
+ */
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workerPool;
+    private final int workers;
+    private final AtomicInteger batchesInFlight = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    @Value("${spring.mail.username:noreply@mealplanner.com}")
+    private String fromEmail = "noreply@mealplanner.com";
+
+    // Nothing is queued while email is disabled, so there is nothing to poll for
+    @Value("${email.enabled:false}")
+    private boolean emailEnabled;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize = 50;
+
+    @Value("${email.outbox.max-attempts:8}")
+    private int maxAttempts = 8;
+
+    @Value("${email.outbox.backoff-initial-ms:30000}")
+    private long backoffInitialMillis = 30_000;
+
+    @Value("${email.outbox.backoff-max-ms:3600000}")
+    private long backoffMaxMillis = 3_600_000;
+
+    // A claim older than this is assumed abandoned (e.g. the instance died mid-send) and the rows are retried
+    @Value("${email.outbox.claim-seconds:300}")
+    private long claimSeconds = 300;
+
+    @Value("${email.outbox.retention-days:7}")
+    private long retentionDays = 7;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository, JavaMailSender mailSender,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${email.outbox.workers:2}") int workers, MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = Math.max(1, workers);
+        this.meterRegistry = meterRegistry;
+        this.sentCounter = messageCounter("sent");
+        this.retryCounter = messageCounter("retry");
+        this.failedCounter = messageCounter("failed");
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workerPool = Executors.newFixedThreadPool(this.workers, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void scheduledDispatch() {
+        if (emailEnabled) {
+            dispatch();
+        }
+    }
+
+    /**
+     * Claims one round of due messages and hands the batches to the workers without waiting for them.
+     * Does nothing while batches of the previous round are still being sent.
+     *
+     * @return number of messages handed to the workers
+     */
+    public int dispatch() {
+        if (batchesInFlight.get() > 0) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> dueIds = emailOutboxRepository.findDueIds(now, PageRequest.of(0, workers * Math.max(1, batchSize)));
+        if (dueIds.isEmpty()) {
+            return 0;
+        }
+
+        String claimToken = UUID.randomUUID().toString();
+        transactionTemplate.executeWithoutResult(status ->
+                emailOutboxRepository.claim(dueIds, claimToken, now.plusSeconds(claimSeconds), now));
+        List<EmailOutboxMessage> claimed = emailOutboxRepository.findByClaimTokenOrderByIdAsc(claimToken);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        int perWorker = (claimed.size() + workers - 1) / workers;
+        for (int from = 0; from < claimed.size(); from += perWorker) {
+            List<EmailOutboxMessage> batch = claimed.subList(from, Math.min(from + perWorker, claimed.size()));
+            batchesInFlight.incrementAndGet();
+            workerPool.execute(() -> {
+                try {
+                    sendBatch(batch, claimToken);
+                } catch (RuntimeException e) {
+                    // The batch stays claimed and is retried once the claim lapses
+                    logger.error("Email outbox batch failed", e);
+                } finally {
+                    batchesInFlight.decrementAndGet();
+                }
+            });
+        }
+        return claimed.size();
+    }
+
+    /**
+     * Whether every batch handed out so far has been sent and recorded.
+     */
+    public boolean isIdle() {
+        return batchesInFlight.get() == 0;
+    }
+
+    /**
+     * Deletes sent messages older than the retention period, in chunks. Runs daily.
+     */
+    @Scheduled(cron = "${email.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long purged = 0;
+        List<Long> ids;
+        do {
+            ids = emailOutboxRepository.findSentIdsBefore(cutoff, PageRequest.of(0, 500));
+            if (!ids.isEmpty()) {
+                List<Long> chunk = ids;
+                Integer deleted = transactionTemplate.execute(status -> emailOutboxRepository.deleteByIdIn(chunk));
+                purged += deleted != null ? deleted : 0;
+            }
+        } while (ids.size() == 500);
+        logger.info("Purged {} sent emails from the outbox", purged);
+    }
+
+    private void sendBatch(List<EmailOutboxMessage> batch, String claimToken) {
+        Map<SimpleMailMessage, EmailOutboxMessage> rowsByMessage = new IdentityHashMap<>();
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutboxMessage row = batch.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(row.getRecipient());
+            message.setSubject(row.getSubject());
+            message.setText(row.getBody());
+            messages[i] = message;
+            rowsByMessage.put(message, row);
+        }
+
+        Map<EmailOutboxMessage, Exception> failures = new IdentityHashMap<>();
+        EmailBatchSendEvent event = new EmailBatchSendEvent();
+        event.begin();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            // One connection for the whole batch
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            // Failed messages are keyed by the SimpleMailMessage instances passed in
+            for (Map.Entry<Object, Exception> failed : e.getFailedMessages().entrySet()) {
+                EmailOutboxMessage row = rowsByMessage.get(failed.getKey());
+                if (row != null) {
+                    failures.put(row, failed.getValue());
+                }
+            }
+            if (failures.isEmpty()) {
+                batch.forEach(row -> failures.put(row, e));
+            }
+        } catch (MailException e) {
+            batch.forEach(row -> failures.put(row, e));
+        }
+        String outcome = failures.isEmpty() ? "success" : failures.size() < batch.size() ? "partial" : "failure";
+        sample.stop(Timer.builder("email.send")
+                .description("Time to send one batch of outbox emails over one SMTP connection")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        event.messages = batch.size();
+        event.failed = failures.size();
+        event.commit();
+
+        record(batch, failures, claimToken);
+    }
+
+    /**
+     * Writes the outcome of a batch back to the outbox. Every update is guarded by the claim token, so rows
+     * whose claim lapsed and were re-claimed by another dispatcher are not overwritten.
+     */
+    private void record(List<EmailOutboxMessage> batch, Map<EmailOutboxMessage, Exception> failures,
+                        String claimToken) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        List<EmailOutboxMessage> failed = new ArrayList<>(failures.size());
+        for (EmailOutboxMessage row : batch) {
+            Exception error = failures.get(row);
+            if (error == null) {
+                sentIds.add(row.getId());
+            } else {
+                row.recordFailure(error.getMessage(), now.plusNanos(backoffMillis(row.getAttempts() + 1) * 1_000_000),
+                        maxAttempts);
+                failed.add(row);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                int marked = emailOutboxRepository.markSent(sentIds, claimToken, now);
+                sentCounter.increment(marked);
+                if (marked < sentIds.size()) {
+                    logger.warn("{} of {} sent emails had lost their claim before being marked sent",
+                            sentIds.size() - marked, sentIds.size());
+                }
+            }
+            for (EmailOutboxMessage row : failed) {
+                int marked = emailOutboxRepository.markFailed(row.getId(), claimToken, row.getStatus(),
+                        row.getAttempts(), row.getLastError(), row.getNextAttemptAt());
+                if (marked == 0) {
+                    logger.warn("Email {} lost its claim before its failure was recorded", row.getId());
+                } else if (EmailOutboxMessage.STATUS_FAILED.equals(row.getStatus())) {
+                    failedCounter.increment();
+                    logger.error("Giving up on email {} to {} after {} attempts: {}",
+                            row.getId(), row.getRecipient(), row.getAttempts(), row.getLastError());
+                } else {
+                    retryCounter.increment();
+                    logger.warn("Email {} to {} failed (attempt {}), retrying at {}: {}",
+                            row.getId(), row.getRecipient(), row.getAttempts(), row.getNextAttemptAt(), row.getLastError());
+                }
+            }
+        });
+    }
+
+    private Counter messageCounter(String result) {
+        return Counter.builder("email.outbox.messages")
+                .description("Outbox messages by send result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delay before the given attempt: initial x 2^(attempt - 1), capped, plus up to 20% jitter
+     * so messages that failed together do not retry together.
+     */
+    long backoffMillis(int attempt) {
+        long delay = backoffInitialMillis;
+        for (int i = 1; i < attempt && delay < backoffMaxMillis; i++) {
+            delay *= 2;
+        }
+        delay = Math.min(delay, backoffMaxMillis);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workerPool.shutdown();
+    }
+}
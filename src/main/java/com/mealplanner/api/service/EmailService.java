@@ -1,47 +1,52 @@
 package com.mealplanner.api.service;
 
+import com.mealplanner.api.jfr.EmailEvent;
+import com.mealplanner.api.model.EmailOutboxMessage;
+import com.mealplanner.api.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+/**
+ * Renders account emails and queues them in the email outbox.
+ *
+ * Nothing here talks to the mail server: the row joins the caller's transaction (if any) and
+ * {@link EmailOutboxDispatcher} sends it in the background. With email disabled, the message is
+ * logged instead. Every email is recorded as a JFR {@link EmailEvent}.
+ */
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
+
+    private final EmailOutboxRepository emailOutboxRepository;
 
     @Value("${app.url:http://localhost:3000}")
     private String appUrl;
 
-    @Value("${spring.mail.username:noreply@mealplanner.com}")
-    private String fromEmail;
-    
     @Value("${email.enabled:false}")
     private boolean emailEnabled;
 
     @Autowired
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(EmailOutboxRepository emailOutboxRepository) {
+        this.emailOutboxRepository = emailOutboxRepository;
     }
 
     public void sendPasswordResetEmail(String toEmail, String resetToken) {
+        EmailEvent event = EmailEvent.start("passwordReset");
         String resetLink = appUrl + "/reset-password?token=" + resetToken;
         
         if (!emailEnabled) {
-            System.out.println("==============================================");
-            System.out.println("📧 PASSWORD RESET EMAIL (Email Disabled)");
-            System.out.println("To: " + toEmail);
-            System.out.println("Reset Link: " + resetLink);
-            System.out.println("==============================================");
+            logger.debug("Email disabled; password reset link for {}: {}", toEmail, resetLink);
+            event.end(false);
             return;
         }
         
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Password Reset Request - Meal Planner");
-        message.setText(
+        queue(toEmail, "Password Reset Request - Meal Planner",
             "Hello,\n\n" +
             "You requested to reset your password for your Meal Planner account.\n\n" +
             "Click the link below to reset your password:\n" +
@@ -51,38 +56,20 @@ public class EmailService {
             "Best regards,\n" +
             "Meal Planner Team"
         );
-
-        try {
-            mailSender.send(message);
-            System.out.println("✅ Password reset email sent to: " + toEmail);
-        } catch (Exception e) {
-            System.err.println("❌ Failed to send password reset email: " + e.getMessage());
-            // Log to console as fallback
-            System.out.println("==============================================");
-            System.out.println("PASSWORD RESET EMAIL (Fallback)");
-            System.out.println("To: " + toEmail);
-            System.out.println("Reset Link: " + resetLink);
-            System.out.println("==============================================");
-        }
+        event.end(true);
     }
 
     public void sendEmailVerification(String toEmail, String verificationToken) {
+        EmailEvent event = EmailEvent.start("verification");
         String verificationLink = appUrl + "/verify-email?token=" + verificationToken;
         
         if (!emailEnabled) {
-            System.out.println("==============================================");
-            System.out.println("📧 EMAIL VERIFICATION (Email Disabled)");
-            System.out.println("To: " + toEmail);
-            System.out.println("Verification Link: " + verificationLink);
-            System.out.println("==============================================");
+            logger.debug("Email disabled; verification link for {}: {}", toEmail, verificationLink);
+            event.end(false);
             return;
         }
         
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Verify Your Email - Meal Planner");
-        message.setText(
+        queue(toEmail, "Verify Your Email - Meal Planner",
             "Hello,\n\n" +
             "Thank you for registering with Meal Planner!\n\n" +
             "Please verify your email address by clicking the link below:\n" +
@@ -91,32 +78,18 @@ public class EmailService {
             "Best regards,\n" +
             "Meal Planner Team"
         );
-
-        try {
-            mailSender.send(message);
-            System.out.println("✅ Verification email sent to: " + toEmail);
-        } catch (Exception e) {
-            System.err.println("❌ Failed to send verification email: " + e.getMessage());
-            // Log to console as fallback
-            System.out.println("==============================================");
-            System.out.println("EMAIL VERIFICATION (Fallback)");
-            System.out.println("To: " + toEmail);
-            System.out.println("Verification Link: " + verificationLink);
-            System.out.println("==============================================");
-        }
+        event.end(true);
     }
 
     public void sendWelcomeEmail(String toEmail, String fullName) {
+        EmailEvent event = EmailEvent.start("welcome");
         if (!emailEnabled) {
-            System.out.println("📧 Welcome email (Email Disabled) - To: " + toEmail);
+            logger.debug("Email disabled; not sending welcome email to {}", toEmail);
+            event.end(false);
             return;
         }
         
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Welcome to Meal Planner!");
-        message.setText(
+        queue(toEmail, "Welcome to Meal Planner!",
             "Hello " + fullName + ",\n\n" +
             "Welcome to Meal Planner! 🎉\n\n" +
             "We're excited to have you on board. Start planning your meals and achieving your fitness goals today!\n\n" +
@@ -124,12 +97,35 @@ public class EmailService {
             "Best regards,\n" +
             "Meal Planner Team"
         );
+        event.end(true);
+    }
 
-        try {
-            mailSender.send(message);
-            System.out.println("✅ Welcome email sent to: " + toEmail);
-        } catch (Exception e) {
-            System.err.println("❌ Failed to send welcome email: " + e.getMessage());
+    /**
+     * Queues one digest listing the user's delivery updates for the period, one line per delivery.
+     */
+    public void sendDeliveryDigest(String toEmail, String fullName, List<String> deliveryLines) {
+        EmailEvent event = EmailEvent.start("deliveryDigest");
+        if (!emailEnabled) {
+            logger.debug("Email disabled; not sending delivery digest with {} update(s) to {}", deliveryLines.size(), toEmail);
+            event.end(false);
+            return;
+        }
+
+        StringBuilder text = new StringBuilder()
+            .append("Hello ").append(fullName).append(",\n\n")
+            .append("Here are the latest updates on your deliveries:\n\n");
+        for (String line : deliveryLines) {
+            text.append("  - ").append(line).append('\n');
         }
+        text.append("\nYou can follow your deliveries in the app at any time: ").append(appUrl).append("\n\n")
+            .append("Best regards,\n")
+            .append("Meal Planner Team");
+
+        queue(toEmail, "Your delivery updates - Meal Planner", text.toString());
+        event.end(true);
+    }
+
+    private void queue(String toEmail, String subject, String text) {
+        emailOutboxRepository.save(new EmailOutboxMessage(toEmail, subject, text));
     }
 }
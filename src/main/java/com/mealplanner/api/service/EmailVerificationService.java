@@ -17,13 +17,19 @@ public class EmailVerificationService {
 
     private final EmailVerificationTokenRepository tokenRepository;
     private final UserService userService;
+    private final EmailService emailService;
 
     @Autowired
-    public EmailVerificationService(EmailVerificationTokenRepository tokenRepository, UserService userService) {
+    public EmailVerificationService(EmailVerificationTokenRepository tokenRepository, UserService userService,
+                                    EmailService emailService) {
         this.tokenRepository = tokenRepository;
         this.userService = userService;
+        this.emailService = emailService;
     }
 
+    /**
+     * Replaces the user's verification token and queues the verification email in the same transaction.
+     */
     @Transactional
     public String createEmailVerificationToken(User user) {
         // Delete any existing tokens for this user
@@ -35,6 +41,7 @@ public class EmailVerificationService {
         
         EmailVerificationToken verificationToken = new EmailVerificationToken(token, user, expiryDate);
         tokenRepository.save(verificationToken);
+        emailService.sendEmailVerification(user.getEmail(), token);
         
         return token;
     }
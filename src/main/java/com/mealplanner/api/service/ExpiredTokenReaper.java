@@ -0,0 +1,234 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.dto.TokenPurgeStatsDto;
+import com.mealplanner.api.repository.BlacklistedTokenRepository;
+import com.mealplanner.api.repository.EmailVerificationTokenRepository;
+import com.mealplanner.api.repository.PasswordResetTokenRepository;
+import com.mealplanner.api.repository.RefreshTokenRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToIntFunction;
+
+/**
+ * Deletes expired rows from the token tables (blacklisted, refresh, email verification and
+ * password reset tokens).
+ *
+ * Rows are removed in small chunks: the next chunk of expired IDs is read in ID order (keyset, so each
+ * read starts where the last one stopped), deleted by primary key in its own short transaction, and the
+ * reaper pauses before the next chunk. This keeps locks short and replicas caught up, unlike a single
+ * DELETE over the whole table. Per-table figures are kept for the admin endpoint and logged each run.
+ *
+ * Scheduled and admin-triggered runs go to the reaper's own thread, so the pauses between chunks hold up
+ * neither the shared scheduler (delivery progression, outbox polling, replica heartbeat) nor a request thread.
+ */
+@Service
+public class ExpiredTokenReaper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredTokenReaper.class);
+
+    private final List<Target> targets;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-reaper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${security.token-reaper.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${security.token-reaper.pause-ms:100}")
+    private long pauseMillis = 100;
+
+    // Bounds one run; anything left over is picked up by the next run
+    @Value("${security.token-reaper.max-chunks-per-table:1000}")
+    private int maxChunksPerTable = 1000;
+
+    public ExpiredTokenReaper(BlacklistedTokenRepository blacklistedTokenRepository,
+                              RefreshTokenRepository refreshTokenRepository,
+                              EmailVerificationTokenRepository emailVerificationTokenRepository,
+                              PasswordResetTokenRepository passwordResetTokenRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.targets = List.of(
+                new Target("blacklisted_tokens", blacklistedTokenRepository::findExpiredIds,
+                        blacklistedTokenRepository::deleteByIdIn),
+                new Target("refresh_tokens", refreshTokenRepository::findExpiredIds,
+                        refreshTokenRepository::deleteByIdIn),
+                new Target("email_verification_tokens", emailVerificationTokenRepository::findExpiredIds,
+                        emailVerificationTokenRepository::deleteByIdIn),
+                new Target("password_reset_tokens", passwordResetTokenRepository::findExpiredIds,
+                        passwordResetTokenRepository::deleteByIdIn));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${security.token-reaper.cron:0 45 * * * *}")
+    public void scheduledReap() {
+        start();
+    }
+
+    /**
+     * Starts a purge of every token table on the reaper's thread and returns at once.
+     *
+     * @return false if a run is already in progress
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Expired token reaper already running, skipping");
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                reapAll();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Purges every token table once on the calling thread and returns the per-table figures.
+     * If a run is already in progress, returns the current figures without starting another.
+     */
+    public List<TokenPurgeStatsDto> reap() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Expired token reaper already running, skipping");
+            return getStats();
+        }
+        try {
+            reapAll();
+        } finally {
+            running.set(false);
+        }
+        return getStats();
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public List<TokenPurgeStatsDto> getStats() {
+        List<TokenPurgeStatsDto> stats = new ArrayList<>(targets.size());
+        for (Target target : targets) {
+            stats.add(target.toDto());
+        }
+        return stats;
+    }
+
+    private void reapAll() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        for (Target target : targets) {
+            if (!reapTable(target, cutoff)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return false if the thread was interrupted and the run should stop
+     */
+    private boolean reapTable(Target target, LocalDateTime cutoff) {
+        long startedAt = System.nanoTime();
+        Pageable chunk = PageRequest.of(0, Math.max(1, chunkSize));
+        Integer afterId = 0;
+        long purged = 0;
+        int chunks = 0;
+        boolean interrupted = false;
+
+        while (chunks < maxChunksPerTable) {
+            List<Integer> ids = target.finder.find(afterId, cutoff, chunk);
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer deleted = transactionTemplate.execute(status -> target.deleter.applyAsInt(ids));
+            purged += deleted != null ? deleted : 0;
+            chunks++;
+            afterId = ids.get(ids.size() - 1);
+
+            if (ids.size() < chunk.getPageSize()) {
+                break;
+            }
+            if (!pause()) {
+                interrupted = true;
+                break;
+            }
+        }
+
+        long durationMs = (System.nanoTime() - startedAt) / 1_000_000;
+        target.record(purged, chunks, durationMs);
+        logger.info("Purged {} expired rows from {} in {} chunks ({} ms)", purged, target.table, chunks, durationMs);
+        return !interrupted;
+    }
+
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupts the pause between chunks, which ends the run after the current chunk
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    interface ExpiredIdFinder {
+        List<Integer> find(Integer afterId, LocalDateTime cutoff, Pageable pageable);
+    }
+
+    private static final class Target {
+        private final String table;
+        private final ExpiredIdFinder finder;
+        private final ToIntFunction<List<Integer>> deleter;
+
+        // Written only by the (single) running reap; read by the admin endpoint
+        private volatile long totalPurged;
+        private volatile long lastRunPurged;
+        private volatile int lastRunChunks;
+        private volatile long lastRunDurationMs;
+        private volatile LocalDateTime lastRunAt;
+
+        private Target(String table, ExpiredIdFinder finder, ToIntFunction<List<Integer>> deleter) {
+            this.table = table;
+            this.finder = finder;
+            this.deleter = deleter;
+        }
+
+        private void record(long purged, int chunks, long durationMs) {
+            totalPurged += purged;
+            lastRunPurged = purged;
+            lastRunChunks = chunks;
+            lastRunDurationMs = durationMs;
+            lastRunAt = LocalDateTime.now();
+        }
+
+        private TokenPurgeStatsDto toDto() {
+            return new TokenPurgeStatsDto(table, totalPurged, lastRunPurged, lastRunChunks,
+                    lastRunDurationMs, lastRunAt);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.mealplanner.api.service;
 import com.mealplanner.api.dto.*;
 import com.mealplanner.api.exception.ResourceNotFoundException;
 import com.mealplanner.api.exception.ValidationException;
+import com.mealplanner.api.jfr.MealQueryEvent;
 import com.mealplanner.api.model.*;
 import com.mealplanner.api.repository.*;
 import org.springframework.data.domain.Page;
@@ -22,23 +23,24 @@ public class MealService {
     private final MealRepository mealRepository;
     private final NutritionRepository nutritionRepository;
     private final NutritionFactRepository nutritionFactRepository;
-    private final AllergyRepository allergyRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final MealAllergyRepository mealAllergyRepository;
 
     public MealService(MealRepository mealRepository,
                       NutritionRepository nutritionRepository,
                       NutritionFactRepository nutritionFactRepository,
-                      AllergyRepository allergyRepository,
+                      ReferenceDataRegistry referenceDataRegistry,
                       MealAllergyRepository mealAllergyRepository) {
         this.mealRepository = mealRepository;
         this.nutritionRepository = nutritionRepository;
         this.nutritionFactRepository = nutritionFactRepository;
-        this.allergyRepository = allergyRepository;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.mealAllergyRepository = mealAllergyRepository;
     }
 
     /**
-     * Get meals with pagination, name search, rating filter, and allergen exclusion
+     * Get meals with pagination, name search, rating filter, and allergen exclusion.
+     * The query and the mapping are recorded as JFR {@link MealQueryEvent}s.
      */
     @Transactional(readOnly = true)
     @SuppressWarnings("null")
@@ -46,15 +48,24 @@ public class MealService {
         Page<Meal> meals;
 
         // Apply filters based on provided criteria
+        MealQueryEvent selectEvent = MealQueryEvent.start(MealQueryEvent.SELECT);
         if (excludeAllergens != null && !excludeAllergens.isEmpty()) {
+            selectEvent.filter = "excludeAllergens";
             meals = mealRepository.findMealsExcludingAllergens(excludeAllergens, pageable);
         } else if (search != null && !search.trim().isEmpty()) {
+            selectEvent.filter = "search";
             meals = mealRepository.findByMealNameContainingIgnoreCase(search, pageable);
         } else if (minRating != null) {
+            selectEvent.filter = "minRating";
             meals = mealRepository.findByRatingGreaterThanEqual(minRating, pageable);
         } else {
+            selectEvent.filter = "all";
             meals = mealRepository.findAll(pageable);
         }
+        selectEvent.end(meals.getNumberOfElements());
+
+        MealQueryEvent mapEvent = MealQueryEvent.start(MealQueryEvent.MAP);
+        mapEvent.filter = selectEvent.filter;
 
         // Apply additional filters if needed (when multiple filters are provided)
         List<Meal> filteredMeals = meals.getContent();
@@ -74,6 +85,7 @@ public class MealService {
         List<MealResponseDto> dtos = filteredMeals.stream()
                 .map(this::mapToMealResponseDto)
                 .collect(Collectors.toList());
+        mapEvent.end(dtos.size());
 
         return new PageImpl<>(dtos, pageable, meals.getTotalElements());
     }
@@ -130,7 +142,7 @@ public class MealService {
         // Add allergen associations if provided
         if (dto.getAllergenIds() != null && !dto.getAllergenIds().isEmpty()) {
             for (Integer allergenId : dto.getAllergenIds()) {
-                Allergy allergy = allergyRepository.findById(allergenId)
+                Allergy allergy = referenceDataRegistry.findAllergy(allergenId)
                         .orElseThrow(() -> new ValidationException("Allergen not found with id: " + allergenId));
                 
                 MealAllergy mealAllergy = new MealAllergy(meal, allergy);
@@ -175,7 +187,7 @@ public class MealService {
 
             // Add new allergen associations
             for (Integer allergenId : dto.getAllergenIds()) {
-                Allergy allergy = allergyRepository.findById(allergenId)
+                Allergy allergy = referenceDataRegistry.findAllergy(allergenId)
                         .orElseThrow(() -> new ValidationException("Allergen not found with id: " + allergenId));
                 
                 MealAllergy mealAllergy = new MealAllergy(meal, allergy);
@@ -17,13 +17,19 @@ public class PasswordResetService {
 
     private final PasswordResetTokenRepository tokenRepository;
     private final UserService userService;
+    private final EmailService emailService;
 
     @Autowired
-    public PasswordResetService(PasswordResetTokenRepository tokenRepository, UserService userService) {
+    public PasswordResetService(PasswordResetTokenRepository tokenRepository, UserService userService,
+                                EmailService emailService) {
         this.tokenRepository = tokenRepository;
         this.userService = userService;
+        this.emailService = emailService;
     }
 
+    /**
+     * Replaces the user's reset token and queues the reset email in the same transaction.
+     */
     @Transactional
     public String createPasswordResetToken(String email) {
         User user = userService.findUserByEmail(email);
@@ -37,6 +43,7 @@ public class PasswordResetService {
         
         PasswordResetToken resetToken = new PasswordResetToken(token, user, expiryDate);
         tokenRepository.save(resetToken);
+        emailService.sendPasswordResetEmail(user.getEmail(), token);
         
         return token;
     }
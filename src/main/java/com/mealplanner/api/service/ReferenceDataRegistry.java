@@ -0,0 +1,192 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.model.*;
+import com.mealplanner.api.repository.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Process-wide, read-only copy of the small lookup tables: delivery statuses, subscription statuses,
+ * roles, plan categories and allergies.
+ *
+ * These rows are seeded once and never edited through the API, so they are loaded when the application
+ * is ready and served from an immutable snapshot afterwards instead of querying on every write path.
+ * Call {@link #refresh()} (or POST /api/admin/reference-data/refresh) after changing them in the database.
+ *
+ * The cached entities are detached; they are only meant to be read or assigned to associations.
+ */
+@Service
+public class ReferenceDataRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataRegistry.class);
+
+    private final DeliveryStatusRepository deliveryStatusRepository;
+    private final SubscriptionStatusRepository subscriptionStatusRepository;
+    private final RoleRepository roleRepository;
+    private final PlanCategoryRepository planCategoryRepository;
+    private final AllergyRepository allergyRepository;
+
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataRegistry(DeliveryStatusRepository deliveryStatusRepository,
+                                 SubscriptionStatusRepository subscriptionStatusRepository,
+                                 RoleRepository roleRepository,
+                                 PlanCategoryRepository planCategoryRepository,
+                                 AllergyRepository allergyRepository) {
+        this.deliveryStatusRepository = deliveryStatusRepository;
+        this.subscriptionStatusRepository = subscriptionStatusRepository;
+        this.roleRepository = roleRepository;
+        this.planCategoryRepository = planCategoryRepository;
+        this.allergyRepository = allergyRepository;
+    }
+
+    /**
+     * Loads the snapshot once startup runners (e.g. the delivery status initializer) have finished.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Reloads every lookup table and atomically swaps in the new snapshot.
+     * Readers keep using the previous snapshot until the swap.
+     */
+    public synchronized Map<String, Integer> refresh() {
+        Snapshot loaded = new Snapshot(
+                indexByName(deliveryStatusRepository.findAll(), DeliveryStatus::getStatusName),
+                indexByName(subscriptionStatusRepository.findAll(), SubscriptionStatus::getStatusName),
+                indexByName(roleRepository.findAll(), Role::getRoleName),
+                planCategoryRepository.findAll().stream()
+                        .sorted(Comparator.comparing(PlanCategory::getCategoryId))
+                        .collect(Collectors.toUnmodifiableList()),
+                indexBy(allergyRepository.findAll(), Allergy::getAllergyId)
+        );
+        snapshot = loaded;
+
+        Map<String, Integer> counts = loaded.counts();
+        logger.info("Reference data loaded: {}", counts);
+        return counts;
+    }
+
+    public Optional<DeliveryStatus> findDeliveryStatus(String statusName) {
+        if (statusName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current().deliveryStatuses.get(statusName));
+    }
+
+    public Optional<SubscriptionStatus> findSubscriptionStatus(String statusName) {
+        if (statusName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current().subscriptionStatuses.get(statusName));
+    }
+
+    public Optional<Role> findRole(String roleName) {
+        if (roleName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current().roles.get(roleName));
+    }
+
+    /**
+     * Returns all plan categories ordered by ID.
+     */
+    public List<PlanCategory> getPlanCategories() {
+        return current().planCategories;
+    }
+
+    public Optional<PlanCategory> findPlanCategory(Integer categoryId) {
+        if (categoryId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current().planCategoriesById.get(categoryId));
+    }
+
+    public Optional<Allergy> findAllergy(Integer allergyId) {
+        if (allergyId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current().allergies.get(allergyId));
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Used before the application was ready (e.g. from a startup runner)
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Name lookups ignore case, matching the database collation the repository queries relied on.
+     */
+    private static <V> Map<String, V> indexByName(List<V> rows, Function<V, String> name) {
+        Map<String, V> index = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (V row : rows) {
+            String key = name.apply(row);
+            if (key != null) {
+                index.putIfAbsent(key, row);
+            }
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    private static <K, V> Map<K, V> indexBy(List<V> rows, Function<V, K> key) {
+        return rows.stream()
+                .filter(row -> key.apply(row) != null)
+                .collect(Collectors.toUnmodifiableMap(key, Function.identity(), (first, second) -> first));
+    }
+
+    private static final class Snapshot {
+        private final Map<String, DeliveryStatus> deliveryStatuses;
+        private final Map<String, SubscriptionStatus> subscriptionStatuses;
+        private final Map<String, Role> roles;
+        private final List<PlanCategory> planCategories;
+        private final Map<Integer, PlanCategory> planCategoriesById;
+        private final Map<Integer, Allergy> allergies;
+
+        private Snapshot(Map<String, DeliveryStatus> deliveryStatuses,
+                         Map<String, SubscriptionStatus> subscriptionStatuses,
+                         Map<String, Role> roles,
+                         List<PlanCategory> planCategories,
+                         Map<Integer, Allergy> allergies) {
+            this.deliveryStatuses = deliveryStatuses;
+            this.subscriptionStatuses = subscriptionStatuses;
+            this.roles = roles;
+            this.planCategories = planCategories;
+            this.planCategoriesById = indexBy(planCategories, PlanCategory::getCategoryId);
+            this.allergies = allergies;
+        }
+
+        private Map<String, Integer> counts() {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            counts.put("deliveryStatuses", deliveryStatuses.size());
+            counts.put("subscriptionStatuses", subscriptionStatuses.size());
+            counts.put("roles", roles.size());
+            counts.put("planCategories", planCategories.size());
+            counts.put("allergies", allergies.size());
+            return counts;
+        }
+    }
+}
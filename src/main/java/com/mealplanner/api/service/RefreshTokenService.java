@@ -3,6 +3,9 @@ package com.mealplanner.api.service;
 import com.mealplanner.api.model.RefreshToken;
 import com.mealplanner.api.model.User;
 import com.mealplanner.api.repository.RefreshTokenRepository;
+import com.mealplanner.api.security.UserDetailsCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -10,35 +13,111 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
+/**
+ * Refresh tokens with rotation on every use.
+ *
+ * A login starts a token family (one refresh_tokens row) that expires a fixed time after the login; rotation
+ * does not extend it. Each refresh replaces the family's token with a new one, and only SHA-256 hashes are
+ * stored. Presenting a token that was already rotated away means it was leaked or replayed, so the whole
+ * family is revoked.
+ *
+ * The exception is a short grace period after the rotation, for a client that retries a refresh whose
+ * response it never received, or sends two refreshes at once. The new token is an HMAC of the one it
+ * replaces, so any instance can answer such a retry with the same new token without storing it.
+ *
+ * Tokens issued or rotated recently are kept in a small LRU, so the common refresh is a single
+ * conditional UPDATE instead of a lookup followed by an update.
+ */
 @Service
 public class RefreshTokenService {
 
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
     @Value("${jwt.refresh.expiration:604800000}") // 7 days in milliseconds
     private Long refreshExpiration;
 
     private final RefreshTokenRepository refreshTokenRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final long reuseGraceSeconds;
+    private final SecretKeySpec rotationKey;
+
+    // Token hash -> family it currently belongs to, LRU-bounded. Guarded by its own monitor.
+    private final Map<String, Family> recentTokens;
 
     @Autowired
-    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository) {
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserDetailsCache userDetailsCache,
+                               @Value("${jwt.refresh.cache-size:10000}") int cacheSize,
+                               @Value("${jwt.refresh.reuse-grace-seconds:10}") long reuseGraceSeconds,
+                               @Value("${jwt.refresh.rotation-key:${jwt.secret}}") String rotationKey) {
         this.refreshTokenRepository = refreshTokenRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.reuseGraceSeconds = reuseGraceSeconds;
+        this.rotationKey = new SecretKeySpec(rotationKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+
+        final int maxEntries = Math.max(0, cacheSize);
+        this.recentTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Family> eldest) {
+                return size() > maxEntries;
+            }
+        };
     }
 
+    /**
+     * Starts a new token family for the user and returns its first refresh token.
+     */
     public String createRefreshToken(User user) {
         String token = UUID.randomUUID().toString();
         LocalDateTime expiryDate = LocalDateTime.now().plusSeconds(refreshExpiration / 1000);
-        
-        RefreshToken refreshToken = new RefreshToken(token, user, expiryDate);
-        refreshTokenRepository.save(refreshToken);
-        
+
+        RefreshToken refreshToken = refreshTokenRepository.save(new RefreshToken(hash(token), user, expiryDate));
+        remember(hash(token), Family.of(refreshToken.getId(), user, expiryDate));
+
         return token;
     }
 
-    public RefreshToken validateRefreshToken(String token) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token."));
+    /**
+     * Exchanges a refresh token for a new one in the same family. A token rotated away within the grace
+     * period gets the same new token as the first exchange.
+     *
+     * @throws ResponseStatusException 401 if the token is unknown, revoked, expired or was already used
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public RotatedRefreshToken rotateRefreshToken(String token) {
+        if (token == null || token.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token.");
+        }
+
+        String currentHash = hash(token);
+        String newToken = successor(token);
+        String newHash = hash(newToken);
+        LocalDateTime now = LocalDateTime.now();
+
+        Family cached = forget(currentHash);
+        if (cached != null && isUsable(cached, now)
+                && refreshTokenRepository.rotate(cached.id(), currentHash, newHash, now) == 1) {
+            remember(newHash, cached);
+            return cached.toResult(newToken);
+        }
+
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(currentHash).orElse(null);
+        if (refreshToken == null) {
+            return resolveReuse(newToken, currentHash, now);
+        }
 
         if (refreshToken.isRevoked()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token has been revoked.");
@@ -48,20 +127,133 @@ public class RefreshTokenService {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token has expired.");
         }
 
-        return refreshToken;
+        if (refreshTokenRepository.rotate(refreshToken.getId(), currentHash, newHash, now) != 1) {
+            // Rotated by a concurrent request between the lookup and the update
+            return resolveReuse(newToken, currentHash, now);
+        }
+
+        Family rotated = Family.of(refreshToken.getId(), refreshToken.getUser(), refreshToken.getExpiryDate());
+        remember(newHash, rotated);
+        return rotated.toResult(newToken);
     }
 
     @Transactional
     public void revokeRefreshToken(String token) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hash(token))
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Refresh token not found."));
-        
-        refreshToken.setRevoked(true);
-        refreshTokenRepository.save(refreshToken);
+
+        refreshTokenRepository.revokeFamily(refreshToken.getId());
+        forgetFamily(refreshToken.getId());
     }
 
     @Transactional
     public void revokeAllUserTokens(Integer userId) {
         refreshTokenRepository.deleteByUserId(userId);
+        synchronized (recentTokens) {
+            recentTokens.values().removeIf(family -> family.userId().equals(userId));
+        }
+    }
+
+    /**
+     * A cached family can be rotated without a lookup unless it has expired or the user's password
+     * or role changed since it was cached (the cached role would then be stale).
+     */
+    private boolean isUsable(Family family, LocalDateTime now) {
+        return now.isBefore(family.expiryDate())
+                && !userDetailsCache.isIssuedBeforeLastChange(family.userId(), new Date(family.cachedAt()));
+    }
+
+    /**
+     * Handles a token that is no longer the current one of its family. If it was rotated away moments ago,
+     * the family's current token is still its successor, which is returned again. Otherwise the token was
+     * leaked or replayed and the family is revoked.
+     */
+    private RotatedRefreshToken resolveReuse(String successor, String tokenHash, LocalDateTime now) {
+        RefreshToken family = refreshTokenRepository.findFirstByPreviousTokenHash(tokenHash).orElse(null);
+        if (family == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token.");
+        }
+        if (family.isRevoked()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token has been revoked.");
+        }
+
+        LocalDateTime rotatedAt = family.getRotatedAt();
+        if (rotatedAt != null && rotatedAt.plusSeconds(reuseGraceSeconds).isAfter(now)) {
+            if (!family.isExpired() && hash(successor).equals(family.getTokenHash())) {
+                Family current = Family.of(family.getId(), family.getUser(), family.getExpiryDate());
+                remember(family.getTokenHash(), current);
+                return current.toResult(successor);
+            }
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token has already been used.");
+        }
+
+        refreshTokenRepository.revokeFamily(family.getId());
+        forgetFamily(family.getId());
+        logger.warn("Reuse of a rotated refresh token detected; revoked token family {}", family.getId());
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token has been revoked.");
+    }
+
+    private void remember(String tokenHash, Family family) {
+        synchronized (recentTokens) {
+            recentTokens.put(tokenHash, family);
+        }
+    }
+
+    private Family forget(String tokenHash) {
+        synchronized (recentTokens) {
+            return recentTokens.remove(tokenHash);
+        }
+    }
+
+    private void forgetFamily(Integer familyId) {
+        synchronized (recentTokens) {
+            recentTokens.values().removeIf(family -> family.id().equals(familyId));
+        }
+    }
+
+    /**
+     * The token that replaces {@code token} on rotation: hex HMAC-SHA256 of it under the rotation key.
+     */
+    private String successor(String token) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(rotationKey);
+            return HexFormat.of().formatHex(mac.doFinal(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(HMAC_ALGORITHM + " not available", e);
+        }
+    }
+
+    /**
+     * Fixed-width (64 hex characters) key for a refresh token.
+     */
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Result of a successful rotation: the new refresh token and the user it was issued to.
+     */
+    public record RotatedRefreshToken(String refreshToken, Integer userId, String email,
+                                      String fullName, String roleName) {
+    }
+
+    private record Family(Integer id, Integer userId, String email, String fullName, String roleName,
+                          LocalDateTime expiryDate, long cachedAt) {
+
+        static Family of(Integer id, User user, LocalDateTime expiryDate) {
+            String roleName = user.getRole() != null ? user.getRole().getRoleName() : null;
+            return new Family(id, user.getUserId(), user.getEmail(), user.getFullName(), roleName,
+                    expiryDate, System.currentTimeMillis());
+        }
+
+        RotatedRefreshToken toResult(String refreshToken) {
+            return new RotatedRefreshToken(refreshToken, userId, email, fullName, roleName);
+        }
     }
 }
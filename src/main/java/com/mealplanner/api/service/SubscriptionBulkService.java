@@ -0,0 +1,156 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.dto.BulkOperationProgressDto;
+import com.mealplanner.api.dto.BulkSubscriptionOperationDto;
+import com.mealplanner.api.exception.ValidationException;
+import com.mealplanner.api.repository.SubscriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Admin bulk subscription operations.
+ * Applies a status transition to many subscriptions using one set-based UPDATE per chunk,
+ * each chunk in its own short transaction, and reports progress after every chunk.
+ */
+@Service
+public class SubscriptionBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionBulkService.class);
+
+    // Upper bound for explicit ID lists; larger jobs should use a filter
+    private static final int MAX_EXPLICIT_IDS = 100_000;
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${subscriptions.bulk.chunk-size:500}")
+    private int chunkSize = 500;
+
+    public SubscriptionBulkService(SubscriptionRepository subscriptionRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Validates a bulk request before any work starts and resolves its transition.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public SubscriptionTransition validate(BulkSubscriptionOperationDto dto) {
+        SubscriptionTransition transition = SubscriptionTransition.fromAction(dto.getAction());
+        if (transition == null) {
+            throw new ValidationException("Action must be one of: pause, resume, cancel");
+        }
+
+        boolean hasIds = dto.getSubscriptionIds() != null && !dto.getSubscriptionIds().isEmpty();
+        if (hasIds && dto.hasFilter()) {
+            throw new ValidationException("Provide either subscriptionIds or filter fields, not both");
+        }
+        if (!hasIds && !dto.hasFilter()) {
+            throw new ValidationException("Provide subscriptionIds or at least one filter field");
+        }
+        if (hasIds && dto.getSubscriptionIds().size() > MAX_EXPLICIT_IDS) {
+            throw new ValidationException("At most " + MAX_EXPLICIT_IDS + " subscription IDs may be listed");
+        }
+        if (dto.getStartDateFrom() != null && dto.getStartDateTo() != null
+                && dto.getStartDateTo().isBefore(dto.getStartDateFrom())) {
+            throw new ValidationException("startDateTo must be on or after startDateFrom");
+        }
+
+        return transition;
+    }
+
+    /**
+     * Runs a validated bulk operation, calling the listener after each chunk and once more when done.
+     * Chunks that already committed stay applied if a later chunk fails.
+     */
+    public BulkOperationProgressDto execute(BulkSubscriptionOperationDto dto,
+                                            SubscriptionTransition transition,
+                                            Consumer<BulkOperationProgressDto> listener) {
+        String action = transition.name().toLowerCase();
+        BulkOperationProgressDto progress;
+
+        if (dto.getSubscriptionIds() != null && !dto.getSubscriptionIds().isEmpty()) {
+            progress = executeForIds(dto.getSubscriptionIds(), transition, action, listener);
+        } else {
+            progress = executeForFilter(dto, transition, action, listener);
+        }
+
+        progress.setDone(true);
+        listener.accept(progress);
+
+        logger.info("Bulk subscription {} completed. Processed: {}, Updated: {}",
+                action, progress.getProcessed(), progress.getUpdated());
+        return progress;
+    }
+
+    private BulkOperationProgressDto executeForIds(List<Integer> subscriptionIds,
+                                                   SubscriptionTransition transition,
+                                                   String action,
+                                                   Consumer<BulkOperationProgressDto> listener) {
+        List<Integer> ids = new ArrayList<>(new TreeSet<>(subscriptionIds));
+        BulkOperationProgressDto progress = new BulkOperationProgressDto(action, ids.size(), 0, 0, false);
+
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            applyChunk(chunk, transition, progress);
+            listener.accept(progress);
+        }
+        return progress;
+    }
+
+    private BulkOperationProgressDto executeForFilter(BulkSubscriptionOperationDto dto,
+                                                      SubscriptionTransition transition,
+                                                      String action,
+                                                      Consumer<BulkOperationProgressDto> listener) {
+        String status = dto.getStatus() != null && !dto.getStatus().isEmpty() ? dto.getStatus() : null;
+        boolean filterByUsers = dto.getUserIds() != null && !dto.getUserIds().isEmpty();
+        // Bind a placeholder list so the IN clause stays valid when the user filter is off
+        List<Integer> userIds = filterByUsers ? dto.getUserIds() : Collections.singletonList(-1);
+
+        long total = subscriptionRepository.countForBulkOperation(
+                dto.getPlanId(), status, filterByUsers, userIds, dto.getStartDateFrom(), dto.getStartDateTo());
+        BulkOperationProgressDto progress = new BulkOperationProgressDto(action, total, 0, 0, false);
+
+        // Keyset pagination: the transition may change rows out of the status filter,
+        // so offsets would skip rows while "id > last seen" does not
+        int afterId = 0;
+        while (true) {
+            List<Integer> chunk = subscriptionRepository.findIdsForBulkOperation(
+                    afterId, dto.getPlanId(), status, filterByUsers, userIds,
+                    dto.getStartDateFrom(), dto.getStartDateTo(), PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            applyChunk(chunk, transition, progress);
+            listener.accept(progress);
+
+            afterId = chunk.get(chunk.size() - 1);
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+        return progress;
+    }
+
+    private void applyChunk(List<Integer> chunk, SubscriptionTransition transition, BulkOperationProgressDto progress) {
+        Integer updated = transactionTemplate.execute(status -> subscriptionRepository.bulkCompareAndSetStatus(
+                chunk, transition.getTargetStatus(), transition.getSourceStatuses()));
+
+        progress.setProcessed(progress.getProcessed() + chunk.size());
+        progress.setUpdated(progress.getUpdated() + (updated != null ? updated : 0));
+    }
+}
@@ -33,11 +33,14 @@ public class SubscriptionService {
     private UserRepository userRepository;
 
     @Autowired
-    private SubscriptionStatusRepository subscriptionStatusRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @Autowired
     private SubscriptionMealRepository subscriptionMealRepository;
 
+    @Autowired
+    private SubscriptionHoldRepository subscriptionHoldRepository;
+
     /**
      * Creates a new subscription for a user.
      * Validates that the plan exists and the start date is not in the past.
@@ -72,7 +75,7 @@ public class SubscriptionService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         // Get active status
-        SubscriptionStatus activeStatus = subscriptionStatusRepository.findByStatusName("active")
+        SubscriptionStatus activeStatus = referenceDataRegistry.findSubscriptionStatus("active")
                 .orElseThrow(() -> new ValidationException("Active status not found in system"));
 
         // Create subscription
@@ -93,16 +96,10 @@ public class SubscriptionService {
      * 
      * Requirements: 8.1, 8.2
      */
+    @Transactional(readOnly = true)
     public Page<SubscriptionResponseDto> getUserSubscriptions(Integer userId, String status, Pageable pageable) {
-        Page<Subscription> subscriptions;
-        
-        if (status != null && !status.isEmpty()) {
-            subscriptions = subscriptionRepository.findByUserUserIdAndStatusStatusName(userId, status, pageable);
-        } else {
-            subscriptions = subscriptionRepository.findByUserUserId(userId, pageable);
-        }
-
-        return subscriptions.map(this::mapToResponseDto);
+        // Projected in one query; mapping entities here would lazy-load plan, category and status per row
+        return subscriptionRepository.findResponseDtos(userId, emptyToNull(status), pageable);
     }
 
     /**
@@ -111,9 +108,10 @@ public class SubscriptionService {
      * 
      * Requirements: 8.3, 8.4
      */
+    @Transactional(readOnly = true)
     @SuppressWarnings("null")
     public SubscriptionDetailDto getSubscriptionById(Integer subscriptionId, Integer userId, boolean isAdmin) {
-        Subscription subscription = subscriptionRepository.findById(subscriptionId)
+        Subscription subscription = subscriptionRepository.findDetailedBySubscriptionId(subscriptionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Subscription not found"));
 
         // Verify ownership
@@ -130,22 +128,8 @@ public class SubscriptionService {
      * 
      * Requirements: 9.1, 9.4
      */
-    @SuppressWarnings("null")
     public void pauseSubscription(Integer subscriptionId, Integer userId) {
-        Subscription subscription = subscriptionRepository.findById(subscriptionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found"));
-
-        // Verify ownership
-        if (!subscription.getUser().getUserId().equals(userId)) {
-            throw new ForbiddenException("You do not have permission to modify this subscription");
-        }
-
-        // Get paused status
-        SubscriptionStatus pausedStatus = subscriptionStatusRepository.findByStatusName("paused")
-                .orElseThrow(() -> new ValidationException("Paused status not found in system"));
-
-        subscription.setStatus(pausedStatus);
-        subscriptionRepository.save(subscription);
+        transitionStatus(subscriptionId, userId, SubscriptionTransition.PAUSE);
     }
 
     /**
@@ -154,22 +138,8 @@ public class SubscriptionService {
      * 
      * Requirements: 9.2, 9.4
      */
-    @SuppressWarnings("null")
     public void resumeSubscription(Integer subscriptionId, Integer userId) {
-        Subscription subscription = subscriptionRepository.findById(subscriptionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found"));
-
-        // Verify ownership
-        if (!subscription.getUser().getUserId().equals(userId)) {
-            throw new ForbiddenException("You do not have permission to modify this subscription");
-        }
-
-        // Get active status
-        SubscriptionStatus activeStatus = subscriptionStatusRepository.findByStatusName("active")
-                .orElseThrow(() -> new ValidationException("Active status not found in system"));
-
-        subscription.setStatus(activeStatus);
-        subscriptionRepository.save(subscription);
+        transitionStatus(subscriptionId, userId, SubscriptionTransition.RESUME);
     }
 
     /**
@@ -178,22 +148,8 @@ public class SubscriptionService {
      * 
      * Requirements: 9.3, 9.4
      */
-    @SuppressWarnings("null")
     public void cancelSubscription(Integer subscriptionId, Integer userId) {
-        Subscription subscription = subscriptionRepository.findById(subscriptionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found"));
-
-        // Verify ownership
-        if (!subscription.getUser().getUserId().equals(userId)) {
-            throw new ForbiddenException("You do not have permission to modify this subscription");
-        }
-
-        // Get cancelled status
-        SubscriptionStatus cancelledStatus = subscriptionStatusRepository.findByStatusName("cancelled")
-                .orElseThrow(() -> new ValidationException("Cancelled status not found in system"));
-
-        subscription.setStatus(cancelledStatus);
-        subscriptionRepository.save(subscription);
+        transitionStatus(subscriptionId, userId, SubscriptionTransition.CANCEL);
     }
 
     /**
@@ -236,6 +192,7 @@ public class SubscriptionService {
      * 
      * Requirements: 10.1, 10.2, 10.3
      */
+    @Transactional(readOnly = true)
     @SuppressWarnings("null")
     public List<SubscriptionMealDto> getScheduledMeals(Integer subscriptionId, Integer userId, 
                                                        LocalDate startDate, LocalDate endDate, boolean isAdmin) {
@@ -255,32 +212,134 @@ public class SubscriptionService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Adds a delivery hold (e.g. vacation) to a subscription.
+     * No deliveries are generated for dates inside the hold, while the subscription stays active.
+     * Verifies ownership.
+     */
+    @SuppressWarnings("null")
+    public SubscriptionHoldDto addHold(Integer subscriptionId, Integer userId, CreateSubscriptionHoldDto dto) {
+        Subscription subscription = subscriptionRepository.findById(subscriptionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found"));
+
+        // Verify ownership
+        if (!subscription.getUser().getUserId().equals(userId)) {
+            throw new ForbiddenException("You do not have permission to modify this subscription");
+        }
+
+        if (dto.getStartDate() == null || dto.getEndDate() == null) {
+            throw new ValidationException("Hold start and end dates are required");
+        }
+        if (dto.getStartDate().isBefore(LocalDate.now())) {
+            throw new ValidationException("Hold start date cannot be in the past");
+        }
+        if (dto.getEndDate().isBefore(dto.getStartDate())) {
+            throw new ValidationException("Hold end date must be on or after the start date");
+        }
+        if ("cancelled".equals(subscription.getStatus().getStatusName())) {
+            throw new ValidationException("Cannot add a hold to a cancelled subscription");
+        }
+
+        SubscriptionHold hold = new SubscriptionHold(subscription, dto.getStartDate(), dto.getEndDate());
+        hold = subscriptionHoldRepository.save(hold);
+
+        return mapToHoldDto(hold, subscriptionId);
+    }
+
+    /**
+     * Lists the delivery holds of a subscription ordered by start date.
+     * Verifies ownership unless user is admin.
+     */
+    @Transactional(readOnly = true)
+    @SuppressWarnings("null")
+    public List<SubscriptionHoldDto> getHolds(Integer subscriptionId, Integer userId, boolean isAdmin) {
+        Subscription subscription = subscriptionRepository.findById(subscriptionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Subscription not found"));
+
+        // Verify ownership
+        if (!isAdmin && !subscription.getUser().getUserId().equals(userId)) {
+            throw new ForbiddenException("You do not have permission to access this subscription");
+        }
+
+        return subscriptionHoldRepository.findBySubscription_SubscriptionIdOrderByStartDate(subscriptionId).stream()
+                .map(hold -> mapToHoldDto(hold, subscriptionId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Removes a delivery hold from a subscription.
+     * Verifies ownership.
+     */
+    @SuppressWarnings("null")
+    public void removeHold(Integer subscriptionId, Integer holdId, Integer userId) {
+        SubscriptionHold hold = subscriptionHoldRepository.findById(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found"));
+
+        Subscription subscription = hold.getSubscription();
+        if (!subscription.getSubscriptionId().equals(subscriptionId)) {
+            throw new ResourceNotFoundException("Hold not found");
+        }
+
+        // Verify ownership
+        if (!subscription.getUser().getUserId().equals(userId)) {
+            throw new ForbiddenException("You do not have permission to modify this subscription");
+        }
+
+        subscriptionHoldRepository.delete(hold);
+    }
+
     /**
      * Gets all subscriptions in the system for admin users.
      * Supports filtering by user and status.
      * 
      * Requirements: 11.1, 11.2, 11.3
      */
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN')")
     @SuppressWarnings("null")
     public Page<SubscriptionResponseDto> getAllSubscriptions(Integer userId, String status, Pageable pageable) {
-        Page<Subscription> subscriptions;
-
-        if (userId != null && status != null && !status.isEmpty()) {
-            // Filter by both user and status
-            subscriptions = subscriptionRepository.findByUserUserIdAndStatusStatusName(userId, status, pageable);
-        } else if (userId != null) {
-            // Filter by user only
-            subscriptions = subscriptionRepository.findByUserUserId(userId, pageable);
-        } else if (status != null && !status.isEmpty()) {
-            // Filter by status only
-            subscriptions = subscriptionRepository.findByStatusStatusName(status, pageable);
-        } else {
-            // No filters
-            subscriptions = subscriptionRepository.findAll(pageable);
+        // Null userId/status mean "no filter" in the projection query
+        return subscriptionRepository.findResponseDtos(userId, emptyToNull(status), pageable);
+    }
+
+    /**
+     * Applies a status transition with a single compare-and-set UPDATE.
+     * The ownership and current-status checks happen inside the statement; only when no row
+     * matched is the subscription read back to report not-found, forbidden or invalid transition.
+     */
+    private void transitionStatus(Integer subscriptionId, Integer userId, SubscriptionTransition transition) {
+        String targetStatus = transition.getTargetStatus();
+        List<String> allowedFrom = transition.getIdempotentSourceStatuses();
+        int updated = subscriptionRepository.compareAndSetStatus(subscriptionId, userId, targetStatus, allowedFrom);
+        if (updated > 0) {
+            return;
         }
 
-        return subscriptions.map(this::mapToResponseDto);
+        List<Object[]> rows = subscriptionRepository.findOwnerIdAndStatusName(subscriptionId);
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Subscription not found");
+        }
+
+        Object[] row = rows.get(0);
+        if (!userId.equals(row[0])) {
+            throw new ForbiddenException("You do not have permission to modify this subscription");
+        }
+
+        String currentStatus = (String) row[1];
+        if (allowedFrom.contains(currentStatus)) {
+            // The transition was legal, so the target status row itself is missing
+            throw new ValidationException(capitalize(targetStatus) + " status not found in system");
+        }
+        throw new ValidationException("Cannot change subscription status from '" + currentStatus
+                + "' to '" + targetStatus + "'");
+    }
+
+    private String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private String capitalize(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
     }
 
     // Helper methods for mapping entities to DTOs
@@ -325,6 +384,15 @@ public class SubscriptionService {
         );
     }
 
+    private SubscriptionHoldDto mapToHoldDto(SubscriptionHold hold, Integer subscriptionId) {
+        return new SubscriptionHoldDto(
+                hold.getHoldId(),
+                subscriptionId,
+                hold.getStartDate(),
+                hold.getEndDate()
+        );
+    }
+
     private SubscriptionMealDto mapToMealDto(SubscriptionMeal subscriptionMeal) {
         return new SubscriptionMealDto(
                 subscriptionMeal.getMeal().getMealId(),
@@ -0,0 +1,61 @@
+package com.mealplanner.api.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Subscription status transitions and the statuses each one may start from.
+ */
+public enum SubscriptionTransition {
+
+    PAUSE("paused", List.of("active")),
+    RESUME("active", List.of("paused")),
+    CANCEL("cancelled", List.of("active", "paused"));
+
+    private final String targetStatus;
+    private final List<String> sourceStatuses;
+    private final List<String> idempotentSourceStatuses;
+
+    SubscriptionTransition(String targetStatus, List<String> sourceStatuses) {
+        this.targetStatus = targetStatus;
+        this.sourceStatuses = sourceStatuses;
+
+        List<String> withTarget = new ArrayList<>(sourceStatuses);
+        withTarget.add(targetStatus);
+        this.idempotentSourceStatuses = Collections.unmodifiableList(withTarget);
+    }
+
+    public String getTargetStatus() {
+        return targetStatus;
+    }
+
+    /**
+     * Statuses from which the transition actually changes the subscription.
+     */
+    public List<String> getSourceStatuses() {
+        return sourceStatuses;
+    }
+
+    /**
+     * Source statuses plus the target itself, so repeating a transition is a no-op rather than an error.
+     */
+    public List<String> getIdempotentSourceStatuses() {
+        return idempotentSourceStatuses;
+    }
+
+    /**
+     * Resolves an action name such as "pause" (case-insensitive); returns null if unknown.
+     */
+    public static SubscriptionTransition fromAction(String action) {
+        if (action == null) {
+            return null;
+        }
+        for (SubscriptionTransition transition : values()) {
+            if (transition.name().equalsIgnoreCase(action.trim())) {
+                return transition;
+            }
+        }
+        return null;
+    }
+}
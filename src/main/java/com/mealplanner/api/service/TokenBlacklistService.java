@@ -3,42 +3,121 @@ package com.mealplanner.api.service;
 import com.mealplanner.api.model.BlacklistedToken;
 import com.mealplanner.api.repository.BlacklistedTokenRepository;
 import com.mealplanner.api.security.JwtUtil;
+import com.mealplanner.api.util.RevocationSet;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.List;
 
+/**
+ * Revocation of access tokens (logout).
+ *
+ * Revoked token IDs are persisted in blacklisted_tokens and mirrored in an in-memory {@link RevocationSet},
+ * so checking a token on each request never touches the database. The set is loaded at startup,
+ * picks up revocations recorded by other instances every few seconds, and drops entries once their
+ * tokens expire.
+ *
+ * Other instances' revocations are found by blacklisted_at, not by ID: IDs are assigned at insert but
+ * can commit out of order, so a lower ID may appear after a higher one has been seen. Each sync re-reads
+ * the overlap window before the latest revocation seen, which covers rows that commit late and instances
+ * whose clocks run behind by less than the overlap.
+ */
 @Service
 public class TokenBlacklistService {
 
+    private static final Logger logger = LoggerFactory.getLogger(TokenBlacklistService.class);
+
     private final BlacklistedTokenRepository blacklistedTokenRepository;
     private final JwtUtil jwtUtil;
+    private final RevocationSet revocationSet;
+    private final Duration syncOverlap;
+
+    // Latest blacklisted_at already mirrored in memory; null until the initial load
+    private volatile LocalDateTime latestBlacklistedAt;
 
     @Autowired
-    public TokenBlacklistService(BlacklistedTokenRepository blacklistedTokenRepository, JwtUtil jwtUtil) {
+    public TokenBlacklistService(BlacklistedTokenRepository blacklistedTokenRepository, JwtUtil jwtUtil,
+                                 @Value("${security.revocation.expected-entries:100000}") int expectedEntries,
+                                 @Value("${security.revocation.bucket-minutes:15}") long bucketMinutes,
+                                 @Value("${security.revocation.sync-overlap-seconds:120}") long syncOverlapSeconds) {
         this.blacklistedTokenRepository = blacklistedTokenRepository;
         this.jwtUtil = jwtUtil;
+        this.revocationSet = new RevocationSet(bucketMinutes * 60_000, expectedEntries, 0.01);
+        this.syncOverlap = Duration.ofSeconds(syncOverlapSeconds);
+    }
+
+    @PostConstruct
+    void loadRevocations() {
+        syncRevocations();
+        logger.info("Loaded {} active token revocations", revocationSet.size());
     }
 
     public void blacklistToken(String token) {
-        Date expirationDate = jwtUtil.extractExpiration(token);
+        Claims claims = jwtUtil.verify(token);
+        String tokenId = jwtUtil.tokenId(claims, token);
+        Date expirationDate = claims.getExpiration();
         LocalDateTime expiryDateTime = expirationDate.toInstant()
             .atZone(ZoneId.systemDefault())
             .toLocalDateTime();
-        
-        BlacklistedToken blacklistedToken = new BlacklistedToken(token, expiryDateTime);
-        blacklistedTokenRepository.save(blacklistedToken);
+
+        if (!blacklistedTokenRepository.existsByTokenId(tokenId)) {
+            BlacklistedToken blacklistedToken = new BlacklistedToken(tokenId, expiryDateTime);
+            blacklistedTokenRepository.save(blacklistedToken);
+        }
+        revocationSet.add(tokenId, expirationDate.getTime());
     }
 
     public boolean isTokenBlacklisted(String token) {
-        return blacklistedTokenRepository.findByToken(token).isPresent();
+        return isTokenBlacklisted(jwtUtil.verify(token), token);
+    }
+
+    /**
+     * Checks an already-verified token against the in-memory revocation set.
+     */
+    public boolean isTokenBlacklisted(Claims claims, String token) {
+        return revocationSet.contains(jwtUtil.tokenId(claims, token));
+    }
+
+    /**
+     * Mirrors revocations recorded since the last sync (including by other instances).
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval-ms:30000}",
+               initialDelayString = "${security.revocation.sync-interval-ms:30000}")
+    public synchronized void syncRevocations() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime latest = latestBlacklistedAt;
+        List<BlacklistedToken> recorded = latest == null
+                ? blacklistedTokenRepository.findByExpiryDateAfter(now)
+                : blacklistedTokenRepository.findByBlacklistedAtGreaterThanEqualAndExpiryDateAfter(
+                        latest.minus(syncOverlap), now);
+        for (BlacklistedToken row : recorded) {
+            long expiresAt = row.getExpiryDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            revocationSet.add(row.getTokenId(), expiresAt);
+            if (latest == null || row.getBlacklistedAt().isAfter(latest)) {
+                latest = row.getBlacklistedAt();
+            }
+        }
+        // Nothing recorded yet: later syncs start from now, less the overlap
+        latestBlacklistedAt = latest != null ? latest : now;
     }
 
-    @Transactional
+    /**
+     * Removes revocations whose tokens have expired from memory. Runs hourly; the table itself is
+     * purged in chunks by {@link ExpiredTokenReaper}.
+     */
+    @Scheduled(cron = "0 15 * * * *")
     public void cleanupExpiredTokens() {
-        blacklistedTokenRepository.deleteByExpiryDateBefore(LocalDateTime.now());
+        int removed = revocationSet.expire(System.currentTimeMillis());
+        logger.info("Token revocation cleanup removed {} expired entries from memory", removed);
     }
 }
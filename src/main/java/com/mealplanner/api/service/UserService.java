@@ -5,12 +5,16 @@ import com.mealplanner.api.exception.ResourceNotFoundException;
 import com.mealplanner.api.model.User;
 import com.mealplanner.api.model.Role;
 import com.mealplanner.api.repository.UserRepository;
-import com.mealplanner.api.repository.RoleRepository;
+import com.mealplanner.api.security.UserDetailsCache;
 import com.mealplanner.api.util.PasswordValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Optional;
@@ -18,53 +22,59 @@ import java.util.Optional;
 @Service
 public class UserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository; 
+    private final ReferenceDataRegistry referenceDataRegistry;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
 
     @Autowired
-    public UserService(UserRepository userRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, ReferenceDataRegistry referenceDataRegistry, PasswordEncoder passwordEncoder,
+                       UserDetailsCache userDetailsCache, EmailService emailService,
+                       PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.referenceDataRegistry = referenceDataRegistry;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsCache = userDetailsCache;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public User registerNewUser(User newUser, String rawPassword) {
-        System.out.println("UserService.registerNewUser - START");
-        System.out.println("Email: " + newUser.getEmail());
-        
         if (userRepository.findByEmail(newUser.getEmail()).isPresent()) {
-            System.err.println("ERROR: Email already exists - " + newUser.getEmail());
+            logger.debug("Registration rejected: email already exists");
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already exists.");
         }
-        System.out.println("Email check passed");
 
         // Validate password strength
         PasswordValidator.ValidationResult validationResult = PasswordValidator.validate(rawPassword);
         if (!validationResult.isValid()) {
-            System.err.println("ERROR: Password validation failed - " + validationResult.getErrorMessage());
+            logger.debug("Registration rejected: {}", validationResult.getErrorMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, validationResult.getErrorMessage());
         }
-        System.out.println("Password validation passed");
 
-        System.out.println("Looking for USER role...");
-        Role clientRole = roleRepository.findByRoleName("USER")
+        Role clientRole = referenceDataRegistry.findRole("USER")
                 .orElseThrow(() -> {
-                    System.err.println("ERROR: USER role not found in database!");
+                    logger.error("Default role USER not found; cannot register users");
                     return new ResourceNotFoundException("Default role 'USER' not found.");
                 });
-        System.out.println("USER role found with ID: " + clientRole.getRoleId());
 
         String hashedPassword = passwordEncoder.encode(rawPassword);
-        System.out.println("Password hashed successfully");
         
         newUser.setPasswordHash(hashedPassword);
         newUser.setRole(clientRole);
         newUser.setEmailVerified(false);
 
-        System.out.println("Saving user to database...");
-        User savedUser = userRepository.save(newUser);
-        System.out.println("User saved successfully with ID: " + savedUser.getUserId());
+        // The welcome email is queued with the user row; the password is hashed before the transaction starts
+        User savedUser = transactionTemplate.execute(status -> {
+            User saved = userRepository.save(newUser);
+            emailService.sendWelcomeEmail(saved.getEmail(), saved.getFullName());
+            return saved;
+        });
+        logger.info("Registered user {}", savedUser.getUserId());
         
         return savedUser;
     }
@@ -150,6 +160,7 @@ public class UserService {
         String hashedPassword = passwordEncoder.encode(newPassword);
         user.setPasswordHash(hashedPassword);
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getUserId(), user.getEmail());
     }
 
     public void resetPassword(Integer userId, String newPassword) {
@@ -163,6 +174,7 @@ public class UserService {
         String hashedPassword = passwordEncoder.encode(newPassword);
         user.setPasswordHash(hashedPassword);
         userRepository.save(user);
+        userDetailsCache.invalidate(user.getUserId(), user.getEmail());
     }
 
     public void verifyEmail(Integer userId) {
@@ -0,0 +1,140 @@
+package com.mealplanner.api.util;
+
+/**
+ * Concurrency limit that adapts to observed latency, with a small bounded wait queue.
+ *
+ * Each completed call feeds its latency in. The limit follows the ratio of the long-term average latency
+ * to the latest one (a gradient): as calls slow down relative to the baseline, the limit shrinks toward
+ * the concurrency the backend can sustain; while latency holds steady it grows by about sqrt(limit) per
+ * sample. Failed calls cut the limit multiplicatively. The limit only grows while at least half of it is
+ * in use, so an idle period does not inflate it.
+ *
+ * Callers over the limit wait in a queue of at most {@code maxQueue} for up to the queue timeout; anyone
+ * beyond that is refused immediately so they can be shed without tying up a thread.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // Samples the long-term latency average spans
+    private static final double LONG_WINDOW = 100;
+    // Latency may rise this much above the long-term average before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long queueTimeoutMillis;
+
+    // All guarded by this
+    private double estimatedLimit;
+    private double longRttNanos;
+    private int inFlight;
+    private int waiting;
+    private long rejected;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueue, long queueTimeoutMillis) {
+        if (minLimit <= 0 || maxLimit < minLimit || maxQueue < 0 || queueTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a permit, waiting in the queue up to the queue timeout if the limit is reached.
+     * Every successful acquire must be followed by exactly one {@link #release}.
+     *
+     * @return false if the queue is full or the wait timed out
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight < limit()) {
+            inFlight++;
+            return true;
+        }
+        if (waiting >= maxQueue) {
+            rejected++;
+            return false;
+        }
+
+        waiting++;
+        try {
+            long deadline = System.currentTimeMillis() + queueTimeoutMillis;
+            while (inFlight >= limit()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    rejected++;
+                    return false;
+                }
+                wait(remaining);
+            }
+            inFlight++;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected++;
+            return false;
+        } finally {
+            waiting--;
+        }
+    }
+
+    /**
+     * Returns a permit and adjusts the limit from the call's outcome.
+     *
+     * @param rttNanos how long the call held the permit
+     * @param failed whether the call failed (server error); failures back the limit off instead of sampling latency
+     */
+    public synchronized void release(long rttNanos, boolean failed) {
+        int inFlightDuringCall = inFlight;
+        inFlight = Math.max(0, inFlight - 1);
+
+        if (failed) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+        } else if (rttNanos > 0) {
+            sample(rttNanos, inFlightDuringCall);
+        }
+        notifyAll();
+    }
+
+    private void sample(long rttNanos, int inFlightDuringCall) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            return;
+        }
+        longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        // Recovering from a slow period: let the baseline catch up instead of trailing the overload
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Not using the limit, so latency says nothing about whether more would be safe
+        if (inFlightDuringCall < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+    }
+
+    public synchronized int limit() {
+        return (int) estimatedLimit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int waiting() {
+        return waiting;
+    }
+
+    public synchronized long rejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,110 @@
+package com.mealplanner.api.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable in-memory index of subscription hold ranges.
+ *
+ * Holds are grouped per subscription, sorted and merged into disjoint intervals of epoch days,
+ * so a "is this subscription on hold on this date" check is a hash lookup followed by a
+ * binary search: O(log k) for k holds on the subscription, with no database access.
+ */
+public class HoldCalendar {
+
+    private static final HoldCalendar EMPTY = new HoldCalendar(Collections.emptyMap());
+
+    // subscriptionId -> [start0, end0, start1, end1, ...] in epoch days, sorted and disjoint
+    private final Map<Integer, long[]> intervalsBySubscription;
+
+    private HoldCalendar(Map<Integer, long[]> intervalsBySubscription) {
+        this.intervalsBySubscription = intervalsBySubscription;
+    }
+
+    public static HoldCalendar empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a calendar from (subscriptionId, startDate, endDate) rows, both dates inclusive.
+     * Rows with missing values or an end before the start are ignored.
+     */
+    public static HoldCalendar fromRows(List<Object[]> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return EMPTY;
+        }
+
+        Map<Integer, List<long[]>> grouped = new HashMap<>();
+        for (Object[] row : rows) {
+            Integer subscriptionId = (Integer) row[0];
+            LocalDate start = (LocalDate) row[1];
+            LocalDate end = (LocalDate) row[2];
+            if (subscriptionId == null || start == null || end == null || end.isBefore(start)) {
+                continue;
+            }
+            grouped.computeIfAbsent(subscriptionId, id -> new ArrayList<>())
+                    .add(new long[] { start.toEpochDay(), end.toEpochDay() });
+        }
+
+        Map<Integer, long[]> index = new HashMap<>(grouped.size() * 2);
+        for (Map.Entry<Integer, List<long[]>> entry : grouped.entrySet()) {
+            index.put(entry.getKey(), merge(entry.getValue()));
+        }
+        return new HoldCalendar(index);
+    }
+
+    /**
+     * Returns true if the subscription has a hold covering the given date.
+     */
+    public boolean isOnHold(Integer subscriptionId, LocalDate date) {
+        long[] intervals = intervalsBySubscription.get(subscriptionId);
+        if (intervals == null) {
+            return false;
+        }
+
+        long day = date.toEpochDay();
+        int low = 0;
+        int high = intervals.length / 2 - 1;
+
+        // Find the last interval starting on or before the day
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (intervals[mid * 2] <= day) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        return candidate >= 0 && intervals[candidate * 2 + 1] >= day;
+    }
+
+    public int subscriptionCount() {
+        return intervalsBySubscription.size();
+    }
+
+    private static long[] merge(List<long[]> ranges) {
+        ranges.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        long[] merged = new long[ranges.size() * 2];
+        int count = 0;
+        for (long[] range : ranges) {
+            // Overlapping or adjacent ranges collapse into one interval
+            if (count > 0 && range[0] <= merged[count * 2 - 1] + 1) {
+                merged[count * 2 - 1] = Math.max(merged[count * 2 - 1], range[1]);
+            } else {
+                merged[count * 2] = range[0];
+                merged[count * 2 + 1] = range[1];
+                count++;
+            }
+        }
+        return Arrays.copyOf(merged, count * 2);
+    }
+}
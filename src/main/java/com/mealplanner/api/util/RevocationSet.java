@@ -0,0 +1,152 @@
+package com.mealplanner.api.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory set of revoked token IDs that forgets each ID once its token has expired.
+ *
+ * Lookups first consult a Bloom filter, so the common "not revoked" answer costs a few bit reads.
+ * Only Bloom hits go on to the exact map. IDs are grouped into time buckets by expiry, so expiring
+ * drops whole buckets and then rebuilds the Bloom filter from what is left (Bloom filters cannot delete).
+ *
+ * Lookups are lock-free; adds and expiry are serialized.
+ */
+public class RevocationSet {
+
+    private final long bucketMillis;
+    private final int bitCount;
+    private final int hashCount;
+
+    // tokenId -> expiry bucket, the exact answer behind the Bloom filter
+    private final Map<String, Long> bucketById = new ConcurrentHashMap<>();
+    // expiry bucket -> IDs expiring in it; guarded by this
+    private final TreeMap<Long, Set<String>> idsByBucket = new TreeMap<>();
+
+    private volatile AtomicLongArray bloomBits;
+
+    /**
+     * @param bucketMillis width of an expiry bucket; IDs are kept up to this long past their expiry
+     * @param expectedEntries revocations expected to be live at once (sizes the Bloom filter)
+     * @param falsePositiveRate target Bloom false-positive rate at the expected size
+     */
+    public RevocationSet(long bucketMillis, int expectedEntries, double falsePositiveRate) {
+        if (bucketMillis <= 0 || expectedEntries <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Invalid revocation set sizing");
+        }
+        this.bucketMillis = bucketMillis;
+        double bits = -expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, Math.ceil(bits)));
+        this.hashCount = Math.max(1, (int) Math.round(bits / expectedEntries * Math.log(2)));
+        this.bloomBits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    /**
+     * Records a revoked token ID until the given expiry (epoch millis).
+     */
+    public synchronized void add(String tokenId, long expiresAtMillis) {
+        long bucket = bucketOf(expiresAtMillis);
+        Long previous = bucketById.put(tokenId, bucket);
+        if (previous != null && previous != bucket) {
+            Set<String> ids = idsByBucket.get(previous);
+            if (ids != null) {
+                ids.remove(tokenId);
+            }
+        }
+        idsByBucket.computeIfAbsent(bucket, b -> ConcurrentHashMap.newKeySet()).add(tokenId);
+        setBits(bloomBits, tokenId);
+    }
+
+    public boolean contains(String tokenId) {
+        if (!mightContain(bloomBits, tokenId)) {
+            return false;
+        }
+        return bucketById.containsKey(tokenId);
+    }
+
+    /**
+     * Drops every bucket that ended at or before the given time and rebuilds the Bloom filter.
+     * Returns the number of IDs removed.
+     */
+    public synchronized int expire(long nowMillis) {
+        int removed = 0;
+        Iterator<Map.Entry<Long, Set<String>>> buckets = idsByBucket.entrySet().iterator();
+        while (buckets.hasNext()) {
+            Map.Entry<Long, Set<String>> bucket = buckets.next();
+            if (bucket.getKey() * bucketMillis > nowMillis) {
+                break;
+            }
+            for (String tokenId : bucket.getValue()) {
+                bucketById.remove(tokenId);
+                removed++;
+            }
+            buckets.remove();
+        }
+
+        if (removed > 0) {
+            AtomicLongArray rebuilt = new AtomicLongArray(bloomBits.length());
+            for (String tokenId : bucketById.keySet()) {
+                setBits(rebuilt, tokenId);
+            }
+            bloomBits = rebuilt;
+        }
+        return removed;
+    }
+
+    public int size() {
+        return bucketById.size();
+    }
+
+    // Bucket b holds IDs expiring in ((b - 1) * width, b * width]
+    private long bucketOf(long expiresAtMillis) {
+        return Math.floorDiv(expiresAtMillis + bucketMillis - 1, bucketMillis);
+    }
+
+    private void setBits(AtomicLongArray bits, String tokenId) {
+        long hash1 = hash(tokenId);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int index = (int) Math.floorMod(hash1 + i * hash2, (long) bitCount);
+            long mask = 1L << (index & 63);
+            int word = index >>> 6;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    private boolean mightContain(AtomicLongArray bits, String tokenId) {
+        long hash1 = hash(tokenId);
+        long hash2 = mix(hash1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            int index = (int) Math.floorMod(hash1 + i * hash2, (long) bitCount);
+            if ((bits.get(index >>> 6) & (1L << (index & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a over the UTF-8 bytes
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer, used to derive the second hash
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,113 @@
+package com.mealplanner.api.util;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded in-memory log of slow SQL statements.
+ *
+ * The most recent {@code capacity} executions are kept in a ring buffer; older ones are overwritten.
+ * {@link #topOffenders(int)} aggregates what is in the buffer by statement shape, so a statement that was
+ * slow once long ago drops out on its own. EXPLAIN plans are kept per shape, for at most {@code capacity}
+ * shapes. Recording is synchronized, which is fine for statements that are slow by definition.
+ */
+public class SlowQueryLog {
+
+    /**
+     * One slow execution.
+     *
+     * @param shape the SQL with bind placeholders, whitespace folded
+     * @param caller the application method that issued it, e.g. {@code DeliveryService.getCurrentDelivery}
+     * @param bindShape JDBC types of the bound parameters in order (never the values)
+     * @param rows rows read or affected, or -1 if unknown
+     */
+    public record Entry(String shape, String caller, String bindShape, long durationMicros, long rows, LocalDateTime at) {
+    }
+
+    /**
+     * The executions of one shape still in the buffer, summed up.
+     */
+    public record Offender(String shape, String lastCaller, String lastBindShape, int count, long totalMicros,
+                           long maxMicros, long maxRows, LocalDateTime lastSeen, String plan) {
+    }
+
+    private final int capacity;
+    private final Entry[] ring;
+    private int next;
+    private int size;
+
+    private final Set<String> seenShapes = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> plansByShape = new ConcurrentHashMap<>();
+
+    public SlowQueryLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.ring = new Entry[capacity];
+    }
+
+    public synchronized void record(Entry entry) {
+        ring[next] = entry;
+        next = (next + 1) % capacity;
+        size = Math.min(size + 1, capacity);
+    }
+
+    /**
+     * Whether this is the first time the shape was recorded as slow (since startup or the last {@link #clear()}).
+     * Returns false once {@code capacity} shapes have been seen.
+     */
+    public boolean firstSighting(String shape) {
+        return seenShapes.size() < capacity && seenShapes.add(shape);
+    }
+
+    public void recordPlan(String shape, String plan) {
+        if (plansByShape.size() < capacity) {
+            plansByShape.put(shape, plan);
+        }
+    }
+
+    /**
+     * Shapes in the buffer ordered by total time spent, highest first.
+     */
+    public synchronized List<Offender> topOffenders(int limit) {
+        Map<String, List<Entry>> entriesByShape = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            // Oldest first, so the last entry of each shape is its most recent
+            Entry entry = ring[(next - size + i + capacity) % capacity];
+            entriesByShape.computeIfAbsent(entry.shape(), shape -> new ArrayList<>()).add(entry);
+        }
+
+        List<Offender> offenders = new ArrayList<>(entriesByShape.size());
+        entriesByShape.forEach((shape, entries) -> {
+            long totalMicros = 0;
+            long maxMicros = 0;
+            long maxRows = -1;
+            for (Entry entry : entries) {
+                totalMicros += entry.durationMicros();
+                maxMicros = Math.max(maxMicros, entry.durationMicros());
+                maxRows = Math.max(maxRows, entry.rows());
+            }
+            Entry last = entries.get(entries.size() - 1);
+            offenders.add(new Offender(shape, last.caller(), last.bindShape(), entries.size(), totalMicros, maxMicros,
+                    maxRows, last.at(), plansByShape.get(shape)));
+        });
+        offenders.sort(Comparator.comparingLong(Offender::totalMicros).reversed());
+        return offenders.subList(0, Math.min(limit, offenders.size()));
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(ring, null);
+        next = 0;
+        size = 0;
+        seenShapes.clear();
+        plansByShape.clear();
+    }
+}
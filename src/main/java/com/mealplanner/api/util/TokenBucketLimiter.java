@@ -0,0 +1,121 @@
+package com.mealplanner.api.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets with lazy refill.
+ *
+ * Each bucket is a single timestamp: the time at which it would be full again (the GCRA form of a
+ * token bucket). Taking a token pushes that time forward by one refill interval with a CAS, and a request
+ * is refused when the bucket would be more than {@code capacity} intervals in debt. Nothing refills on a
+ * timer, and acquiring never locks.
+ *
+ * Keys are spread over independent stripes, each with its own size bound. A bucket whose refill time has
+ * passed is full and indistinguishable from a new one, so idle buckets can be dropped at any time. When a
+ * stripe is full even after dropping idle buckets, new keys share that stripe's overflow bucket, so a
+ * spray of distinct keys is still limited as a group instead of growing memory.
+ */
+public class TokenBucketLimiter {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final int maxKeysPerStripe;
+    private final LongSupplier nanoClock;
+
+    private final Stripe[] stripes;
+
+    /**
+     * @param capacity tokens a bucket holds when full (the allowed burst)
+     * @param refillPerMinute tokens added back per minute
+     * @param maxKeys buckets tracked at most, across all stripes
+     * @param stripeCount number of stripes, rounded up to a power of two
+     * @param nanoClock monotonic time source in nanoseconds
+     */
+    public TokenBucketLimiter(int capacity, int refillPerMinute, int maxKeys, int stripeCount, LongSupplier nanoClock) {
+        if (capacity <= 0 || refillPerMinute <= 0 || maxKeys <= 0 || stripeCount <= 0) {
+            throw new IllegalArgumentException("Invalid token bucket sizing");
+        }
+        this.nanosPerToken = 60_000_000_000L / refillPerMinute;
+        this.burstNanos = nanosPerToken * capacity;
+        this.nanoClock = nanoClock;
+
+        int count = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.maxKeysPerStripe = Math.max(1, (maxKeys + count - 1) / count);
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return 0 if a token was taken, otherwise the milliseconds until one will be available
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        Stripe stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            if (stripe.buckets.size() >= maxKeysPerStripe) {
+                stripe.evictIdle(now);
+            }
+            bucket = stripe.buckets.size() < maxKeysPerStripe
+                    ? stripe.buckets.computeIfAbsent(key, k -> new AtomicLong(now))
+                    : stripe.overflow;
+        }
+
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + nanosPerToken;
+            long debt = next - now - burstNanos;
+            if (debt > 0) {
+                return (debt + 999_999) / 1_000_000;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely.
+     *
+     * @return number of buckets dropped
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (Stripe stripe : stripes) {
+            evicted += stripe.evictIdle(now);
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+        // key -> time (nanos) at which the bucket is full again
+        final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        final AtomicLong overflow = new AtomicLong(Long.MIN_VALUE);
+
+        int evictIdle(long now) {
+            int before = buckets.size();
+            buckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+            return Math.max(0, before - buckets.size());
+        }
+    }
+}
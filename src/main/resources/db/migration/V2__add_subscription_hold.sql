@@ -0,0 +1,16 @@
+-- Migration script for subscription delivery holds
+-- Lets customers skip date ranges (e.g. vacation) without pausing the subscription
+
+CREATE TABLE IF NOT EXISTS subscription_hold (
+    hold_id INT AUTO_INCREMENT PRIMARY KEY,
+    subscription_id INT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_subscription_hold_subscription
+        FOREIGN KEY (subscription_id) REFERENCES subscription (subscription_id)
+);
+
+-- The scheduler loads holds that have not ended yet
+CREATE INDEX idx_subscription_hold_end_date ON subscription_hold (end_date);
+CREATE INDEX idx_subscription_hold_subscription ON subscription_hold (subscription_id);
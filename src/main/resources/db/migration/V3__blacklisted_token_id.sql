@@ -0,0 +1,13 @@
+-- Migration script for keying token revocations by token ID instead of the full token string
+-- New access tokens carry a jti claim; older tokens are identified by the hex SHA-256 of the token
+
+ALTER TABLE blacklisted_tokens ADD COLUMN token_id VARCHAR(64) NULL;
+
+UPDATE blacklisted_tokens SET token_id = SHA2(token, 256) WHERE token_id IS NULL;
+
+ALTER TABLE blacklisted_tokens MODIFY token_id VARCHAR(64) NOT NULL;
+ALTER TABLE blacklisted_tokens ADD CONSTRAINT uk_blacklisted_tokens_token_id UNIQUE (token_id);
+ALTER TABLE blacklisted_tokens DROP COLUMN token;
+
+-- The in-memory revocation set is reloaded and reaped by expiry
+CREATE INDEX idx_blacklisted_tokens_expiry_date ON blacklisted_tokens (expiry_date);
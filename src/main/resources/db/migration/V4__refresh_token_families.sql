@@ -0,0 +1,16 @@
+-- Migration script for rotating refresh tokens
+-- Each row is a token family (one login session) rotated in place; only SHA-256 hashes of tokens are stored
+
+ALTER TABLE refresh_tokens ADD COLUMN token_hash CHAR(64) NULL;
+ALTER TABLE refresh_tokens ADD COLUMN previous_token_hash CHAR(64) NULL;
+ALTER TABLE refresh_tokens ADD COLUMN rotated_at DATETIME(6) NULL;
+
+UPDATE refresh_tokens SET token_hash = SHA2(token, 256) WHERE token_hash IS NULL;
+
+ALTER TABLE refresh_tokens MODIFY token_hash CHAR(64) NOT NULL;
+ALTER TABLE refresh_tokens ADD CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash);
+ALTER TABLE refresh_tokens DROP COLUMN token;
+
+-- Replay detection looks families up by the token they last replaced; cleanup goes by expiry
+CREATE INDEX idx_refresh_tokens_previous_token_hash ON refresh_tokens (previous_token_hash);
+CREATE INDEX idx_refresh_tokens_expiry_date ON refresh_tokens (expiry_date);
@@ -0,0 +1,5 @@
+-- Migration script for the expired token reaper
+-- blacklisted_tokens (V3) and refresh_tokens (V4) already have an expiry_date index
+
+CREATE INDEX idx_email_verification_tokens_expiry_date ON email_verification_tokens (expiry_date);
+CREATE INDEX idx_password_reset_tokens_expiry_date ON password_reset_tokens (expiry_date);
@@ -0,0 +1,21 @@
+-- Migration script for the transactional email outbox
+-- Emails are queued with the change that triggers them and sent by a background dispatcher
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6) NOT NULL,
+    claim_token VARCHAR(36) NULL,
+    claimed_until DATETIME(6) NULL,
+    last_error VARCHAR(500) NULL,
+    created_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6) NULL
+);
+
+-- The dispatcher polls for due pending rows and reloads the rows it claimed
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
+CREATE INDEX idx_email_outbox_claim_token ON email_outbox (claim_token);
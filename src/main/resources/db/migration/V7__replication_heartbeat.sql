@@ -0,0 +1,7 @@
+-- Migration script for the read replica heartbeat
+-- The primary stamps this row every second; each replica's copy shows how far its replication has got
+
+CREATE TABLE IF NOT EXISTS replication_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
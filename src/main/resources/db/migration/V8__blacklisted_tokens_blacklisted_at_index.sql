@@ -0,0 +1,4 @@
+-- Migration script for syncing token revocations between instances by time
+-- Each instance re-reads the revocations recorded in a short window before the latest one it has seen
+
+CREATE INDEX idx_blacklisted_tokens_blacklisted_at ON blacklisted_tokens (blacklisted_at);
@@ -0,0 +1,62 @@
+package com.mealplanner.api.config;
+
+import com.mealplanner.api.exception.ServiceUnavailableException;
+import com.mealplanner.api.util.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private AdaptiveConcurrencyLimiter adminLimiter;
+    private AdaptiveConcurrencyLimiter customerLimiter;
+    private ConcurrencyLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        adminLimiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0, 0);
+        customerLimiter = new AdaptiveConcurrencyLimiter(5, 1, 5, 0, 0);
+        interceptor = new ConcurrencyLimitInterceptor(adminLimiter, customerLimiter);
+    }
+
+    @Test
+    void preHandle_AdminGroupFull_ShedsAdminButNotCustomerCalls() {
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/admin/deliveries");
+        assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), new Object()));
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class, () -> interceptor.preHandle(
+                new MockHttpServletRequest("GET", "/api/admin/subscriptions"), new MockHttpServletResponse(), new Object()));
+        assertEquals(1, e.getRetryAfterSeconds());
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/subscriptions"),
+                new MockHttpServletResponse(), new Object()));
+        assertEquals(1, customerLimiter.inFlight());
+    }
+
+    @Test
+    void afterCompletion_ReleasesPermitOnce() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/deliveries");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertEquals(0, adminLimiter.inFlight());
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/admin/deliveries"),
+                new MockHttpServletResponse(), new Object()));
+    }
+
+    @Test
+    void preHandle_AsyncRedispatch_ReusesHeldPermit() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/admin/subscriptions/bulk");
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        // The async dispatch of the same request passes through the interceptor again
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), new Object()));
+        assertEquals(1, adminLimiter.inFlight());
+    }
+}
@@ -0,0 +1,79 @@
+package com.mealplanner.api.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplingFilterTest {
+
+    private LoggerContext context;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+
+    @Test
+    void decide_SampledLogger_KeepsEveryNthInfoAndAllWarnings() {
+        useRates("com.example.jobs=3");
+        Logger logger = context.getLogger("com.example.jobs.Scheduler");
+
+        for (int i = 0; i < 9; i++) {
+            logger.info("row {}", i);
+        }
+        logger.warn("slow run");
+
+        assertEquals(4, appender.list.size());
+        assertEquals("row 0", appender.list.get(0).getFormattedMessage());
+        assertEquals("row 3", appender.list.get(1).getFormattedMessage());
+        assertEquals("slow run", appender.list.get(3).getFormattedMessage());
+    }
+
+    @Test
+    void decide_MostSpecificEntryWins_OtherLoggersUntouched() {
+        useRates("com.example=5, com.example.audit=1");
+
+        for (int i = 0; i < 5; i++) {
+            context.getLogger("com.example.audit.Trail").info("audit {}", i);
+            context.getLogger("com.other.Service").info("other {}", i);
+        }
+
+        assertEquals(10, appender.list.size());
+    }
+
+    @Test
+    void decide_DisabledLevelsAndMalformedEntries_AreNotCounted() {
+        useRates("com.example.jobs=2, broken, com.example.bad=0");
+        Logger logger = context.getLogger("com.example.jobs.Scheduler");
+
+        logger.debug("dropped by level, does not use up a slot");
+        logger.info("first");
+        logger.info("second");
+        context.getLogger("com.example.bad.Service").info("kept");
+
+        assertEquals(2, appender.list.size());
+        assertEquals("first", appender.list.get(0).getFormattedMessage());
+        assertEquals("kept", appender.list.get(1).getFormattedMessage());
+    }
+
+    private void useRates(String rates) {
+        LogSamplingFilter filter = new LogSamplingFilter();
+        filter.setContext(context);
+        filter.setRates(rates);
+        filter.start();
+        context.addTurboFilter(filter);
+    }
+}
@@ -0,0 +1,271 @@
+package com.mealplanner.api.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing between a primary and replicas that are separate in-memory H2 databases. Replication is done by
+ * hand: {@link #replicate} copies the primary's heartbeat row, so each test decides how far behind a replica is.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-02T12:00:00Z"));
+    private final List<JdbcDataSource> databases = new ArrayList<>();
+
+    private JdbcDataSource primary;
+    private JdbcDataSource replicaA;
+    private JdbcDataSource replicaB;
+    private ReplicaSet replicaSet;
+    private ReadYourWritesGuard guard;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        primary = database("primary");
+        replicaA = database("replica-a");
+        replicaB = database("replica-b");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SecurityContextHolder.clearContext();
+        for (JdbcDataSource database : databases) {
+            try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+        }
+    }
+
+    @Test
+    void readWriteTransaction_GoesToPrimary() {
+        route(Map.of("replica-a", replicaA));
+        heartbeat(replicaA);
+
+        assertEquals("primary", readWrite.execute(status -> server()));
+    }
+
+    @Test
+    void readOnlyTransaction_CurrentReplica_GoesToReplica() {
+        route(Map.of("replica-a", replicaA));
+        heartbeat(replicaA);
+
+        assertEquals("replica-a", readOnly.execute(status -> server()));
+        assertEquals(1, replicaSet.routedToReplicaCount());
+        assertEquals(0.0, replicaSet.lagSeconds("replica-a"));
+    }
+
+    @Test
+    void readOnlyTransaction_NoHeartbeatApplied_GoesToPrimary() {
+        route(Map.of("replica-a", replicaA));
+        replicaSet.checkReplicas();
+
+        assertEquals("primary", readOnly.execute(status -> server()));
+        assertEquals(1, replicaSet.keptForLagCount());
+        assertTrue(Double.isNaN(replicaSet.lagSeconds("replica-a")));
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaBehindMaxLag_GoesToPrimary() {
+        route(Map.of("replica-a", replicaA));
+        heartbeat(replicaA);
+
+        clock.advance(MAX_LAG.plusSeconds(1));
+        replicaSet.checkReplicas();
+
+        assertEquals("primary", readOnly.execute(status -> server()));
+        assertEquals(6.0, replicaSet.lagSeconds("replica-a"));
+        assertEquals(1, replicaSet.keptForLagCount());
+    }
+
+    @Test
+    void readOnlyTransaction_AfterOwnWrite_StaysOnPrimaryUntilReplicaCatchesUp() {
+        route(Map.of("replica-a", replicaA));
+        heartbeat(replicaA);
+
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE marker SET server = server"));
+        assertEquals("primary", readOnly.execute(status -> server()));
+        assertEquals(1, replicaSet.keptForReadYourWritesCount());
+
+        authenticate("bob");
+        assertEquals("replica-a", readOnly.execute(status -> server()));
+
+        clock.advance(Duration.ofSeconds(1));
+        heartbeat(replicaA);
+        authenticate("alice");
+        assertEquals("replica-a", readOnly.execute(status -> server()));
+    }
+
+    @Test
+    void checkReplicas_ForgetsWritesOlderThanMaxLag() {
+        route(Map.of("replica-a", replicaA));
+        authenticate("alice");
+        readWrite.executeWithoutResult(status -> jdbc.update("UPDATE marker SET server = server"));
+        assertEquals(1, guard.trackedUsers());
+
+        clock.advance(MAX_LAG.plusMillis(1));
+        replicaSet.checkReplicas();
+
+        assertEquals(0, guard.trackedUsers());
+    }
+
+    @Test
+    void readOnlyTransaction_WithoutWrite_IsNotTracked() {
+        route(Map.of("replica-a", replicaA));
+        heartbeat(replicaA);
+        authenticate("alice");
+
+        readOnly.execute(status -> server());
+
+        assertEquals(0, guard.trackedUsers());
+    }
+
+    @Test
+    void readOnlyTransaction_UnreachableReplica_IsSkipped() {
+        JdbcDataSource unreachable = new JdbcDataSource();
+        unreachable.setURL("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-a", replicaA);
+        replicas.put("replica-gone", unreachable);
+        route(replicas);
+        heartbeat(replicaA);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica-a", readOnly.execute(status -> server()));
+        }
+        assertTrue(Double.isNaN(replicaSet.lagSeconds("replica-gone")));
+    }
+
+    @Test
+    void readOnlyTransactions_SpreadOverCurrentReplicas() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-a", replicaA);
+        replicas.put("replica-b", replicaB);
+        route(replicas);
+        heartbeat(replicaA, replicaB);
+
+        Set<String> servers = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            servers.add(readOnly.execute(status -> server()));
+        }
+
+        assertEquals(Set.of("replica-a", "replica-b"), servers);
+    }
+
+    @Test
+    void noTransaction_GoesToPrimary() {
+        route(Map.of("replica-a", replicaA));
+        heartbeat(replicaA);
+
+        assertEquals("primary", server());
+    }
+
+    private void route(Map<String, DataSource> replicas) {
+        guard = new ReadYourWritesGuard(clock);
+        replicaSet = new ReplicaSet(primary, replicas, clock, MAX_LAG, guard);
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicaSet));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        transactionManager.addListener(guard);
+        jdbc = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    /**
+     * Writes a heartbeat on the primary, replicates it to the given replicas and lets the set read it back.
+     */
+    private void heartbeat(JdbcDataSource... replicas) {
+        replicaSet.checkReplicas();
+        for (JdbcDataSource replica : replicas) {
+            replicate(replica);
+        }
+        replicaSet.checkReplicas();
+    }
+
+    private void replicate(JdbcDataSource replica) {
+        Long beatAt = new JdbcTemplate(primary).queryForObject(
+                "SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+        JdbcTemplate target = new JdbcTemplate(replica);
+        target.update("DELETE FROM replication_heartbeat");
+        target.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", beatAt);
+    }
+
+    private String server() {
+        return jdbc.queryForObject("SELECT server FROM marker", String.class);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private JdbcDataSource database(String server) throws Exception {
+        JdbcDataSource database = new JdbcDataSource();
+        database.setURL("jdbc:h2:mem:" + server + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE marker (server VARCHAR(20))");
+            statement.execute("INSERT INTO marker VALUES ('" + server + "')");
+            statement.execute(ReplicaSet.CREATE_HEARTBEAT_TABLE);
+        }
+        databases.add(database);
+        return database;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.mealplanner.api.config;
+
+import com.mealplanner.api.model.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing under JPA with one EntityManager kept open across transactions, as open-session-in-view does:
+ * a write after a replica read in the same session must still reach the primary.
+ */
+class ReplicaRoutingJpaTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-03-02T12:00:00Z"), ZoneOffset.UTC);
+
+    private JdbcDataSource primary;
+    private JdbcDataSource replica;
+    private ReplicaSet replicaSet;
+    private LocalContainerEntityManagerFactoryBean entityManagerFactoryBean;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        primary = database("primary");
+        replica = database("replica");
+
+        ReadYourWritesGuard guard = new ReadYourWritesGuard(clock);
+        replicaSet = new ReplicaSet(primary, Map.of("replica-a", replica), clock, Duration.ofSeconds(5), guard);
+        replicaSet.checkReplicas();
+        Long beatAt = new JdbcTemplate(primary).queryForObject(
+                "SELECT beat_at FROM replication_heartbeat WHERE id = 1", Long.class);
+        new JdbcTemplate(replica).update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", beatAt);
+        replicaSet.checkReplicas();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName());
+        new ReplicaRoutingConfig().releaseConnectionAfterTransaction().customize(properties);
+
+        entityManagerFactoryBean = new LocalContainerEntityManagerFactoryBean();
+        entityManagerFactoryBean.setDataSource(
+                new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replicaSet)));
+        entityManagerFactoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        entityManagerFactoryBean.setManagedTypes(PersistenceManagedTypes.of(Role.class.getName()));
+        entityManagerFactoryBean.setJpaPropertyMap(properties);
+        entityManagerFactoryBean.afterPropertiesSet();
+        entityManagerFactory = entityManagerFactoryBean.getObject();
+
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionManager.addListener(guard);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // What the open-session-in-view interceptor does for the length of a request
+        entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        entityManager.close();
+        entityManagerFactoryBean.destroy();
+        for (DataSource database : new DataSource[] {primary, replica}) {
+            try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+        }
+    }
+
+    @Test
+    void writeAfterReplicaReadInSameSession_GoesToPrimary() {
+        Role role = readOnly.execute(status -> entityManager.find(Role.class, 1));
+        assertNotNull(role);
+        assertEquals(1, replicaSet.routedToReplicaCount());
+
+        readWrite.executeWithoutResult(status -> entityManager.persist(new Role("ADMIN")));
+
+        assertEquals(1, roleCount(primary, "ADMIN"));
+        assertEquals(0, roleCount(replica, "ADMIN"));
+    }
+
+    @Test
+    void readAfterWriteInSameSession_GoesToReplica() {
+        readWrite.executeWithoutResult(status -> entityManager.persist(new Role("ADMIN")));
+        entityManager.clear();
+
+        Role role = readOnly.execute(status -> entityManager.find(Role.class, 1));
+
+        assertNotNull(role);
+        assertEquals(1, replicaSet.routedToReplicaCount());
+    }
+
+    private static int roleCount(DataSource database, String roleName) {
+        Integer count = new JdbcTemplate(database).queryForObject(
+                "SELECT COUNT(*) FROM role WHERE role_name = ?", Integer.class, roleName);
+        return count != null ? count : 0;
+    }
+
+    private static JdbcDataSource database(String server) throws Exception {
+        JdbcDataSource database = new JdbcDataSource();
+        database.setURL("jdbc:h2:mem:" + server + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = database.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE role (role_id INT AUTO_INCREMENT PRIMARY KEY, role_name VARCHAR(255))");
+            statement.execute("INSERT INTO role (role_name) VALUES ('USER')");
+            statement.execute(ReplicaSet.CREATE_HEARTBEAT_TABLE);
+        }
+        return database;
+    }
+}
@@ -0,0 +1,60 @@
+package com.mealplanner.api.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestIdFilterTest {
+
+    private final RequestIdFilter filter = new RequestIdFilter();
+
+    @Test
+    void doFilter_WithValidHeader_UsesItForMdcAndResponse() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/meals");
+        request.addHeader(RequestIdFilter.HEADER, "edge-7f3a.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String seen = filterAndCaptureMdc(request, response);
+
+        assertEquals("edge-7f3a.1", seen);
+        assertEquals("edge-7f3a.1", response.getHeader(RequestIdFilter.HEADER));
+        assertNull(MDC.get(RequestIdFilter.MDC_KEY));
+    }
+
+    @Test
+    void doFilter_WithoutOrInvalidHeader_GeneratesId() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/meals");
+        request.addHeader(RequestIdFilter.HEADER, "bad id\nwith newline");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        String seen = filterAndCaptureMdc(request, response);
+
+        assertNotNull(seen);
+        assertTrue(seen.matches("[0-9a-f]{16}"), seen);
+        assertEquals(seen, response.getHeader(RequestIdFilter.HEADER));
+        assertNotEquals(seen, filterAndCaptureMdc(new MockHttpServletRequest("GET", "/api/meals"), new MockHttpServletResponse()));
+    }
+
+    @Test
+    void doFilter_ChainThrows_ClearsMdc() {
+        FilterChain failing = (req, res) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class, () ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/meals"), new MockHttpServletResponse(), failing));
+        assertNull(MDC.get(RequestIdFilter.MDC_KEY));
+    }
+
+    private String filterAndCaptureMdc(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        filter.doFilter(request, response, (req, res) -> seen.set(MDC.get(RequestIdFilter.MDC_KEY)));
+        return seen.get();
+    }
+}
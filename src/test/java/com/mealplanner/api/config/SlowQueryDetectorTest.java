@@ -0,0 +1,121 @@
+package com.mealplanner.api.config;
+
+import com.mealplanner.api.dto.SlowQueryDto;
+import com.mealplanner.api.util.SlowQueryLog;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryDetectorTest {
+
+    private JdbcDataSource h2;
+    private SlowQueryDetector detector;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:slow-query-detector;DB_CLOSE_DELAY=-1");
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE meal (meal_id INT PRIMARY KEY, meal_name VARCHAR(50))");
+            statement.execute("INSERT INTO meal VALUES (1, 'Soup'), (2, 'Salad'), (3, 'Stew')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        try (Connection connection = h2.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE meal");
+        }
+        if (detector != null) {
+            detector.shutdown();
+        }
+    }
+
+    @Test
+    void query_OverThreshold_RecordsShapeCallerBindTypesAndRows() throws Exception {
+        detector = new SlowQueryDetector(new SlowQueryLog(10), true, 0, false);
+
+        readMeals(detector.wrap(h2), 1);
+
+        List<SlowQueryDto> offenders = detector.getTopOffenders(10);
+        assertEquals(1, offenders.size());
+        SlowQueryDto offender = offenders.get(0);
+        assertEquals("select meal_id, meal_name from meal where meal_id > ?", offender.getSql());
+        assertEquals("SlowQueryDetectorTest.readMeals", offender.getCaller());
+        assertEquals("Int", offender.getBindTypes());
+        assertEquals(2, offender.getMaxRows());
+        assertEquals(1, offender.getCount());
+        assertNull(offender.getPlan());
+    }
+
+    @Test
+    void update_RecordsAffectedRows() throws Exception {
+        detector = new SlowQueryDetector(new SlowQueryLog(10), true, 0, false);
+
+        try (Connection connection = detector.wrap(h2).getConnection();
+             PreparedStatement statement = connection.prepareStatement("update meal set meal_name = ? where meal_id < ?")) {
+            statement.setString(1, "Renamed");
+            statement.setNull(2, java.sql.Types.INTEGER);
+            statement.setInt(2, 3);
+            statement.executeUpdate();
+        }
+
+        SlowQueryDto offender = detector.getTopOffenders(1).get(0);
+        assertEquals(2, offender.getMaxRows());
+        assertEquals("String, Int", offender.getBindTypes());
+    }
+
+    @Test
+    void query_UnderThreshold_NotRecorded() throws Exception {
+        detector = new SlowQueryDetector(new SlowQueryLog(10), true, 60_000, false);
+
+        readMeals(detector.wrap(h2), 0);
+
+        assertTrue(detector.getTopOffenders(10).isEmpty());
+    }
+
+    @Test
+    void query_ExplainEnabled_StoresPlanForFirstSighting() throws Exception {
+        detector = new SlowQueryDetector(new SlowQueryLog(10), true, 0, true);
+
+        readMeals(detector.wrap(h2), 1);
+
+        String plan = null;
+        for (int i = 0; i < 50 && plan == null; i++) {
+            Thread.sleep(100);
+            plan = detector.getTopOffenders(1).get(0).getPlan();
+        }
+        assertNotNull(plan);
+        assertTrue(plan.toUpperCase().contains("MEAL_ID"), plan);
+    }
+
+    @Test
+    void wrap_Disabled_ReturnsDataSourceUnchanged() {
+        detector = new SlowQueryDetector(new SlowQueryLog(10), false, 0, false);
+
+        assertSame(h2, detector.wrap(h2));
+    }
+
+    private static void readMeals(DataSource dataSource, int afterId) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "select meal_id, meal_name\n  from meal where meal_id > ?")) {
+            statement.setInt(1, afterId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    assertNotNull(resultSet.getString(2));
+                }
+            }
+        }
+    }
+}
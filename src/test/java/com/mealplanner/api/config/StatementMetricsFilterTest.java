@@ -0,0 +1,92 @@
+package com.mealplanner.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatementMetricsFilter filter;
+    private StatementCountingInspector inspector;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new StatementMetricsFilter(meterRegistry, 10, 3);
+        inspector = new StatementCountingInspector();
+    }
+
+    @Test
+    void doFilter_RecordsStatementsPerRoutePattern() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/meals/7");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            inspector.inspect("select * from meal where meal_id=?");
+            inspector.inspect("select * from nutrition where meal_id=?");
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/meals/{id}");
+        });
+
+        DistributionSummary summary = meterRegistry.get(StatementMetricsFilter.METRIC_NAME)
+                .tag("method", "GET").tag("uri", "/api/v1/meals/{id}").summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+        assertTrue(meterRegistry.find(StatementMetricsFilter.VIOLATIONS_METRIC_NAME).counters().isEmpty());
+    }
+
+    @Test
+    void doFilter_NoHandler_UsesUnknownRouteAndStopsRecording() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/nowhere"), new MockHttpServletResponse(), (req, res) -> { });
+
+        assertEquals(1, meterRegistry.get(StatementMetricsFilter.METRIC_NAME).tag("uri", "UNKNOWN").summary().count());
+        inspector.inspect("select 1");
+        assertEquals(0, StatementCountingInspector.end().total());
+    }
+
+    @Test
+    void doFilter_SameShapeRepeated_CountsRepeatedViolation() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/deliveries"), new MockHttpServletResponse(), (req, res) -> {
+            inspector.inspect("select * from delivery");
+            for (int i = 0; i < 3; i++) {
+                inspector.inspect("select * from subscription_meal where subscription_id=? and delivery_date=?");
+            }
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/admin/deliveries");
+        });
+
+        assertEquals(1, meterRegistry.get(StatementMetricsFilter.VIOLATIONS_METRIC_NAME)
+                .tag("uri", "/api/admin/deliveries").tag("kind", "repeated").counter().count());
+        assertNull(meterRegistry.find(StatementMetricsFilter.VIOLATIONS_METRIC_NAME).tag("kind", "budget").counter());
+    }
+
+    @Test
+    void doFilter_OverBudget_CountsBudgetViolation() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/plans"), new MockHttpServletResponse(), (req, res) -> {
+            for (int i = 0; i < 11; i++) {
+                inspector.inspect("select * from custom_plan_" + i);
+            }
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/plans");
+        });
+
+        assertEquals(1, meterRegistry.get(StatementMetricsFilter.VIOLATIONS_METRIC_NAME)
+                .tag("kind", "budget").counter().count());
+    }
+
+    @Test
+    void statementLog_InListsOfDifferentLengths_ShareOneShape() {
+        StatementCountingInspector.begin();
+        inspector.inspect("select * from meal where meal_id in (?, ?)");
+        inspector.inspect("select *\n  from meal where meal_id in (?,?,?,?)");
+        StatementLog log = StatementCountingInspector.end();
+
+        assertEquals(2, log.total());
+        assertEquals(Map.of("select * from meal where meal_id in (?...)", 2), log.repeated(2));
+    }
+}
@@ -0,0 +1,67 @@
+package com.mealplanner.api.repository;
+
+import com.mealplanner.api.config.SecondLevelCacheConfig;
+import com.mealplanner.api.model.RefreshToken;
+import com.mealplanner.api.model.Role;
+import com.mealplanner.api.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rotation of a refresh token family in place, against H2.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import(SecondLevelCacheConfig.class)
+class RefreshTokenRepositoryTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role("USER");
+        entityManager.persist(role);
+        user = new User("Owner", "owner@example.com", "hash", role);
+        entityManager.persist(user);
+    }
+
+    @Test
+    void rotate_KeepsFamilyExpiry() {
+        LocalDateTime expiryDate = LocalDateTime.now().plusDays(7).truncatedTo(ChronoUnit.SECONDS);
+        RefreshToken family = refreshTokenRepository.save(new RefreshToken("a".repeat(64), user, expiryDate));
+
+        int updated = refreshTokenRepository.rotate(family.getId(), "a".repeat(64), "b".repeat(64),
+                LocalDateTime.now().plusDays(6));
+
+        assertEquals(1, updated);
+        RefreshToken rotated = refreshTokenRepository.findFirstByPreviousTokenHash("a".repeat(64)).orElseThrow();
+        assertEquals("b".repeat(64), rotated.getTokenHash());
+        assertEquals(expiryDate, rotated.getExpiryDate());
+    }
+
+    @Test
+    void rotate_ExpiredFamily_UpdatesNothing() {
+        RefreshToken family = refreshTokenRepository.save(
+                new RefreshToken("a".repeat(64), user, LocalDateTime.now().minusMinutes(1)));
+
+        assertEquals(0, refreshTokenRepository.rotate(family.getId(), "a".repeat(64), "b".repeat(64),
+                LocalDateTime.now()));
+    }
+}
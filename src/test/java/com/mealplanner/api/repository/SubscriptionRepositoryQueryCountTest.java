@@ -0,0 +1,120 @@
+package com.mealplanner.api.repository;
+
+import com.mealplanner.api.config.SecondLevelCacheConfig;
+import com.mealplanner.api.dto.SubscriptionResponseDto;
+import com.mealplanner.api.model.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static com.mealplanner.api.support.QueryCountAssertions.assertQueryCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regression tests for the number of SQL statements issued by subscription read paths.
+ * Listing a page or loading a subscription's details must not lazy-load plan, category or status per row.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import(SecondLevelCacheConfig.class)
+class SubscriptionRepositoryQueryCountTest {
+
+    private static final int SUBSCRIPTION_COUNT = 8;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    private Integer ownerId;
+    private Integer firstSubscriptionId;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role("USER");
+        entityManager.persist(role);
+        User owner = new User("Owner", "owner@example.com", "hash", role);
+        entityManager.persist(owner);
+        ownerId = owner.getUserId();
+
+        SubscriptionStatus active = new SubscriptionStatus("active");
+        SubscriptionStatus paused = new SubscriptionStatus("paused");
+        entityManager.persist(active);
+        entityManager.persist(paused);
+
+        for (int i = 0; i < SUBSCRIPTION_COUNT; i++) {
+            // A distinct plan and category per row, so any per-row lazy load would show up as extra statements
+            PlanCategory category = new PlanCategory("Category " + i);
+            entityManager.persist(category);
+            CustomPlan plan = new CustomPlan(owner, i % 4 == 0 ? null : category, 30, 99.0);
+            entityManager.persist(plan);
+            Subscription subscription = new Subscription(owner, plan, LocalDate.now().plusDays(i),
+                    LocalTime.of(12, 0), i % 2 == 0 ? active : paused);
+            entityManager.persist(subscription);
+            if (firstSubscriptionId == null) {
+                firstSubscriptionId = subscription.getSubscriptionId();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findResponseDtos_SinglePage_IssuesOneStatement() throws Throwable {
+        Page<SubscriptionResponseDto> page = assertQueryCount(1, () -> {
+            Page<SubscriptionResponseDto> result = subscriptionRepository.findResponseDtos(ownerId, null, PageRequest.of(0, 20));
+            result.getContent().forEach(row -> {
+                assertNotNull(row.getPlanName());
+                assertNotNull(row.getStatus());
+            });
+            return result;
+        });
+
+        assertEquals(SUBSCRIPTION_COUNT, page.getTotalElements());
+    }
+
+    @Test
+    void findResponseDtos_PartialPage_IssuesSelectAndCountOnly() throws Throwable {
+        Page<SubscriptionResponseDto> page = assertQueryCount(2,
+                () -> subscriptionRepository.findResponseDtos(null, "active", PageRequest.of(0, 2)));
+
+        assertEquals(2, page.getContent().size());
+        assertEquals(SUBSCRIPTION_COUNT / 2, page.getTotalElements());
+        assertTrue(page.getContent().stream().allMatch(row -> "active".equals(row.getStatus())));
+    }
+
+    @Test
+    void findResponseDtos_PlanWithoutCategory_UsesDefaultPlanName() {
+        Page<SubscriptionResponseDto> page = subscriptionRepository.findResponseDtos(ownerId, null, PageRequest.of(0, 20));
+
+        assertTrue(page.getContent().stream().anyMatch(row -> "Custom Plan".equals(row.getPlanName())));
+    }
+
+    @Test
+    void findDetailedBySubscriptionId_LoadsDetailGraphInOneStatement() throws Throwable {
+        assertQueryCount(1, () -> {
+            Optional<Subscription> found = subscriptionRepository.findDetailedBySubscriptionId(firstSubscriptionId);
+
+            assertTrue(found.isPresent());
+            Subscription subscription = found.get();
+            assertEquals(ownerId, subscription.getUser().getUserId());
+            assertEquals("active", subscription.getStatus().getStatusName());
+            assertEquals(30, subscription.getCustomPlan().getDurationMinutes());
+            assertNotNull(subscription.getCustomPlan().getCustomPlanMeals());
+            subscription.getCustomPlan().getCustomPlanMeals().size();
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package com.mealplanner.api.security;
+
+import com.mealplanner.api.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+    private ExecutorService callers;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+        if (callers != null) {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void encodeAndMatches_RunOnPoolWithBCrypt() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 4, 5_000);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void upgradeEncoding_LowerCostHash_ReturnsTrue() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(6), 1, 4, 5_000);
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.upgradeEncoding(weakHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    @Test
+    void encode_PoolAndQueueFull_RejectsImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started, release), 1, 1, 5_000);
+        callers = Executors.newFixedThreadPool(2);
+
+        // One hash running, one queued
+        callers.submit(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> encoder.encode("second"));
+        waitUntilQueued();
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                () -> encoder.encode("third"));
+        assertEquals(1, e.getRetryAfterSeconds());
+
+        release.countDown();
+    }
+
+    @Test
+    void matches_SlowerThanTimeout_ThrowsServiceUnavailable() {
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(new CountDownLatch(1), release), 1, 1, 50);
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.matches("secret", "hash"));
+        release.countDown();
+    }
+
+    private void waitUntilQueued() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (encoder.queuedTasks() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                await(release);
+                return "encoded";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                await(release);
+                return true;
+            }
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
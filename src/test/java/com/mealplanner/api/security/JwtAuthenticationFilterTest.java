@@ -0,0 +1,136 @@
+package com.mealplanner.api.security;
+
+import com.mealplanner.api.service.TokenBlacklistService;
+import com.mealplanner.api.support.JfrEvents;
+import io.jsonwebtoken.Claims;
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private JwtUtil jwtUtil;
+    private CustomUserDetailsService userDetailsService;
+    private TokenBlacklistService tokenBlacklistService;
+    private UserDetailsCache userDetailsCache;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "testSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 16);
+        jwtUtil.init();
+
+        userDetailsService = mock(CustomUserDetailsService.class);
+        tokenBlacklistService = mock(TokenBlacklistService.class);
+        userDetailsCache = new UserDetailsCache(60, 60_000L);
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenBlacklistService, userDetailsCache);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenWithIdentityClaims_AuthenticatesWithoutLoadingUser() throws Exception {
+        String token = jwtUtil.generateToken(JwtUtilTest.customUser(5, "user@example.com", "USER"));
+
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals(5, ((CustomUserDetails) authentication.getPrincipal()).getUserId());
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void legacyTokenWithoutClaims_LoadsUser() throws Exception {
+        String token = jwtUtil.generateToken(new User("user@example.com", "hash", List.of()));
+        when(userDetailsService.loadCachedUserByUsername("user@example.com"))
+                .thenReturn(JwtUtilTest.customUser(5, "user@example.com", "USER"));
+
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService).loadCachedUserByUsername("user@example.com");
+    }
+
+    @Test
+    void tokenIssuedBeforeRoleChange_ReloadsUser() throws Exception {
+        String token = jwtUtil.generateToken(JwtUtilTest.customUser(5, "user@example.com", "ADMIN"));
+        userDetailsCache.invalidate(5, "user@example.com");
+        when(userDetailsService.loadCachedUserByUsername("user@example.com"))
+                .thenReturn(JwtUtilTest.customUser(5, "user@example.com", "USER"));
+
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void blacklistedToken_IsNotAuthenticated() throws Exception {
+        String token = jwtUtil.generateToken(JwtUtilTest.customUser(5, "user@example.com", "USER"));
+        when(tokenBlacklistService.isTokenBlacklisted(any(Claims.class), eq(token))).thenReturn(true);
+
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService, never()).loadCachedUserByUsername(anyString());
+    }
+
+    @Test
+    void legacyToken_RecordsVerifyAndUserLoadEvents() throws Throwable {
+        String token = jwtUtil.generateToken(new User("user@example.com", "hash", List.of()));
+        when(userDetailsService.loadCachedUserByUsername("user@example.com"))
+                .thenReturn(JwtUtilTest.customUser(5, "user@example.com", "USER"));
+
+        List<RecordedEvent> events = JfrEvents.record(
+                () -> filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain()),
+                "com.mealplanner.JwtVerify", "com.mealplanner.UserLoad");
+
+        assertEquals(2, events.size());
+        assertEquals("com.mealplanner.JwtVerify", events.get(0).getEventType().getName());
+        assertTrue(events.get(0).getBoolean("valid"));
+        assertEquals("com.mealplanner.UserLoad", events.get(1).getEventType().getName());
+        assertEquals("no identity claims", events.get(1).getString("reason"));
+        assertTrue(events.get(1).getBoolean("found"));
+    }
+
+    @Test
+    void invalidToken_RecordsFailedVerifyEvent() throws Throwable {
+        List<RecordedEvent> events = JfrEvents.record(
+                () -> filter.doFilter(requestWithToken("not-a-jwt"), new MockHttpServletResponse(), new MockFilterChain()),
+                "com.mealplanner.JwtVerify", "com.mealplanner.UserLoad");
+
+        assertEquals(1, events.size());
+        assertFalse(events.get(0).getBoolean("valid"));
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/subscriptions");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,119 @@
+package com.mealplanner.api.security;
+
+import com.mealplanner.api.model.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong";
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(SECRET, 60_000L);
+        userDetails = new User("user@example.com", "hash", List.of());
+    }
+
+    @Test
+    void verify_ValidToken_ReturnsClaims() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        Claims claims = jwtUtil.verify(token);
+
+        assertEquals("user@example.com", claims.getSubject());
+        assertTrue(jwtUtil.validateClaims(claims, userDetails));
+        assertTrue(jwtUtil.validateToken(token, userDetails));
+    }
+
+    @Test
+    void verify_SameToken_ReusesVerifiedClaims() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        assertSame(jwtUtil.verify(token), jwtUtil.verify(token));
+    }
+
+    @Test
+    void verify_TamperedToken_Throws() {
+        String token = jwtUtil.generateToken(userDetails);
+        jwtUtil.verify(token);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+    }
+
+    @Test
+    void verify_TokenFromOtherSecret_Throws() {
+        String foreign = newJwtUtil(SECRET + "-other", 60_000L).generateToken(userDetails);
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(foreign));
+    }
+
+    @Test
+    void verify_ExpiredToken_ThrowsEvenAfterCaching() throws InterruptedException {
+        JwtUtil shortLived = newJwtUtil(SECRET, 1_000L);
+        String token = shortLived.generateToken(userDetails);
+        shortLived.verify(token);
+
+        Thread.sleep(1_100L);
+
+        assertThrows(ExpiredJwtException.class, () -> shortLived.verify(token));
+    }
+
+    @Test
+    void validateClaims_DifferentUser_ReturnsFalse() {
+        Claims claims = jwtUtil.verify(jwtUtil.generateToken(userDetails));
+
+        assertFalse(jwtUtil.validateClaims(claims, new User("other@example.com", "hash", List.of())));
+    }
+
+    @Test
+    void generateToken_ForCustomUserDetails_EmbedsIdentityClaims() {
+        Claims claims = jwtUtil.verify(jwtUtil.generateToken(customUser(7, "admin@example.com", "ADMIN")));
+
+        CustomUserDetails principal = jwtUtil.toUserDetails(claims);
+
+        assertNotNull(principal);
+        assertEquals(7, principal.getUserId());
+        assertEquals("admin@example.com", principal.getUsername());
+        assertEquals("ROLE_ADMIN", principal.getAuthorities().iterator().next().getAuthority());
+        assertNull(principal.getUser());
+    }
+
+    @Test
+    void toUserDetails_TokenWithoutIdentityClaims_ReturnsNull() {
+        Claims claims = jwtUtil.verify(jwtUtil.generateToken(userDetails));
+
+        assertNull(jwtUtil.toUserDetails(claims));
+    }
+
+    static CustomUserDetails customUser(Integer userId, String email, String roleName) {
+        com.mealplanner.api.model.User user = new com.mealplanner.api.model.User();
+        user.setUserId(userId);
+        user.setEmail(email);
+        user.setRole(new Role(roleName));
+        return new CustomUserDetails(user);
+    }
+
+    private JwtUtil newJwtUtil(String secret, long expirationMs) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", secret);
+        ReflectionTestUtils.setField(util, "expiration", expirationMs);
+        ReflectionTestUtils.setField(util, "verifiedCacheSize", 16);
+        util.init();
+        return util;
+    }
+}
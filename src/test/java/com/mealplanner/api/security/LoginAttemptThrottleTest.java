@@ -0,0 +1,76 @@
+package com.mealplanner.api.security;
+
+import com.mealplanner.api.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptThrottleTest {
+
+    private static final long WINDOW_MILLIS = 60_000;
+
+    private AtomicLong now;
+    private LoginAttemptThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000_000);
+        throttle = new LoginAttemptThrottle(3, 5, WINDOW_MILLIS, 1_000, now::get);
+    }
+
+    @Test
+    void checkAllowed_AccountOverLimitFromIp_ThrowsWithRetryAfter() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("User@Example.com", "10.0.0.1");
+        }
+        now.addAndGet(20_000);
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkAllowed("user@example.com", "10.0.0.1"));
+        assertEquals(40, e.getRetryAfterSeconds());
+    }
+
+    @Test
+    void checkAllowed_AccountOverLimitFromOtherIp_DoesNotLockOwnerOut() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("user@example.com", "10.0.0.1");
+        }
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("user@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void checkAllowed_IpOverLimit_BlocksOtherAccounts() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThrows(TooManyRequestsException.class,
+                () -> throttle.checkAllowed("someone@example.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.checkAllowed("someone@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void checkAllowed_WindowOver_AllowsAgain() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("user@example.com", "10.0.0.1");
+        }
+        now.addAndGet(WINDOW_MILLIS);
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("user@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    void recordSuccess_ClearsAccountFailuresFromThatIp() {
+        throttle.recordFailure("user@example.com", "10.0.0.1");
+        throttle.recordFailure("user@example.com", "10.0.0.1");
+        throttle.recordSuccess("user@example.com", "10.0.0.1");
+        throttle.recordFailure("user@example.com", "10.0.0.1");
+        throttle.recordFailure("user@example.com", "10.0.0.1");
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("user@example.com", "10.0.0.1"));
+    }
+}
@@ -0,0 +1,83 @@
+package com.mealplanner.api.security;
+
+import com.mealplanner.api.exception.TooManyRequestsException;
+import com.mealplanner.api.util.TokenBucketLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class RateLimitFilterTest {
+
+    private AtomicLong now;
+    private HandlerExceptionResolver exceptionResolver;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(0);
+        exceptionResolver = mock(HandlerExceptionResolver.class);
+        filter = new RateLimitFilter(exceptionResolver, List.of(
+                new RateLimitFilter.Rule("POST", List.of("/api/v1/users/login"),
+                        new TokenBucketLimiter(2, 2, 100, 4, now::get)),
+                new RateLimitFilter.Rule("GET", List.of("/api/meals/**"),
+                        new TokenBucketLimiter(1, 60, 100, 4, now::get))));
+    }
+
+    @Test
+    void doFilter_OverLimit_ResolvesTooManyRequestsWithoutCallingChain() throws Exception {
+        assertPasses(request("POST", "/api/v1/users/login", "10.0.0.1"));
+        assertPasses(request("POST", "/api/v1/users/login", "10.0.0.1"));
+
+        MockHttpServletRequest request = request("POST", "/api/v1/users/login", "10.0.0.1");
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNull(chain.getRequest());
+        ArgumentCaptor<Exception> captor = ArgumentCaptor.forClass(Exception.class);
+        verify(exceptionResolver).resolveException(eq(request), any(), isNull(), captor.capture());
+        TooManyRequestsException e = assertInstanceOf(TooManyRequestsException.class, captor.getValue());
+        // Two tokens per minute: the next one is 30 seconds away
+        assertEquals(30, e.getRetryAfterSeconds());
+    }
+
+    @Test
+    void doFilter_LimitsPerClientIp() throws Exception {
+        assertPasses(request("GET", "/api/meals/5", "10.0.0.1"));
+        assertPasses(request("GET", "/api/meals/5", "10.0.0.2"));
+        verifyNoInteractions(exceptionResolver);
+    }
+
+    @Test
+    void doFilter_UnmatchedMethodOrPath_NotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertPasses(request("GET", "/api/v1/users/login", "10.0.0.1"));
+            assertPasses(request("GET", "/api/subscriptions", "10.0.0.1"));
+        }
+        verifyNoInteractions(exceptionResolver);
+    }
+
+    private void assertPasses(MockHttpServletRequest request) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertSame(request, chain.getRequest());
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+}
@@ -41,7 +41,7 @@ class AuthorizationTest {
     private NutritionFactRepository nutritionFactRepository;
 
     @Mock
-    private AllergyRepository allergyRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @Mock
     private MealAllergyRepository mealAllergyRepository;
@@ -49,9 +49,6 @@ class AuthorizationTest {
     @Mock
     private CustomPlanRepository customPlanRepository;
 
-    @Mock
-    private PlanCategoryRepository planCategoryRepository;
-
     @Mock
     private CustomPlanMealRepository customPlanMealRepository;
 
@@ -61,9 +58,6 @@ class AuthorizationTest {
     @Mock
     private SubscriptionRepository subscriptionRepository;
 
-    @Mock
-    private SubscriptionStatusRepository subscriptionStatusRepository;
-
     @InjectMocks
     private MealService mealService;
 
@@ -138,7 +132,7 @@ class AuthorizationTest {
 
     @Test
     void testUserCannotAccessOtherUsersSubscription() {
-        when(subscriptionRepository.findById(2)).thenReturn(Optional.of(otherUserSubscription));
+        when(subscriptionRepository.findDetailedBySubscriptionId(2)).thenReturn(Optional.of(otherUserSubscription));
 
         assertThrows(ForbiddenException.class, () -> {
             subscriptionService.getSubscriptionById(2, regularUser.getUserId(), false);
@@ -147,7 +141,7 @@ class AuthorizationTest {
 
     @Test
     void testUserCanAccessOwnSubscription() {
-        when(subscriptionRepository.findById(1)).thenReturn(Optional.of(userSubscription));
+        when(subscriptionRepository.findDetailedBySubscriptionId(1)).thenReturn(Optional.of(userSubscription));
 
         SubscriptionDetailDto result = subscriptionService.getSubscriptionById(1, regularUser.getUserId(), false);
 
@@ -170,7 +164,7 @@ class AuthorizationTest {
     @Test
     void testUserCanModifyOwnPlan() {
         when(customPlanRepository.findById(1)).thenReturn(Optional.of(userPlan));
-        when(planCategoryRepository.findById(1)).thenReturn(Optional.of(userPlan.getCategory()));
+        when(referenceDataRegistry.findPlanCategory(1)).thenReturn(Optional.of(userPlan.getCategory()));
         when(customPlanRepository.save(any(CustomPlan.class))).thenReturn(userPlan);
 
         UpdateCustomPlanDto updateDto = new UpdateCustomPlanDto();
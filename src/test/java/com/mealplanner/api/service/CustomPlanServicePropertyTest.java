@@ -37,7 +37,7 @@ public class CustomPlanServicePropertyTest {
     void filterByCategoryReturnsOnlyPlansInThatCategory(@ForAll("validCategoryIds") Integer categoryId) {
         // Setup mocks
         CustomPlanRepository customPlanRepository = mock(CustomPlanRepository.class);
-        PlanCategoryRepository planCategoryRepository = mock(PlanCategoryRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         CustomPlanMealRepository customPlanMealRepository = mock(CustomPlanMealRepository.class);
         MealRepository mealRepository = mock(MealRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
@@ -45,7 +45,7 @@ public class CustomPlanServicePropertyTest {
 
         CustomPlanService customPlanService = new CustomPlanService(
             customPlanRepository,
-            planCategoryRepository,
+            referenceDataRegistry,
             customPlanMealRepository,
             mealRepository,
             userRepository,
@@ -116,7 +116,7 @@ public class CustomPlanServicePropertyTest {
         
         // Setup mocks
         CustomPlanRepository customPlanRepository = mock(CustomPlanRepository.class);
-        PlanCategoryRepository planCategoryRepository = mock(PlanCategoryRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         CustomPlanMealRepository customPlanMealRepository = mock(CustomPlanMealRepository.class);
         MealRepository mealRepository = mock(MealRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
@@ -124,7 +124,7 @@ public class CustomPlanServicePropertyTest {
 
         CustomPlanService customPlanService = new CustomPlanService(
             customPlanRepository,
-            planCategoryRepository,
+            referenceDataRegistry,
             customPlanMealRepository,
             mealRepository,
             userRepository,
@@ -276,7 +276,7 @@ public class CustomPlanServicePropertyTest {
         
         // Setup mocks
         CustomPlanRepository customPlanRepository = mock(CustomPlanRepository.class);
-        PlanCategoryRepository planCategoryRepository = mock(PlanCategoryRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         CustomPlanMealRepository customPlanMealRepository = mock(CustomPlanMealRepository.class);
         MealRepository mealRepository = mock(MealRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
@@ -284,7 +284,7 @@ public class CustomPlanServicePropertyTest {
 
         CustomPlanService customPlanService = new CustomPlanService(
             customPlanRepository,
-            planCategoryRepository,
+            referenceDataRegistry,
             customPlanMealRepository,
             mealRepository,
             userRepository,
@@ -305,7 +305,7 @@ public class CustomPlanServicePropertyTest {
         // Mock repository responses
         when(userRepository.findById(userId))
             .thenReturn(java.util.Optional.of(user));
-        when(planCategoryRepository.findById(categoryId))
+        when(referenceDataRegistry.findPlanCategory(categoryId))
             .thenReturn(java.util.Optional.of(category));
         
         // Capture the saved plan to verify user association
@@ -405,7 +405,7 @@ public class CustomPlanServicePropertyTest {
         
         // Setup mocks
         CustomPlanRepository customPlanRepository = mock(CustomPlanRepository.class);
-        PlanCategoryRepository planCategoryRepository = mock(PlanCategoryRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         CustomPlanMealRepository customPlanMealRepository = mock(CustomPlanMealRepository.class);
         MealRepository mealRepository = mock(MealRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
@@ -413,7 +413,7 @@ public class CustomPlanServicePropertyTest {
 
         CustomPlanService customPlanService = new CustomPlanService(
             customPlanRepository,
-            planCategoryRepository,
+            referenceDataRegistry,
             customPlanMealRepository,
             mealRepository,
             userRepository,
@@ -519,7 +519,7 @@ public class CustomPlanServicePropertyTest {
         
         // Setup mocks
         CustomPlanRepository customPlanRepository = mock(CustomPlanRepository.class);
-        PlanCategoryRepository planCategoryRepository = mock(PlanCategoryRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         CustomPlanMealRepository customPlanMealRepository = mock(CustomPlanMealRepository.class);
         MealRepository mealRepository = mock(MealRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
@@ -527,7 +527,7 @@ public class CustomPlanServicePropertyTest {
 
         CustomPlanService customPlanService = new CustomPlanService(
             customPlanRepository,
-            planCategoryRepository,
+            referenceDataRegistry,
             customPlanMealRepository,
             mealRepository,
             userRepository,
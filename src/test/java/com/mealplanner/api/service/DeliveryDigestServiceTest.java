@@ -0,0 +1,171 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.model.*;
+import com.mealplanner.api.repository.DeliveryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+class DeliveryDigestServiceTest {
+
+    private DeliveryRepository deliveryRepository;
+    private EmailService emailService;
+    private PlatformTransactionManager transactionManager;
+    private DeliveryDigestService digestService;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        deliveryRepository = mock(DeliveryRepository.class);
+        emailService = mock(EmailService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        digestService = new DeliveryDigestService(deliveryRepository, emailService, transactionManager);
+        ReflectionTestUtils.setField(digestService, "batchPauseMillis", 0L);
+
+        alice = user(1, "alice@example.com", "Alice");
+        bob = user(2, "bob@example.com", "Bob");
+    }
+
+    @AfterEach
+    void tearDown() {
+        digestService.shutdown();
+    }
+
+    @Test
+    void flush_CollapsesStatusChangesToOneLinePerDeliveryAndOneDigestPerUser() {
+        givenDeliveries(delivery(10, alice, LocalDate.of(2024, 1, 15)), delivery(11, alice, LocalDate.of(2024, 1, 16)),
+                delivery(20, bob, LocalDate.of(2024, 1, 15)));
+        LocalDateTime t = LocalDateTime.of(2024, 1, 15, 8, 0);
+        digestService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(10, "SHIPPED", t));
+        digestService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(10, "DELIVERED", t.plusHours(2)));
+        digestService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(10, "CONFIRMED", t.plusHours(3)));
+        digestService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(11, "SHIPPED", t));
+        digestService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(20, "DELIVERED", t));
+
+        int queued = digestService.flush();
+
+        assertEquals(2, queued);
+        ArgumentCaptor<List<String>> aliceLines = ArgumentCaptor.forClass(List.class);
+        verify(emailService).sendDeliveryDigest(eq("alice@example.com"), eq("Alice"), aliceLines.capture());
+        assertEquals(2, aliceLines.getValue().size());
+        assertTrue(aliceLines.getValue().get(0).endsWith("confirmed, thank you"));
+        assertTrue(aliceLines.getValue().get(1).endsWith("on its way"));
+        verify(emailService).sendDeliveryDigest(eq("bob@example.com"), eq("Bob"), eq(List.of("Mon, Jan 15 at 18:00 (Salad): delivered")));
+    }
+
+    @Test
+    void onDeliveryStatusChanged_OutOfOrderEvent_KeepsLatestStatus() {
+        givenDeliveries(delivery(10, alice, LocalDate.of(2024, 1, 15)));
+        LocalDateTime t = LocalDateTime.of(2024, 1, 15, 8, 0);
+        digestService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(10, "DELIVERED", t.plusHours(2)));
+        digestService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(10, "SHIPPED", t));
+
+        digestService.flush();
+
+        verify(emailService).sendDeliveryDigest(anyString(), anyString(),
+                argThat(lines -> lines.size() == 1 && lines.get(0).endsWith("delivered")));
+    }
+
+    @Test
+    void flush_QueuesDigestsInBatchesEachInItsOwnTransaction() {
+        ReflectionTestUtils.setField(digestService, "batchSize", 2);
+        User carol = user(3, "carol@example.com", "Carol");
+        givenDeliveries(delivery(10, alice, LocalDate.of(2024, 1, 15)), delivery(20, bob, LocalDate.of(2024, 1, 15)),
+                delivery(30, carol, LocalDate.of(2024, 1, 15)));
+        for (int id : new int[] {10, 20, 30}) {
+            digestService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(id, "SHIPPED", LocalDateTime.now()));
+        }
+
+        assertEquals(3, digestService.flush());
+
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(emailService, times(3)).sendDeliveryDigest(anyString(), anyString(), anyList());
+    }
+
+    @Test
+    void scheduledFlush_QueuesOnDigestThread() {
+        givenDeliveries(delivery(10, alice, LocalDate.of(2024, 1, 15)));
+        digestService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(10, "SHIPPED", LocalDateTime.now()));
+        AtomicReference<String> thread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return null;
+        }).when(emailService).sendDeliveryDigest(anyString(), anyString(), anyList());
+
+        digestService.scheduledFlush();
+
+        verify(emailService, timeout(5_000)).sendDeliveryDigest(eq("alice@example.com"), eq("Alice"), anyList());
+        assertEquals("delivery-digest", thread.get());
+    }
+
+    @Test
+    void flush_StartsNewWindowAndSkipsWhenEmpty() {
+        givenDeliveries(delivery(10, alice, LocalDate.of(2024, 1, 15)));
+        digestService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(10, "SHIPPED", LocalDateTime.now()));
+
+        assertEquals(1, digestService.flush());
+        assertEquals(0, digestService.flush());
+
+        verify(deliveryRepository, times(1)).findForDigestByDeliveryIdIn(anyCollection());
+    }
+
+    @Test
+    void onDeliveryStatusChanged_BufferFull_DropsNewDeliveries() {
+        ReflectionTestUtils.setField(digestService, "maxPending", 1);
+        givenDeliveries(delivery(10, alice, LocalDate.of(2024, 1, 15)));
+        digestService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(10, "SHIPPED", LocalDateTime.now()));
+        digestService.onDeliveryStatusChanged(new DeliveryStatusChangedEvent(11, "SHIPPED", LocalDateTime.now()));
+
+        digestService.flush();
+
+        verify(deliveryRepository).findForDigestByDeliveryIdIn(argThat(ids -> ids.size() == 1 && ids.contains(10)));
+    }
+
+    private void givenDeliveries(Delivery... deliveries) {
+        when(deliveryRepository.findForDigestByDeliveryIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            return java.util.Arrays.stream(deliveries).filter(d -> ids.contains(d.getDeliveryId())).toList();
+        });
+    }
+
+    private static User user(int id, String email, String fullName) {
+        User user = new User();
+        user.setUserId(id);
+        user.setEmail(email);
+        user.setFullName(fullName);
+        return user;
+    }
+
+    private static Delivery delivery(int id, User owner, LocalDate date) {
+        Subscription subscription = new Subscription();
+        subscription.setUser(owner);
+        Meal meal = new Meal();
+        meal.setMealName("Salad");
+        SubscriptionMeal subscriptionMeal = new SubscriptionMeal();
+        subscriptionMeal.setSubscription(subscription);
+        subscriptionMeal.setMeal(meal);
+        subscriptionMeal.setDeliveryDate(date);
+        Delivery delivery = new Delivery();
+        delivery.setDeliveryId(id);
+        delivery.setSubscriptionMeal(subscriptionMeal);
+        delivery.setDeliveryTime(LocalTime.of(18, 0));
+        return delivery;
+    }
+}
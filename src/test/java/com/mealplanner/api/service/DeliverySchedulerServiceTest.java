@@ -0,0 +1,153 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.model.*;
+import com.mealplanner.api.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Status progression and delivery creation on a fixed clock, at the edges of the shipping and delivery times.
+ */
+@ExtendWith(MockitoExtension.class)
+class DeliverySchedulerServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 14);
+    private static final LocalTime PREFERRED_TIME = LocalTime.of(18, 0);
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private SubscriptionMealRepository subscriptionMealRepository;
+
+    @Mock
+    private DeliveryRepository deliveryRepository;
+
+    @Mock
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @Mock
+    private SubscriptionHoldRepository subscriptionHoldRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private DeliverySchedulerService schedulerService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(schedulerService, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    @Test
+    void progressDeliveryStatus_PreparingBeforeShipTime_StaysPreparing() {
+        useClock(TODAY.atTime(15, 59));
+        Delivery delivery = delivery("PREPARING");
+
+        assertFalse(schedulerService.progressDeliveryStatus(delivery));
+
+        assertEquals("PREPARING", delivery.getStatus().getStatusName());
+        verifyNoInteractions(deliveryRepository, eventPublisher);
+    }
+
+    @Test
+    void progressDeliveryStatus_PreparingAtShipTime_ShipsWithClockTimestamp() {
+        LocalDateTime now = TODAY.atTime(16, 0);
+        useClock(now);
+        stubStatus("SHIPPED");
+        Delivery delivery = delivery("PREPARING");
+
+        assertTrue(schedulerService.progressDeliveryStatus(delivery));
+
+        assertEquals("SHIPPED", delivery.getStatus().getStatusName());
+        assertEquals(now, delivery.getStatusUpdatedAt());
+        verify(eventPublisher).publishEvent(new DeliveryStatusChangedEvent(7, "SHIPPED", now));
+    }
+
+    @Test
+    void progressDeliveryStatus_ShippedAtPreferredTime_Delivers() {
+        useClock(TODAY.atTime(PREFERRED_TIME));
+        stubStatus("DELIVERED");
+        Delivery delivery = delivery("SHIPPED");
+
+        assertTrue(schedulerService.progressDeliveryStatus(delivery));
+
+        assertEquals("DELIVERED", delivery.getStatus().getStatusName());
+    }
+
+    @Test
+    void progressDeliveryStatus_PreparingPastPreferredTime_CatchesUpToDelivered() {
+        useClock(TODAY.atTime(18, 1));
+        stubStatus("DELIVERED");
+        Delivery delivery = delivery("PREPARING");
+
+        assertTrue(schedulerService.progressDeliveryStatus(delivery));
+
+        assertEquals("DELIVERED", delivery.getStatus().getStatusName());
+    }
+
+    @Test
+    void createDailyDeliveries_UsesClockDate() {
+        LocalDateTime now = TODAY.atStartOfDay();
+        useClock(now);
+        User user = new User();
+        user.setAddress("1 Clock Street");
+        Subscription subscription = new Subscription();
+        subscription.setSubscriptionId(3);
+        subscription.setUser(user);
+        subscription.setPreferredTime(PREFERRED_TIME);
+        SubscriptionMeal subscriptionMeal = new SubscriptionMeal();
+        when(subscriptionRepository.findByStatus_StatusName("active")).thenReturn(List.of(subscription));
+        when(subscriptionHoldRepository.findHoldRangesEndingOnOrAfter(TODAY)).thenReturn(List.of());
+        when(subscriptionMealRepository.findBySubscription_SubscriptionIdAndDeliveryDate(3, TODAY))
+                .thenReturn(List.of(subscriptionMeal));
+        stubStatus("PREPARING");
+
+        schedulerService.createDailyDeliveries();
+
+        ArgumentCaptor<Delivery> saved = ArgumentCaptor.forClass(Delivery.class);
+        verify(deliveryRepository).save(saved.capture());
+        assertEquals(now, saved.getValue().getCreatedAt());
+        assertEquals(PREFERRED_TIME, saved.getValue().getDeliveryTime());
+        assertSame(subscriptionMeal, saved.getValue().getSubscriptionMeal());
+    }
+
+    private void useClock(LocalDateTime now) {
+        ReflectionTestUtils.setField(schedulerService, "clock",
+                Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    private void stubStatus(String statusName) {
+        when(referenceDataRegistry.findDeliveryStatus(statusName)).thenReturn(Optional.of(new DeliveryStatus(statusName)));
+        lenient().when(deliveryRepository.save(any(Delivery.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static Delivery delivery(String statusName) {
+        Delivery delivery = new Delivery();
+        delivery.setDeliveryId(7);
+        delivery.setDeliveryTime(PREFERRED_TIME);
+        delivery.setStatus(new DeliveryStatus(statusName));
+        return delivery;
+    }
+}
@@ -0,0 +1,81 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.config.ClockConfig;
+import com.mealplanner.api.config.SecondLevelCacheConfig;
+import com.mealplanner.api.dto.DeliveryResponseDto;
+import com.mealplanner.api.model.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static com.mealplanner.api.support.QueryCountAssertions.assertQueryCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Statement counts for the customer delivery read paths, run against H2 with the real repositories.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({DeliveryService.class, ReferenceDataRegistry.class, ClockConfig.class, SecondLevelCacheConfig.class})
+class DeliveryServiceQueryCountTest {
+
+    private static final int MEALS_PER_DAY = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    private Integer userId;
+
+    @BeforeEach
+    void setUp() {
+        Role role = new Role("USER");
+        entityManager.persist(role);
+        User user = new User("Customer", "customer@example.com", "hash", role);
+        entityManager.persist(user);
+        userId = user.getUserId();
+
+        SubscriptionStatus active = new SubscriptionStatus("active");
+        entityManager.persist(active);
+        DeliveryStatus preparing = new DeliveryStatus("PREPARING");
+        entityManager.persist(preparing);
+
+        Subscription subscription = new Subscription(user, null, LocalDate.now(), LocalTime.of(12, 0), active);
+        entityManager.persist(subscription);
+
+        SubscriptionMeal first = null;
+        for (int i = 0; i < MEALS_PER_DAY; i++) {
+            Meal meal = new Meal("Meal " + i, "Recipe", null);
+            entityManager.persist(meal);
+            SubscriptionMeal subscriptionMeal = new SubscriptionMeal(subscription, meal, LocalDate.now());
+            entityManager.persist(subscriptionMeal);
+            if (first == null) {
+                first = subscriptionMeal;
+            }
+        }
+        entityManager.persist(new Delivery(first, "1 Test Street", LocalTime.of(12, 0), preparing));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getCurrentDelivery_StatementCountDoesNotGrow() throws Throwable {
+        // The delivery with its subscription meal and status, then the day's subscription meals with their meals
+        // and deliveries: two statements however many meals the day has
+        DeliveryResponseDto dto = assertQueryCount(2, () -> deliveryService.getCurrentDelivery(userId));
+
+        assertEquals(MEALS_PER_DAY, dto.getMeals().size());
+        assertEquals("PREPARING", dto.getStatus());
+    }
+}
@@ -13,10 +13,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -35,7 +38,7 @@ class DeliveryServiceTest {
     private DeliveryRepository deliveryRepository;
 
     @Mock
-    private DeliveryStatusRepository deliveryStatusRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @Mock
     private SubscriptionRepository subscriptionRepository;
@@ -43,6 +46,9 @@ class DeliveryServiceTest {
     @Mock
     private SubscriptionMealRepository subscriptionMealRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private DeliveryService deliveryService;
 
@@ -55,6 +61,8 @@ class DeliveryServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(deliveryService, "clock", Clock.systemDefaultZone());
+
         // Setup user
         user = new User();
         user.setUserId(1);
@@ -105,7 +113,7 @@ class DeliveryServiceTest {
         when(subscriptionRepository.findById(1)).thenReturn(Optional.of(subscription));
         when(subscriptionMealRepository.findBySubscription_SubscriptionIdAndDeliveryDate(1, deliveryDate))
                 .thenReturn(meals);
-        when(deliveryStatusRepository.findByStatusName("PREPARING")).thenReturn(Optional.of(preparingStatus));
+        when(referenceDataRegistry.findDeliveryStatus("PREPARING")).thenReturn(Optional.of(preparingStatus));
         when(deliveryRepository.save(any())).thenReturn(delivery);
 
         // Act
@@ -408,7 +416,7 @@ class DeliveryServiceTest {
         List<SubscriptionMeal> meals = List.of(subscriptionMeal);
 
         when(deliveryRepository.findById(1)).thenReturn(Optional.of(delivery));
-        when(deliveryStatusRepository.findByStatusName("CONFIRMED")).thenReturn(Optional.of(confirmedStatus));
+        when(referenceDataRegistry.findDeliveryStatus("CONFIRMED")).thenReturn(Optional.of(confirmedStatus));
         when(deliveryRepository.save(any())).thenReturn(delivery);
         when(subscriptionMealRepository.findBySubscription_SubscriptionIdAndDeliveryDate(1, LocalDate.now()))
                 .thenReturn(meals);
@@ -419,7 +427,7 @@ class DeliveryServiceTest {
         // Assert
         assertNotNull(result);
         verify(deliveryRepository, times(1)).save(any());
-        verify(deliveryStatusRepository, times(1)).findByStatusName("CONFIRMED");
+        verify(referenceDataRegistry, times(1)).findDeliveryStatus("CONFIRMED");
     }
 
     @Test
@@ -485,7 +493,7 @@ class DeliveryServiceTest {
         assertNotNull(result.getConfirmedAt());
         // Should not attempt to save or update status again
         verify(deliveryRepository, never()).save(any());
-        verify(deliveryStatusRepository, never()).findByStatusName("CONFIRMED");
+        verify(referenceDataRegistry, never()).findDeliveryStatus("CONFIRMED");
     }
 
     @Test
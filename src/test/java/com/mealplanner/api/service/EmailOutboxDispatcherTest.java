@@ -0,0 +1,237 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.model.EmailOutboxMessage;
+import com.mealplanner.api.repository.EmailOutboxRepository;
+import com.mealplanner.api.support.FakeSmtpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+class EmailOutboxDispatcherTest {
+
+    private FakeSmtpServer smtpServer;
+    private EmailOutboxRepository emailOutboxRepository;
+    private EmailOutboxDispatcher dispatcher;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtpServer = new FakeSmtpServer();
+        meterRegistry = new SimpleMeterRegistry();
+        emailOutboxRepository = mock(EmailOutboxRepository.class);
+        when(emailOutboxRepository.claim(anyCollection(), anyString(), any(), any()))
+                .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).size());
+        when(emailOutboxRepository.markSent(anyCollection(), anyString(), any()))
+                .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).size());
+        when(emailOutboxRepository.markFailed(anyLong(), anyString(), anyString(), anyInt(), any(), any()))
+                .thenReturn(1);
+        dispatcher = newDispatcher(1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        dispatcher.shutdown();
+        smtpServer.close();
+    }
+
+    @Test
+    void dispatch_SendsBatchOverOneConnectionAndMarksSent() throws Exception {
+        List<EmailOutboxMessage> rows = pending(1L, 2L, 3L);
+        givenDue(rows);
+
+        int attempted = dispatchAndWait();
+
+        assertEquals(3, attempted);
+        assertEquals(3, smtpServer.getMessages().size());
+        assertEquals(1, smtpServer.getConnectionCount());
+        assertEquals(List.of("user1@example.com"), smtpServer.getMessages().get(0).recipients());
+        String claimToken = claimToken();
+        verify(emailOutboxRepository).markSent(eq(List.of(1L, 2L, 3L)), eq(claimToken), any());
+        verify(emailOutboxRepository, never()).markFailed(anyLong(), anyString(), anyString(), anyInt(), any(), any());
+    }
+
+    @Test
+    void dispatch_SplitsClaimedMessagesAcrossWorkers() throws Exception {
+        dispatcher.shutdown();
+        dispatcher = newDispatcher(2);
+        givenDue(pending(1L, 2L, 3L, 4L));
+
+        dispatchAndWait();
+
+        assertEquals(4, smtpServer.getMessages().size());
+        assertEquals(2, smtpServer.getConnectionCount());
+    }
+
+    @Test
+    void dispatch_RejectedRecipient_SchedulesRetryWithBackoff() throws Exception {
+        smtpServer.reject("user2@example.com");
+        List<EmailOutboxMessage> rows = pending(1L, 2L, 3L);
+        givenDue(rows);
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatchAndWait();
+
+        String claimToken = claimToken();
+        verify(emailOutboxRepository).markSent(eq(List.of(1L, 3L)), eq(claimToken), any());
+        EmailOutboxMessage failed = rows.get(1);
+        verify(emailOutboxRepository).markFailed(eq(2L), eq(claimToken), eq(EmailOutboxMessage.STATUS_PENDING), eq(1),
+                anyString(), eq(failed.getNextAttemptAt()));
+        assertEquals(EmailOutboxMessage.STATUS_PENDING, failed.getStatus());
+        assertEquals(1, failed.getAttempts());
+        assertNull(failed.getClaimToken());
+        assertFalse(failed.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+        assertEquals(2, meterRegistry.get("email.outbox.messages").tag("result", "sent").counter().count());
+        assertEquals(1, meterRegistry.get("email.outbox.messages").tag("result", "retry").counter().count());
+        assertEquals(1, meterRegistry.get("email.send").tag("outcome", "partial").timer().count());
+    }
+
+    @Test
+    void dispatch_ServerUnreachable_FailsWholeBatch() throws Exception {
+        smtpServer.close();
+        List<EmailOutboxMessage> rows = pending(1L, 2L);
+        givenDue(rows);
+
+        dispatchAndWait();
+
+        String claimToken = claimToken();
+        verify(emailOutboxRepository, never()).markSent(anyCollection(), anyString(), any());
+        verify(emailOutboxRepository, times(2)).markFailed(anyLong(), eq(claimToken), anyString(), eq(1), anyString(), any());
+        assertTrue(rows.stream().allMatch(row -> row.getAttempts() == 1 && row.getLastError() != null));
+    }
+
+    @Test
+    void dispatch_LastAttemptFails_MarksFailed() throws Exception {
+        smtpServer.reject("user1@example.com");
+        List<EmailOutboxMessage> rows = pending(1L);
+        rows.get(0).setAttempts(7);
+        givenDue(rows);
+
+        dispatchAndWait();
+
+        assertEquals(EmailOutboxMessage.STATUS_FAILED, rows.get(0).getStatus());
+        assertEquals(8, rows.get(0).getAttempts());
+        String claimToken = claimToken();
+        verify(emailOutboxRepository).markFailed(eq(1L), eq(claimToken), eq(EmailOutboxMessage.STATUS_FAILED), eq(8),
+                anyString(), any());
+    }
+
+    @Test
+    void dispatch_ClaimLostBeforeRecording_CountsOnlyRowsStillHeld() throws Exception {
+        smtpServer.reject("user3@example.com");
+        givenDue(pending(1L, 2L, 3L));
+        when(emailOutboxRepository.markSent(anyCollection(), anyString(), any())).thenReturn(1);
+        when(emailOutboxRepository.markFailed(anyLong(), anyString(), anyString(), anyInt(), any(), any()))
+                .thenReturn(0);
+
+        dispatchAndWait();
+
+        assertEquals(1, meterRegistry.get("email.outbox.messages").tag("result", "sent").counter().count());
+        assertEquals(0, meterRegistry.get("email.outbox.messages").tag("result", "retry").counter().count());
+    }
+
+    @Test
+    void dispatch_NothingDue_DoesNotClaim() throws Exception {
+        when(emailOutboxRepository.findDueIds(any(), any())).thenReturn(List.of());
+
+        assertEquals(0, dispatchAndWait());
+
+        verify(emailOutboxRepository, never()).claim(anyCollection(), anyString(), any(), any());
+        assertEquals(0, smtpServer.getConnectionCount());
+    }
+
+    @Test
+    void dispatch_PreviousRoundStillSending_SkipsWithoutClaiming() throws Exception {
+        CountDownLatch recording = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(emailOutboxRepository.markSent(anyCollection(), anyString(), any())).thenAnswer(invocation -> {
+            recording.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ((Collection<Long>) invocation.getArgument(0)).size();
+        });
+        givenDue(pending(1L));
+
+        assertEquals(1, dispatcher.dispatch());
+        assertTrue(recording.await(5, TimeUnit.SECONDS));
+        assertEquals(0, dispatcher.dispatch());
+        release.countDown();
+        awaitIdle();
+
+        verify(emailOutboxRepository, times(1)).claim(anyCollection(), anyString(), any(), any());
+        assertEquals(1, dispatchAndWait());
+    }
+
+    @Test
+    void backoffMillis_DoublesUpToCap() {
+        ReflectionTestUtils.setField(dispatcher, "backoffMaxMillis", 200_000L);
+
+        assertTrue(dispatcher.backoffMillis(1) >= 30_000 && dispatcher.backoffMillis(1) <= 36_000);
+        assertTrue(dispatcher.backoffMillis(2) >= 60_000 && dispatcher.backoffMillis(2) <= 72_000);
+        assertTrue(dispatcher.backoffMillis(10) >= 200_000 && dispatcher.backoffMillis(10) <= 240_000);
+    }
+
+    private int dispatchAndWait() throws InterruptedException {
+        int attempted = dispatcher.dispatch();
+        awaitIdle();
+        return attempted;
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!dispatcher.isIdle() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(dispatcher.isIdle());
+    }
+
+    /**
+     * The token the dispatcher claimed its rows under.
+     */
+    private String claimToken() {
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(emailOutboxRepository).claim(anyCollection(), token.capture(), any(), any());
+        return token.getValue();
+    }
+
+    private EmailOutboxDispatcher newDispatcher(int workers) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+        return new EmailOutboxDispatcher(emailOutboxRepository, mailSender, mock(PlatformTransactionManager.class), workers,
+                meterRegistry);
+    }
+
+    private void givenDue(List<EmailOutboxMessage> rows) {
+        when(emailOutboxRepository.findDueIds(any(), any()))
+                .thenReturn(rows.stream().map(EmailOutboxMessage::getId).toList());
+        when(emailOutboxRepository.findByClaimTokenOrderByIdAsc(anyString())).thenReturn(rows);
+    }
+
+    private static List<EmailOutboxMessage> pending(Long... ids) {
+        List<EmailOutboxMessage> rows = new ArrayList<>();
+        for (Long id : ids) {
+            EmailOutboxMessage row = new EmailOutboxMessage("user" + id + "@example.com", "Subject " + id, "Body " + id);
+            row.setId(id);
+            rows.add(row);
+        }
+        return rows;
+    }
+}
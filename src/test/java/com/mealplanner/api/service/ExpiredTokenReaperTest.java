@@ -0,0 +1,141 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.dto.TokenPurgeStatsDto;
+import com.mealplanner.api.repository.BlacklistedTokenRepository;
+import com.mealplanner.api.repository.EmailVerificationTokenRepository;
+import com.mealplanner.api.repository.PasswordResetTokenRepository;
+import com.mealplanner.api.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExpiredTokenReaperTest {
+
+    private BlacklistedTokenRepository blacklistedTokenRepository;
+    private RefreshTokenRepository refreshTokenRepository;
+    private EmailVerificationTokenRepository emailVerificationTokenRepository;
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    private ExpiredTokenReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        blacklistedTokenRepository = mock(BlacklistedTokenRepository.class);
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        emailVerificationTokenRepository = mock(EmailVerificationTokenRepository.class);
+        passwordResetTokenRepository = mock(PasswordResetTokenRepository.class);
+        reaper = new ExpiredTokenReaper(blacklistedTokenRepository, refreshTokenRepository,
+                emailVerificationTokenRepository, passwordResetTokenRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(reaper, "chunkSize", 2);
+        ReflectionTestUtils.setField(reaper, "pauseMillis", 0L);
+
+        when(blacklistedTokenRepository.findExpiredIds(any(), any(), any())).thenReturn(List.of());
+        when(refreshTokenRepository.findExpiredIds(any(), any(), any())).thenReturn(List.of());
+        when(emailVerificationTokenRepository.findExpiredIds(any(), any(), any())).thenReturn(List.of());
+        when(passwordResetTokenRepository.findExpiredIds(any(), any(), any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        reaper.shutdown();
+    }
+
+    @Test
+    void reap_DeletesInKeysetOrderedChunks() {
+        when(refreshTokenRepository.findExpiredIds(eq(0), any(), any())).thenReturn(List.of(3, 8));
+        when(refreshTokenRepository.findExpiredIds(eq(8), any(), any())).thenReturn(List.of(9, 15));
+        when(refreshTokenRepository.findExpiredIds(eq(15), any(), any())).thenReturn(List.of(20));
+        when(refreshTokenRepository.deleteByIdIn(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        List<TokenPurgeStatsDto> stats = reaper.reap();
+
+        verify(refreshTokenRepository).deleteByIdIn(List.of(3, 8));
+        verify(refreshTokenRepository).deleteByIdIn(List.of(9, 15));
+        verify(refreshTokenRepository).deleteByIdIn(List.of(20));
+        // The short last chunk ends the table without another read
+        verify(refreshTokenRepository, never()).findExpiredIds(eq(20), any(), any());
+
+        TokenPurgeStatsDto refreshStats = stats(stats, "refresh_tokens");
+        assertEquals(5, refreshStats.getLastRunPurged());
+        assertEquals(3, refreshStats.getLastRunChunks());
+        assertNotNull(refreshStats.getLastRunAt());
+    }
+
+    @Test
+    void reap_UsesSameCutoffAndChunkSizeForEveryTable() {
+        reaper.reap();
+
+        verify(blacklistedTokenRepository).findExpiredIds(eq(0), any(LocalDateTime.class),
+                argThat((Pageable page) -> page.getPageSize() == 2));
+        verify(emailVerificationTokenRepository).findExpiredIds(eq(0), any(LocalDateTime.class), any());
+        verify(passwordResetTokenRepository).findExpiredIds(eq(0), any(LocalDateTime.class), any());
+        verify(blacklistedTokenRepository, never()).deleteByIdIn(anyList());
+    }
+
+    @Test
+    void reap_StopsAtMaxChunksPerTable() {
+        ReflectionTestUtils.setField(reaper, "maxChunksPerTable", 2);
+        when(passwordResetTokenRepository.findExpiredIds(any(), any(), any()))
+                .thenReturn(List.of(1, 2), List.of(3, 4), List.of(5, 6));
+        when(passwordResetTokenRepository.deleteByIdIn(anyList())).thenReturn(2);
+
+        reaper.reap();
+
+        verify(passwordResetTokenRepository, times(2)).deleteByIdIn(anyList());
+    }
+
+    @Test
+    void reap_AccumulatesTotalsAcrossRuns() {
+        when(blacklistedTokenRepository.findExpiredIds(eq(0), any(), any())).thenReturn(List.of(1));
+        when(blacklistedTokenRepository.deleteByIdIn(anyList())).thenReturn(1);
+
+        reaper.reap();
+        List<TokenPurgeStatsDto> stats = reaper.reap();
+
+        assertEquals(2, stats(stats, "blacklisted_tokens").getTotalPurged());
+        assertEquals(1, stats(stats, "blacklisted_tokens").getLastRunPurged());
+        assertEquals(4, stats.size());
+    }
+
+    @Test
+    void start_RunsOnReaperThreadAndRefusesSecondRun() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(blacklistedTokenRepository.findExpiredIds(any(), any(), any())).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            reading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        assertTrue(reaper.start());
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        assertFalse(reaper.start());
+        release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (reaper.isRunning() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(reaper.isRunning());
+        assertEquals("token-reaper", thread.get());
+        verify(passwordResetTokenRepository).findExpiredIds(eq(0), any(), any());
+    }
+
+    private static TokenPurgeStatsDto stats(List<TokenPurgeStatsDto> stats, String table) {
+        return stats.stream().filter(s -> s.getTable().equals(table)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,154 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.config.SecondLevelCacheConfig;
+import com.mealplanner.api.dto.MealDetailDto;
+import com.mealplanner.api.dto.MealResponseDto;
+import com.mealplanner.api.model.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static com.mealplanner.api.support.QueryCountAssertions.assertQueryCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Second-level and query cache on the meal read paths, against H2 with the real repositories.
+ * Setup data is committed (the test methods run without a surrounding transaction), since the caches only
+ * serve what other transactions can see.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import({MealService.class, ReferenceDataRegistry.class, SecondLevelCacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MealServiceCacheTest {
+
+    private static final int MEAL_COUNT = 5;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MealService mealService;
+
+    @Autowired
+    private MeterBinder secondLevelCacheMetrics;
+
+    private Integer mealId;
+
+    @BeforeEach
+    void setUp() {
+        mealId = new TransactionTemplate(transactionManager).execute(status -> {
+            Allergy peanuts = new Allergy("Peanuts");
+            entityManager.persist(peanuts);
+            Integer firstId = null;
+            for (int i = 0; i < MEAL_COUNT; i++) {
+                Nutrition nutrition = new Nutrition();
+                entityManager.persist(nutrition);
+                entityManager.persist(new NutritionFact(nutrition, "calories", 400.0 + i, "kcal"));
+                entityManager.persist(new NutritionFact(nutrition, "protein", 30.0, "g"));
+                Meal meal = new Meal("Meal " + i, "Recipe", nutrition);
+                meal.setRating(3);
+                entityManager.persist(meal);
+                entityManager.persist(new MealAllergy(meal, peanuts));
+                if (firstId == null) {
+                    firstId = meal.getMealId();
+                }
+            }
+            return firstId;
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String entity : List.of("MealAllergy", "Meal", "NutritionFact", "Nutrition", "Allergy")) {
+                entityManager.createQuery("DELETE FROM " + entity).executeUpdate();
+            }
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void getMealById_SecondReadIsServedFromCache() throws Throwable {
+        MealDetailDto first = mealService.getMealById(mealId);
+
+        MealDetailDto second = assertQueryCount(0, () -> mealService.getMealById(mealId));
+
+        assertEquals(first.getNutritionSummary(), second.getNutritionSummary());
+        assertEquals(1, second.getAllergens().size());
+        assertEquals(400, second.getNutrition().getCalories());
+    }
+
+    @Test
+    void getMeals_SecondPageIsServedFromQueryCache() throws Throwable {
+        PageRequest page = PageRequest.of(0, 3);
+        mealService.getMeals(null, null, null, page);
+
+        Page<MealResponseDto> cached = assertQueryCount(0, () -> mealService.getMeals(null, null, null, page));
+
+        assertEquals(3, cached.getContent().size());
+        assertEquals(MEAL_COUNT, cached.getTotalElements());
+    }
+
+    @Test
+    void rateMeal_InvalidatesCachedPages() {
+        PageRequest page = PageRequest.of(0, MEAL_COUNT);
+        mealService.getMeals(null, 4, null, page);
+        mealService.getMealById(mealId);
+
+        mealService.rateMeal(mealId, 1, 5);
+
+        Page<MealResponseDto> rated = mealService.getMeals(null, 4, null, page);
+        assertEquals(List.of(mealId), rated.getContent().stream().map(MealResponseDto::getMealId).toList());
+        assertEquals(5, mealService.getMealById(mealId).getRating());
+    }
+
+    @Test
+    void metrics_CountHitsAndMissesPerRegion() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheMetrics.bindTo(registry);
+        mealService.getMealById(mealId);
+        // Statistics are kept per cache for the life of the context, across tests
+        double mealMisses = gets(registry, CacheRegions.MEAL, "miss");
+        double mealHits = gets(registry, CacheRegions.MEAL, "hit");
+        double detailMisses = gets(registry, CacheRegions.MEAL_DETAILS, "miss");
+        double detailHits = gets(registry, CacheRegions.MEAL_DETAILS, "hit");
+
+        mealService.getMealById(mealId);
+
+        assertEquals(mealMisses, gets(registry, CacheRegions.MEAL, "miss"));
+        assertTrue(gets(registry, CacheRegions.MEAL, "hit") > mealHits);
+        // Nutrition facts (looked up twice per call) and allergens
+        assertEquals(detailMisses, gets(registry, CacheRegions.MEAL_DETAILS, "miss"));
+        assertEquals(3.0, gets(registry, CacheRegions.MEAL_DETAILS, "hit") - detailHits);
+    }
+
+    private static double gets(MeterRegistry registry, String region, String result) {
+        return registry.get("cache.gets").tag("cache", region).tag("result", result).functionCounter().count();
+    }
+}
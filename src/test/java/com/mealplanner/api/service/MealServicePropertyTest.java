@@ -42,14 +42,14 @@ public class MealServicePropertyTest {
         MealRepository mealRepository = mock(MealRepository.class);
         NutritionRepository nutritionRepository = mock(NutritionRepository.class);
         NutritionFactRepository nutritionFactRepository = mock(NutritionFactRepository.class);
-        AllergyRepository allergyRepository = mock(AllergyRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         MealAllergyRepository mealAllergyRepository = mock(MealAllergyRepository.class);
 
         MealService mealService = new MealService(
             mealRepository,
             nutritionRepository,
             nutritionFactRepository,
-            allergyRepository,
+            referenceDataRegistry,
             mealAllergyRepository
         );
 
@@ -104,14 +104,14 @@ public class MealServicePropertyTest {
         MealRepository mealRepository = mock(MealRepository.class);
         NutritionRepository nutritionRepository = mock(NutritionRepository.class);
         NutritionFactRepository nutritionFactRepository = mock(NutritionFactRepository.class);
-        AllergyRepository allergyRepository = mock(AllergyRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         MealAllergyRepository mealAllergyRepository = mock(MealAllergyRepository.class);
 
         MealService mealService = new MealService(
             mealRepository,
             nutritionRepository,
             nutritionFactRepository,
-            allergyRepository,
+            referenceDataRegistry,
             mealAllergyRepository
         );
 
@@ -165,14 +165,14 @@ public class MealServicePropertyTest {
         MealRepository mealRepository = mock(MealRepository.class);
         NutritionRepository nutritionRepository = mock(NutritionRepository.class);
         NutritionFactRepository nutritionFactRepository = mock(NutritionFactRepository.class);
-        AllergyRepository allergyRepository = mock(AllergyRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         MealAllergyRepository mealAllergyRepository = mock(MealAllergyRepository.class);
 
         MealService mealService = new MealService(
             mealRepository,
             nutritionRepository,
             nutritionFactRepository,
-            allergyRepository,
+            referenceDataRegistry,
             mealAllergyRepository
         );
 
@@ -221,14 +221,14 @@ public class MealServicePropertyTest {
         MealRepository mealRepository = mock(MealRepository.class);
         NutritionRepository nutritionRepository = mock(NutritionRepository.class);
         NutritionFactRepository nutritionFactRepository = mock(NutritionFactRepository.class);
-        AllergyRepository allergyRepository = mock(AllergyRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         MealAllergyRepository mealAllergyRepository = mock(MealAllergyRepository.class);
 
         MealService mealService = new MealService(
             mealRepository,
             nutritionRepository,
             nutritionFactRepository,
-            allergyRepository,
+            referenceDataRegistry,
             mealAllergyRepository
         );
 
@@ -282,14 +282,14 @@ public class MealServicePropertyTest {
         MealRepository mealRepository = mock(MealRepository.class);
         NutritionRepository nutritionRepository = mock(NutritionRepository.class);
         NutritionFactRepository nutritionFactRepository = mock(NutritionFactRepository.class);
-        AllergyRepository allergyRepository = mock(AllergyRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         MealAllergyRepository mealAllergyRepository = mock(MealAllergyRepository.class);
 
         MealService mealService = new MealService(
             mealRepository,
             nutritionRepository,
             nutritionFactRepository,
-            allergyRepository,
+            referenceDataRegistry,
             mealAllergyRepository
         );
 
@@ -343,14 +343,14 @@ public class MealServicePropertyTest {
         MealRepository mealRepository = mock(MealRepository.class);
         NutritionRepository nutritionRepository = mock(NutritionRepository.class);
         NutritionFactRepository nutritionFactRepository = mock(NutritionFactRepository.class);
-        AllergyRepository allergyRepository = mock(AllergyRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         MealAllergyRepository mealAllergyRepository = mock(MealAllergyRepository.class);
 
         MealService mealService = new MealService(
             mealRepository,
             nutritionRepository,
             nutritionFactRepository,
-            allergyRepository,
+            referenceDataRegistry,
             mealAllergyRepository
         );
 
@@ -549,14 +549,14 @@ public class MealServicePropertyTest {
         MealRepository mealRepository = mock(MealRepository.class);
         NutritionRepository nutritionRepository = mock(NutritionRepository.class);
         NutritionFactRepository nutritionFactRepository = mock(NutritionFactRepository.class);
-        AllergyRepository allergyRepository = mock(AllergyRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         MealAllergyRepository mealAllergyRepository = mock(MealAllergyRepository.class);
 
         MealService mealService = new MealService(
             mealRepository,
             nutritionRepository,
             nutritionFactRepository,
-            allergyRepository,
+            referenceDataRegistry,
             mealAllergyRepository
         );
 
@@ -663,14 +663,14 @@ public class MealServicePropertyTest {
         MealRepository mealRepository = mock(MealRepository.class);
         NutritionRepository nutritionRepository = mock(NutritionRepository.class);
         NutritionFactRepository nutritionFactRepository = mock(NutritionFactRepository.class);
-        AllergyRepository allergyRepository = mock(AllergyRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         MealAllergyRepository mealAllergyRepository = mock(MealAllergyRepository.class);
 
         MealService mealService = new MealService(
             mealRepository,
             nutritionRepository,
             nutritionFactRepository,
-            allergyRepository,
+            referenceDataRegistry,
             mealAllergyRepository
         );
 
@@ -746,14 +746,14 @@ public class MealServicePropertyTest {
         MealRepository mealRepository = mock(MealRepository.class);
         NutritionRepository nutritionRepository = mock(NutritionRepository.class);
         NutritionFactRepository nutritionFactRepository = mock(NutritionFactRepository.class);
-        AllergyRepository allergyRepository = mock(AllergyRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         MealAllergyRepository mealAllergyRepository = mock(MealAllergyRepository.class);
 
         MealService mealService = new MealService(
             mealRepository,
             nutritionRepository,
             nutritionFactRepository,
-            allergyRepository,
+            referenceDataRegistry,
             mealAllergyRepository
         );
 
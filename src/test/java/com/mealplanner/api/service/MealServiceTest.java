@@ -5,6 +5,8 @@ import com.mealplanner.api.exception.ResourceNotFoundException;
 import com.mealplanner.api.exception.ValidationException;
 import com.mealplanner.api.model.*;
 import com.mealplanner.api.repository.*;
+import com.mealplanner.api.support.JfrEvents;
+import jdk.jfr.consumer.RecordedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -39,7 +41,7 @@ class MealServiceTest {
     private NutritionFactRepository nutritionFactRepository;
 
     @Mock
-    private AllergyRepository allergyRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @Mock
     private MealAllergyRepository mealAllergyRepository;
@@ -83,6 +85,24 @@ class MealServiceTest {
         verify(mealRepository).findAll(pageable);
     }
 
+    @Test
+    void getMeals_WithMinRating_RecordsSelectAndMapEvents() throws Throwable {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(mealRepository.findByRatingGreaterThanEqual(4, pageable)).thenReturn(new PageImpl<>(List.of(testMeal), pageable, 1));
+        when(nutritionFactRepository.findByNutrition_NutritionId(anyInt())).thenReturn(new ArrayList<>());
+
+        List<RecordedEvent> events = JfrEvents.record(() -> mealService.getMeals(null, 4, null, pageable),
+                "com.mealplanner.MealQuery");
+
+        assertEquals(2, events.size());
+        assertEquals("select", events.get(0).getString("phase"));
+        assertEquals("map", events.get(1).getString("phase"));
+        for (RecordedEvent event : events) {
+            assertEquals("minRating", event.getString("filter"));
+            assertEquals(1, event.getInt("rows"));
+        }
+    }
+
     @Test
     void getMealById_WithValidId_ReturnsMealDetail() {
         // Arrange
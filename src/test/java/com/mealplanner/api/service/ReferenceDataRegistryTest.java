@@ -0,0 +1,92 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.model.*;
+import com.mealplanner.api.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataRegistryTest {
+
+    @Mock
+    private DeliveryStatusRepository deliveryStatusRepository;
+
+    @Mock
+    private SubscriptionStatusRepository subscriptionStatusRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PlanCategoryRepository planCategoryRepository;
+
+    @Mock
+    private AllergyRepository allergyRepository;
+
+    @InjectMocks
+    private ReferenceDataRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        when(deliveryStatusRepository.findAll()).thenReturn(List.of(new DeliveryStatus("PREPARING")));
+        when(subscriptionStatusRepository.findAll()).thenReturn(List.of(new SubscriptionStatus("active")));
+        when(roleRepository.findAll()).thenReturn(List.of(new Role("USER")));
+        when(planCategoryRepository.findAll()).thenReturn(List.of(category(2, "Bulking"), category(1, "Weight Loss")));
+        when(allergyRepository.findAll()).thenReturn(List.of());
+    }
+
+    @Test
+    void lookups_AreServedFromOneLoad() {
+        assertTrue(registry.findDeliveryStatus("PREPARING").isPresent());
+        assertTrue(registry.findSubscriptionStatus("active").isPresent());
+        assertTrue(registry.findRole("USER").isPresent());
+        assertEquals("Bulking", registry.findPlanCategory(2).orElseThrow().getCategoryName());
+        assertTrue(registry.findAllergy(1).isEmpty());
+
+        verify(deliveryStatusRepository, times(1)).findAll();
+        verify(planCategoryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void nameLookups_IgnoreCase() {
+        assertEquals("PREPARING", registry.findDeliveryStatus("preparing").orElseThrow().getStatusName());
+        assertTrue(registry.findSubscriptionStatus("ACTIVE").isPresent());
+        assertTrue(registry.findRole(null).isEmpty());
+    }
+
+    @Test
+    void getPlanCategories_AreOrderedById() {
+        List<PlanCategory> categories = registry.getPlanCategories();
+
+        assertEquals(List.of(1, 2), categories.stream().map(PlanCategory::getCategoryId).toList());
+        assertThrows(UnsupportedOperationException.class, () -> categories.add(new PlanCategory("New")));
+    }
+
+    @Test
+    void refresh_ReplacesSnapshot() {
+        assertTrue(registry.findDeliveryStatus("SHIPPED").isEmpty());
+        when(deliveryStatusRepository.findAll())
+                .thenReturn(List.of(new DeliveryStatus("PREPARING"), new DeliveryStatus("SHIPPED")));
+
+        Map<String, Integer> counts = registry.refresh();
+
+        assertEquals(2, counts.get("deliveryStatuses"));
+        assertTrue(registry.findDeliveryStatus("SHIPPED").isPresent());
+    }
+
+    private PlanCategory category(Integer id, String name) {
+        PlanCategory category = new PlanCategory(name);
+        category.setCategoryId(id);
+        return category;
+    }
+}
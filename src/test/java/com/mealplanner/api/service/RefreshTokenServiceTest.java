@@ -0,0 +1,191 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.model.RefreshToken;
+import com.mealplanner.api.model.Role;
+import com.mealplanner.api.model.User;
+import com.mealplanner.api.repository.RefreshTokenRepository;
+import com.mealplanner.api.security.UserDetailsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private UserDetailsCache userDetailsCache;
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        userDetailsCache = mock(UserDetailsCache.class);
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, userDetailsCache, 100, 10,
+                "testRotationKeyForRefreshTokens");
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpiration", 604_800_000L);
+
+        Role role = new Role();
+        role.setRoleName("CLIENT");
+        user = new User("John Doe", "john@example.com", "hash", role);
+        user.setUserId(7);
+
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken saved = invocation.getArgument(0);
+            saved.setId(42);
+            return saved;
+        });
+    }
+
+    @Test
+    void createRefreshToken_StoresOnlyTheHash() {
+        String token = refreshTokenService.createRefreshToken(user);
+
+        verify(refreshTokenRepository).save(argThat(row ->
+                row.getTokenHash().equals(RefreshTokenService.hash(token)) && row.getTokenHash().length() == 64));
+    }
+
+    @Test
+    void rotateRefreshToken_RecentlyIssued_RotatesWithoutLookup() {
+        String token = refreshTokenService.createRefreshToken(user);
+        when(refreshTokenRepository.rotate(eq(42), eq(RefreshTokenService.hash(token)), anyString(), any()))
+                .thenReturn(1);
+
+        RefreshTokenService.RotatedRefreshToken rotated = refreshTokenService.rotateRefreshToken(token);
+
+        assertNotEquals(token, rotated.refreshToken());
+        assertEquals(7, rotated.userId());
+        assertEquals("CLIENT", rotated.roleName());
+        verify(refreshTokenRepository, never()).findByTokenHash(anyString());
+        verify(refreshTokenRepository).rotate(eq(42), eq(RefreshTokenService.hash(token)),
+                eq(RefreshTokenService.hash(rotated.refreshToken())), any());
+    }
+
+    @Test
+    void rotateRefreshToken_NotCached_LoadsFamilyAndRotates() {
+        String token = "550e8400-e29b-41d4-a716-446655440000";
+        RefreshToken family = family(token, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(token))).thenReturn(Optional.of(family));
+        when(refreshTokenRepository.rotate(eq(42), anyString(), anyString(), any())).thenReturn(1);
+
+        RefreshTokenService.RotatedRefreshToken rotated = refreshTokenService.rotateRefreshToken(token);
+
+        assertEquals("john@example.com", rotated.email());
+        verify(refreshTokenRepository).findByTokenHash(RefreshTokenService.hash(token));
+    }
+
+    @Test
+    void rotateRefreshToken_ExpiredFamily_Unauthorized() {
+        String token = "550e8400-e29b-41d4-a716-446655440000";
+        RefreshToken family = family(token, LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(token))).thenReturn(Optional.of(family));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> refreshTokenService.rotateRefreshToken(token));
+
+        assertEquals(HttpStatus.UNAUTHORIZED, e.getStatusCode());
+        verify(refreshTokenRepository, never()).rotate(any(), any(), any(), any());
+    }
+
+    @Test
+    void rotateRefreshToken_ReplayedAfterGracePeriod_RevokesFamily() {
+        String oldToken = "550e8400-e29b-41d4-a716-446655440000";
+        RefreshToken family = family("current-token", LocalDateTime.now().plusDays(1));
+        family.setRotatedAt(LocalDateTime.now().minusMinutes(5));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findFirstByPreviousTokenHash(RefreshTokenService.hash(oldToken)))
+                .thenReturn(Optional.of(family));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> refreshTokenService.rotateRefreshToken(oldToken));
+
+        assertEquals("Refresh token has been revoked.", e.getReason());
+        verify(refreshTokenRepository).revokeFamily(42);
+    }
+
+    @Test
+    void rotateRefreshToken_RetriedWithinGracePeriod_ReturnsSameNewToken() {
+        String token = refreshTokenService.createRefreshToken(user);
+        when(refreshTokenRepository.rotate(eq(42), eq(RefreshTokenService.hash(token)), anyString(), any()))
+                .thenReturn(1);
+        String rotated = refreshTokenService.rotateRefreshToken(token).refreshToken();
+
+        // The retry (here or on another instance) finds the family already rotated
+        RefreshToken family = family(rotated, LocalDateTime.now().plusDays(1));
+        family.setRotatedAt(LocalDateTime.now().minusSeconds(2));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(token))).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findFirstByPreviousTokenHash(RefreshTokenService.hash(token)))
+                .thenReturn(Optional.of(family));
+
+        RefreshTokenService.RotatedRefreshToken retried = refreshTokenService.rotateRefreshToken(token);
+
+        assertEquals(rotated, retried.refreshToken());
+        assertEquals(7, retried.userId());
+        verify(refreshTokenRepository, never()).revokeFamily(any());
+    }
+
+    @Test
+    void rotateRefreshToken_LosesConcurrentRotation_ReturnsWinnersToken() {
+        String token = "550e8400-e29b-41d4-a716-446655440000";
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(token)))
+                .thenReturn(Optional.of(family(token, LocalDateTime.now().plusDays(1))));
+        ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+        when(refreshTokenRepository.rotate(eq(42), eq(RefreshTokenService.hash(token)), newHash.capture(), any()))
+                .thenReturn(0);
+        when(refreshTokenRepository.findFirstByPreviousTokenHash(RefreshTokenService.hash(token))).thenAnswer(invocation -> {
+            RefreshToken rotated = new RefreshToken(newHash.getValue(), user, LocalDateTime.now().plusDays(1));
+            rotated.setId(42);
+            rotated.setRotatedAt(LocalDateTime.now());
+            return Optional.of(rotated);
+        });
+
+        RefreshTokenService.RotatedRefreshToken result = refreshTokenService.rotateRefreshToken(token);
+
+        assertEquals(newHash.getValue(), RefreshTokenService.hash(result.refreshToken()));
+    }
+
+    @Test
+    void rotateRefreshToken_ReplayedWithinGracePeriodWithOtherSuccessor_KeepsFamily() {
+        String oldToken = "550e8400-e29b-41d4-a716-446655440000";
+        // Rotated to a token that is not the derived successor, e.g. a random one from before the upgrade
+        RefreshToken family = family("current-token", LocalDateTime.now().plusDays(1));
+        family.setRotatedAt(LocalDateTime.now().minusSeconds(2));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+        when(refreshTokenRepository.findFirstByPreviousTokenHash(RefreshTokenService.hash(oldToken)))
+                .thenReturn(Optional.of(family));
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> refreshTokenService.rotateRefreshToken(oldToken));
+
+        assertEquals("Refresh token has already been used.", e.getReason());
+        verify(refreshTokenRepository, never()).revokeFamily(any());
+    }
+
+    @Test
+    void rotateRefreshToken_UserChangedSinceCached_ReloadsFamily() {
+        String token = refreshTokenService.createRefreshToken(user);
+        when(userDetailsCache.isIssuedBeforeLastChange(eq(7), any())).thenReturn(true);
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash(token)))
+                .thenReturn(Optional.of(family(token, LocalDateTime.now().plusDays(1))));
+        when(refreshTokenRepository.rotate(eq(42), anyString(), anyString(), any())).thenReturn(1);
+
+        refreshTokenService.rotateRefreshToken(token);
+
+        verify(refreshTokenRepository).findByTokenHash(RefreshTokenService.hash(token));
+    }
+
+    private RefreshToken family(String token, LocalDateTime expiryDate) {
+        RefreshToken family = new RefreshToken(RefreshTokenService.hash(token), user, expiryDate);
+        family.setId(42);
+        return family;
+    }
+}
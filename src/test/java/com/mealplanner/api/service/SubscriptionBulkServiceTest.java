@@ -0,0 +1,121 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.dto.BulkOperationProgressDto;
+import com.mealplanner.api.dto.BulkSubscriptionOperationDto;
+import com.mealplanner.api.exception.ValidationException;
+import com.mealplanner.api.repository.SubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings({"null", "unchecked"})
+class SubscriptionBulkServiceTest {
+
+    private SubscriptionRepository subscriptionRepository;
+    private SubscriptionBulkService bulkService;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionRepository = mock(SubscriptionRepository.class);
+        bulkService = new SubscriptionBulkService(subscriptionRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(bulkService, "chunkSize", 2);
+    }
+
+    @Test
+    void validate_WithUnknownAction_ThrowsValidationException() {
+        BulkSubscriptionOperationDto dto = new BulkSubscriptionOperationDto("archive", List.of(1));
+
+        assertThrows(ValidationException.class, () -> bulkService.validate(dto));
+    }
+
+    @Test
+    void validate_WithoutIdsOrFilter_ThrowsValidationException() {
+        BulkSubscriptionOperationDto dto = new BulkSubscriptionOperationDto("pause", null);
+
+        assertThrows(ValidationException.class, () -> bulkService.validate(dto));
+    }
+
+    @Test
+    void validate_WithIdsAndFilter_ThrowsValidationException() {
+        BulkSubscriptionOperationDto dto = new BulkSubscriptionOperationDto("pause", List.of(1));
+        dto.setPlanId(3);
+
+        assertThrows(ValidationException.class, () -> bulkService.validate(dto));
+    }
+
+    @Test
+    void execute_WithIdList_UpdatesInChunksAndReportsProgress() {
+        BulkSubscriptionOperationDto dto = new BulkSubscriptionOperationDto("cancel", List.of(5, 1, 3, 3, 2));
+        SubscriptionTransition transition = bulkService.validate(dto);
+        when(subscriptionRepository.bulkCompareAndSetStatus(anyCollection(), eq("cancelled"), anyList()))
+                .thenAnswer(invocation -> ((Collection<Integer>) invocation.getArgument(0)).size());
+
+        List<BulkOperationProgressDto> events = new ArrayList<>();
+        BulkOperationProgressDto result = bulkService.execute(dto, transition, p -> events.add(copy(p)));
+
+        // 4 distinct IDs in chunks of 2, plus the final record
+        verify(subscriptionRepository).bulkCompareAndSetStatus(eq(List.of(1, 2)), eq("cancelled"), eq(List.of("active", "paused")));
+        verify(subscriptionRepository).bulkCompareAndSetStatus(eq(List.of(3, 5)), eq("cancelled"), eq(List.of("active", "paused")));
+        assertEquals(3, events.size());
+        assertEquals(2, events.get(0).getProcessed());
+        assertFalse(events.get(0).isDone());
+        assertTrue(events.get(2).isDone());
+        assertEquals(4, result.getTotal());
+        assertEquals(4, result.getProcessed());
+        assertEquals(4, result.getUpdated());
+    }
+
+    @Test
+    void execute_WithFilter_UsesKeysetPagination() {
+        BulkSubscriptionOperationDto dto = new BulkSubscriptionOperationDto("pause", null);
+        dto.setPlanId(7);
+        SubscriptionTransition transition = bulkService.validate(dto);
+
+        when(subscriptionRepository.countForBulkOperation(eq(7), isNull(), eq(false), anyCollection(), isNull(), isNull()))
+                .thenReturn(3L);
+        when(subscriptionRepository.findIdsForBulkOperation(eq(0), eq(7), isNull(), eq(false), anyCollection(),
+                isNull(), isNull(), any(Pageable.class))).thenReturn(List.of(10, 11));
+        when(subscriptionRepository.findIdsForBulkOperation(eq(11), eq(7), isNull(), eq(false), anyCollection(),
+                isNull(), isNull(), any(Pageable.class))).thenReturn(List.of(12));
+        when(subscriptionRepository.bulkCompareAndSetStatus(anyCollection(), eq("paused"), anyList()))
+                .thenReturn(1);
+
+        BulkOperationProgressDto result = bulkService.execute(dto, transition, p -> { });
+
+        assertEquals(3, result.getTotal());
+        assertEquals(3, result.getProcessed());
+        assertEquals(2, result.getUpdated());
+        assertTrue(result.isDone());
+        verify(subscriptionRepository, times(2)).bulkCompareAndSetStatus(anyCollection(), eq("paused"), eq(List.of("active")));
+    }
+
+    @Test
+    void execute_WithLargeIdList_NeverExceedsChunkSize() {
+        List<Integer> ids = IntStream.rangeClosed(1, 9).boxed().collect(Collectors.toList());
+        BulkSubscriptionOperationDto dto = new BulkSubscriptionOperationDto("resume", ids);
+        SubscriptionTransition transition = bulkService.validate(dto);
+        when(subscriptionRepository.bulkCompareAndSetStatus(anyCollection(), eq("active"), anyList())).thenReturn(0);
+
+        bulkService.execute(dto, transition, p -> { });
+
+        verify(subscriptionRepository, times(5)).bulkCompareAndSetStatus(
+                argThat(chunk -> chunk.size() <= 2), eq("active"), anyList());
+    }
+
+    private BulkOperationProgressDto copy(BulkOperationProgressDto source) {
+        return new BulkOperationProgressDto(source.getAction(), source.getTotal(),
+                source.getProcessed(), source.getUpdated(), source.isDone());
+    }
+}
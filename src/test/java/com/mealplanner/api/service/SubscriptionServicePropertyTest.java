@@ -41,7 +41,7 @@ public class SubscriptionServicePropertyTest {
         SubscriptionRepository subscriptionRepository = mock(SubscriptionRepository.class);
         CustomPlanRepository customPlanRepository = mock(CustomPlanRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
-        SubscriptionStatusRepository subscriptionStatusRepository = mock(SubscriptionStatusRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         SubscriptionMealRepository subscriptionMealRepository = mock(SubscriptionMealRepository.class);
 
         SubscriptionService subscriptionService = new SubscriptionService();
@@ -49,14 +49,14 @@ public class SubscriptionServicePropertyTest {
         setField(subscriptionService, "subscriptionRepository", subscriptionRepository);
         setField(subscriptionService, "customPlanRepository", customPlanRepository);
         setField(subscriptionService, "userRepository", userRepository);
-        setField(subscriptionService, "subscriptionStatusRepository", subscriptionStatusRepository);
+        setField(subscriptionService, "referenceDataRegistry", referenceDataRegistry);
         setField(subscriptionService, "subscriptionMealRepository", subscriptionMealRepository);
 
         // Create test subscription with complete data
         Subscription testSubscription = createCompleteSubscription(subscriptionId, userId);
 
         // Mock repository response
-        when(subscriptionRepository.findById(subscriptionId))
+        when(subscriptionRepository.findDetailedBySubscriptionId(subscriptionId))
                 .thenReturn(Optional.of(testSubscription));
 
         // Execute - user is owner, so no permission issues
@@ -104,14 +104,14 @@ public class SubscriptionServicePropertyTest {
         SubscriptionRepository subscriptionRepository = mock(SubscriptionRepository.class);
         CustomPlanRepository customPlanRepository = mock(CustomPlanRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
-        SubscriptionStatusRepository subscriptionStatusRepository = mock(SubscriptionStatusRepository.class);
+        ReferenceDataRegistry referenceDataRegistry = mock(ReferenceDataRegistry.class);
         SubscriptionMealRepository subscriptionMealRepository = mock(SubscriptionMealRepository.class);
 
         SubscriptionService subscriptionService = new SubscriptionService();
         setField(subscriptionService, "subscriptionRepository", subscriptionRepository);
         setField(subscriptionService, "customPlanRepository", customPlanRepository);
         setField(subscriptionService, "userRepository", userRepository);
-        setField(subscriptionService, "subscriptionStatusRepository", subscriptionStatusRepository);
+        setField(subscriptionService, "referenceDataRegistry", referenceDataRegistry);
         setField(subscriptionService, "subscriptionMealRepository", subscriptionMealRepository);
 
         // Create test data
@@ -122,7 +122,7 @@ public class SubscriptionServicePropertyTest {
         // Mock repository responses for creation
         when(userRepository.findById(userId)).thenReturn(Optional.of(testUser));
         when(customPlanRepository.findById(1)).thenReturn(Optional.of(testPlan));
-        when(subscriptionStatusRepository.findByStatusName("active")).thenReturn(Optional.of(activeStatus));
+        when(referenceDataRegistry.findSubscriptionStatus("active")).thenReturn(Optional.of(activeStatus));
 
         // Create a subscription with the preferred time
         Subscription savedSubscription = new Subscription();
@@ -134,7 +134,7 @@ public class SubscriptionServicePropertyTest {
         savedSubscription.setStatus(activeStatus);
 
         when(subscriptionRepository.save(any(Subscription.class))).thenReturn(savedSubscription);
-        when(subscriptionRepository.findById(1)).thenReturn(Optional.of(savedSubscription));
+        when(subscriptionRepository.findDetailedBySubscriptionId(1)).thenReturn(Optional.of(savedSubscription));
 
         // Execute: Create subscription
         CreateSubscriptionDto createDto = new CreateSubscriptionDto(
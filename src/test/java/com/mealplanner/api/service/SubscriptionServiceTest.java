@@ -26,6 +26,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,7 +44,7 @@ class SubscriptionServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private SubscriptionStatusRepository subscriptionStatusRepository;
+    private ReferenceDataRegistry referenceDataRegistry;
 
     @Mock
     private SubscriptionMealRepository subscriptionMealRepository;
@@ -109,7 +111,7 @@ class SubscriptionServiceTest {
         
         when(customPlanRepository.findById(1)).thenReturn(Optional.of(testPlan));
         when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
-        when(subscriptionStatusRepository.findByStatusName("active")).thenReturn(Optional.of(activeStatus));
+        when(referenceDataRegistry.findSubscriptionStatus("active")).thenReturn(Optional.of(activeStatus));
         when(subscriptionRepository.save(any(Subscription.class))).thenReturn(testSubscription);
 
         // Act
@@ -147,10 +149,9 @@ class SubscriptionServiceTest {
     void getUserSubscriptions_WithNoFilter_ReturnsAllUserSubscriptions() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<Subscription> subscriptions = List.of(testSubscription);
-        Page<Subscription> subscriptionPage = new PageImpl<>(subscriptions, pageable, 1);
+        Page<SubscriptionResponseDto> subscriptionPage = new PageImpl<>(List.of(testResponseRow()), pageable, 1);
 
-        when(subscriptionRepository.findByUserUserId(1, pageable)).thenReturn(subscriptionPage);
+        when(subscriptionRepository.findResponseDtos(1, null, pageable)).thenReturn(subscriptionPage);
 
         // Act
         Page<SubscriptionResponseDto> result = subscriptionService.getUserSubscriptions(1, null, pageable);
@@ -159,17 +160,16 @@ class SubscriptionServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals("Weight Loss", result.getContent().get(0).getPlanName());
-        verify(subscriptionRepository).findByUserUserId(1, pageable);
+        verify(subscriptionRepository).findResponseDtos(1, null, pageable);
     }
 
     @Test
     void getUserSubscriptions_WithStatusFilter_ReturnsFilteredSubscriptions() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<Subscription> subscriptions = List.of(testSubscription);
-        Page<Subscription> subscriptionPage = new PageImpl<>(subscriptions, pageable, 1);
+        Page<SubscriptionResponseDto> subscriptionPage = new PageImpl<>(List.of(testResponseRow()), pageable, 1);
 
-        when(subscriptionRepository.findByUserUserIdAndStatusStatusName(1, "active", pageable))
+        when(subscriptionRepository.findResponseDtos(1, "active", pageable))
                 .thenReturn(subscriptionPage);
 
         // Act
@@ -178,13 +178,13 @@ class SubscriptionServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(subscriptionRepository).findByUserUserIdAndStatusStatusName(1, "active", pageable);
+        verify(subscriptionRepository).findResponseDtos(1, "active", pageable);
     }
 
     @Test
     void getSubscriptionById_WithValidIdAndOwner_ReturnsSubscriptionDetail() {
         // Arrange
-        when(subscriptionRepository.findById(1)).thenReturn(Optional.of(testSubscription));
+        when(subscriptionRepository.findDetailedBySubscriptionId(1)).thenReturn(Optional.of(testSubscription));
 
         // Act
         SubscriptionDetailDto result = subscriptionService.getSubscriptionById(1, 1, false);
@@ -194,13 +194,13 @@ class SubscriptionServiceTest {
         assertEquals(1, result.getSubscriptionId());
         assertEquals("Weight Loss", result.getPlanName());
         assertNotNull(result.getCustomPlan());
-        verify(subscriptionRepository).findById(1);
+        verify(subscriptionRepository).findDetailedBySubscriptionId(1);
     }
 
     @Test
     void getSubscriptionById_WithNonOwner_ThrowsForbiddenException() {
         // Arrange
-        when(subscriptionRepository.findById(1)).thenReturn(Optional.of(testSubscription));
+        when(subscriptionRepository.findDetailedBySubscriptionId(1)).thenReturn(Optional.of(testSubscription));
 
         // Act & Assert
         assertThrows(ForbiddenException.class, 
@@ -210,7 +210,7 @@ class SubscriptionServiceTest {
     @Test
     void getSubscriptionById_WithInvalidId_ThrowsResourceNotFoundException() {
         // Arrange
-        when(subscriptionRepository.findById(999)).thenReturn(Optional.empty());
+        when(subscriptionRepository.findDetailedBySubscriptionId(999)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, 
@@ -220,57 +220,75 @@ class SubscriptionServiceTest {
     @Test
     void pauseSubscription_WithValidIdAndOwner_PausesSubscription() {
         // Arrange
-        when(subscriptionRepository.findById(1)).thenReturn(Optional.of(testSubscription));
-        when(subscriptionStatusRepository.findByStatusName("paused")).thenReturn(Optional.of(pausedStatus));
-        when(subscriptionRepository.save(any(Subscription.class))).thenReturn(testSubscription);
+        when(subscriptionRepository.compareAndSetStatus(eq(1), eq(1), eq("paused"), anyList())).thenReturn(1);
 
         // Act
         subscriptionService.pauseSubscription(1, 1);
 
         // Assert
-        verify(subscriptionRepository).save(any(Subscription.class));
-        assertEquals(pausedStatus, testSubscription.getStatus());
+        verify(subscriptionRepository).compareAndSetStatus(eq(1), eq(1), eq("paused"), anyList());
+        verify(subscriptionRepository, never()).findById(any());
+        verify(subscriptionRepository, never()).save(any(Subscription.class));
     }
 
     @Test
     void pauseSubscription_WithNonOwner_ThrowsForbiddenException() {
         // Arrange
-        when(subscriptionRepository.findById(1)).thenReturn(Optional.of(testSubscription));
+        when(subscriptionRepository.compareAndSetStatus(eq(1), eq(999), eq("paused"), anyList())).thenReturn(0);
+        when(subscriptionRepository.findOwnerIdAndStatusName(1))
+                .thenReturn(List.<Object[]>of(new Object[] { 1, "active" }));
 
         // Act & Assert
         assertThrows(ForbiddenException.class, 
                 () -> subscriptionService.pauseSubscription(1, 999));
     }
 
+    @Test
+    void pauseSubscription_WithNonExistentId_ThrowsResourceNotFoundException() {
+        // Arrange
+        when(subscriptionRepository.compareAndSetStatus(eq(999), eq(1), eq("paused"), anyList())).thenReturn(0);
+        when(subscriptionRepository.findOwnerIdAndStatusName(999)).thenReturn(new ArrayList<>());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, 
+                () -> subscriptionService.pauseSubscription(999, 1));
+    }
+
     @Test
     void resumeSubscription_WithValidIdAndOwner_ResumesSubscription() {
         // Arrange
-        testSubscription.setStatus(pausedStatus);
-        when(subscriptionRepository.findById(1)).thenReturn(Optional.of(testSubscription));
-        when(subscriptionStatusRepository.findByStatusName("active")).thenReturn(Optional.of(activeStatus));
-        when(subscriptionRepository.save(any(Subscription.class))).thenReturn(testSubscription);
+        when(subscriptionRepository.compareAndSetStatus(eq(1), eq(1), eq("active"), anyList())).thenReturn(1);
 
         // Act
         subscriptionService.resumeSubscription(1, 1);
 
         // Assert
-        verify(subscriptionRepository).save(any(Subscription.class));
-        assertEquals(activeStatus, testSubscription.getStatus());
+        verify(subscriptionRepository).compareAndSetStatus(eq(1), eq(1), eq("active"), anyList());
+    }
+
+    @Test
+    void resumeSubscription_WhenCancelled_ThrowsValidationException() {
+        // Arrange
+        when(subscriptionRepository.compareAndSetStatus(eq(1), eq(1), eq("active"), anyList())).thenReturn(0);
+        when(subscriptionRepository.findOwnerIdAndStatusName(1))
+                .thenReturn(List.<Object[]>of(new Object[] { 1, "cancelled" }));
+
+        // Act & Assert
+        ValidationException exception = assertThrows(ValidationException.class, 
+                () -> subscriptionService.resumeSubscription(1, 1));
+        assertTrue(exception.getMessage().contains("cancelled"));
     }
 
     @Test
     void cancelSubscription_WithValidIdAndOwner_CancelsSubscription() {
         // Arrange
-        when(subscriptionRepository.findById(1)).thenReturn(Optional.of(testSubscription));
-        when(subscriptionStatusRepository.findByStatusName("cancelled")).thenReturn(Optional.of(cancelledStatus));
-        when(subscriptionRepository.save(any(Subscription.class))).thenReturn(testSubscription);
+        when(subscriptionRepository.compareAndSetStatus(eq(1), eq(1), eq("cancelled"), anyList())).thenReturn(1);
 
         // Act
         subscriptionService.cancelSubscription(1, 1);
 
         // Assert
-        verify(subscriptionRepository).save(any(Subscription.class));
-        assertEquals(cancelledStatus, testSubscription.getStatus());
+        verify(subscriptionRepository).compareAndSetStatus(eq(1), eq(1), eq("cancelled"), anyList());
     }
 
     @Test
@@ -319,10 +337,9 @@ class SubscriptionServiceTest {
     void getAllSubscriptions_WithNoFilters_ReturnsAllSubscriptions() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<Subscription> subscriptions = List.of(testSubscription);
-        Page<Subscription> subscriptionPage = new PageImpl<>(subscriptions, pageable, 1);
+        Page<SubscriptionResponseDto> subscriptionPage = new PageImpl<>(List.of(testResponseRow()), pageable, 1);
 
-        when(subscriptionRepository.findAll(pageable)).thenReturn(subscriptionPage);
+        when(subscriptionRepository.findResponseDtos(null, null, pageable)).thenReturn(subscriptionPage);
 
         // Act
         Page<SubscriptionResponseDto> result = subscriptionService.getAllSubscriptions(null, null, pageable);
@@ -330,17 +347,16 @@ class SubscriptionServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(subscriptionRepository).findAll(pageable);
+        verify(subscriptionRepository).findResponseDtos(null, null, pageable);
     }
 
     @Test
     void getAllSubscriptions_WithUserFilter_ReturnsUserSubscriptions() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<Subscription> subscriptions = List.of(testSubscription);
-        Page<Subscription> subscriptionPage = new PageImpl<>(subscriptions, pageable, 1);
+        Page<SubscriptionResponseDto> subscriptionPage = new PageImpl<>(List.of(testResponseRow()), pageable, 1);
 
-        when(subscriptionRepository.findByUserUserId(1, pageable)).thenReturn(subscriptionPage);
+        when(subscriptionRepository.findResponseDtos(1, null, pageable)).thenReturn(subscriptionPage);
 
         // Act
         Page<SubscriptionResponseDto> result = subscriptionService.getAllSubscriptions(1, null, pageable);
@@ -348,17 +364,16 @@ class SubscriptionServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(subscriptionRepository).findByUserUserId(1, pageable);
+        verify(subscriptionRepository).findResponseDtos(1, null, pageable);
     }
 
     @Test
     void getAllSubscriptions_WithStatusFilter_ReturnsFilteredSubscriptions() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<Subscription> subscriptions = List.of(testSubscription);
-        Page<Subscription> subscriptionPage = new PageImpl<>(subscriptions, pageable, 1);
+        Page<SubscriptionResponseDto> subscriptionPage = new PageImpl<>(List.of(testResponseRow()), pageable, 1);
 
-        when(subscriptionRepository.findByStatusStatusName("active", pageable)).thenReturn(subscriptionPage);
+        when(subscriptionRepository.findResponseDtos(null, "active", pageable)).thenReturn(subscriptionPage);
 
         // Act
         Page<SubscriptionResponseDto> result = subscriptionService.getAllSubscriptions(null, "active", pageable);
@@ -366,6 +381,10 @@ class SubscriptionServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(subscriptionRepository).findByStatusStatusName("active", pageable);
+        verify(subscriptionRepository).findResponseDtos(null, "active", pageable);
+    }
+
+    private SubscriptionResponseDto testResponseRow() {
+        return new SubscriptionResponseDto(1, "Weight Loss", testSubscription.getStartDate(), "active");
     }
 }
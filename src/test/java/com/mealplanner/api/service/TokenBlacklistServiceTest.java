@@ -0,0 +1,101 @@
+package com.mealplanner.api.service;
+
+import com.mealplanner.api.model.BlacklistedToken;
+import com.mealplanner.api.repository.BlacklistedTokenRepository;
+import com.mealplanner.api.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TokenBlacklistServiceTest {
+
+    private BlacklistedTokenRepository blacklistedTokenRepository;
+    private JwtUtil jwtUtil;
+    private TokenBlacklistService tokenBlacklistService;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "testSecretKeyForJWTTokenGenerationThatIsAtLeast256BitsLong");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 16);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+        blacklistedTokenRepository = mock(BlacklistedTokenRepository.class);
+        tokenBlacklistService = new TokenBlacklistService(blacklistedTokenRepository, jwtUtil, 1_000, 15, 120);
+    }
+
+    @Test
+    void blacklistToken_PersistsTokenIdAndRevokesInMemory() {
+        String token = newToken();
+
+        tokenBlacklistService.blacklistToken(token);
+
+        verify(blacklistedTokenRepository).save(argThat(row ->
+                row.getTokenId().equals(jwtUtil.verify(token).getId())));
+        assertTrue(tokenBlacklistService.isTokenBlacklisted(token));
+        assertFalse(tokenBlacklistService.isTokenBlacklisted(newToken()));
+    }
+
+    @Test
+    void isTokenBlacklisted_NeverQueriesDatabase() {
+        String token = newToken();
+
+        tokenBlacklistService.isTokenBlacklisted(token);
+
+        verifyNoInteractions(blacklistedTokenRepository);
+    }
+
+    @Test
+    void syncRevocations_PicksUpRowsRecordedElsewhere() {
+        String token = newToken();
+        LocalDateTime blacklistedAt = LocalDateTime.now().minusSeconds(10);
+        when(blacklistedTokenRepository.findByExpiryDateAfter(any()))
+                .thenReturn(List.of(row(token, blacklistedAt)));
+
+        tokenBlacklistService.syncRevocations();
+
+        assertTrue(tokenBlacklistService.isTokenBlacklisted(token));
+        tokenBlacklistService.syncRevocations();
+        verify(blacklistedTokenRepository).findByBlacklistedAtGreaterThanEqualAndExpiryDateAfter(
+                eq(blacklistedAt.minusSeconds(120)), any());
+    }
+
+    @Test
+    void syncRevocations_RowCommittedAfterLaterOne_IsStillPickedUp() {
+        LocalDateTime firstAt = LocalDateTime.now().minusSeconds(10);
+        String first = newToken();
+        when(blacklistedTokenRepository.findByExpiryDateAfter(any())).thenReturn(List.of(row(first, firstAt)));
+        tokenBlacklistService.syncRevocations();
+
+        // Recorded (and given its ID) before the first row, but committed after it was synced
+        String late = newToken();
+        when(blacklistedTokenRepository.findByBlacklistedAtGreaterThanEqualAndExpiryDateAfter(any(), any()))
+                .thenReturn(List.of(row(first, firstAt), row(late, firstAt.minusSeconds(1))));
+        tokenBlacklistService.syncRevocations();
+
+        assertTrue(tokenBlacklistService.isTokenBlacklisted(late));
+        // The window stays anchored at the latest revocation seen
+        tokenBlacklistService.syncRevocations();
+        verify(blacklistedTokenRepository, times(2)).findByBlacklistedAtGreaterThanEqualAndExpiryDateAfter(
+                eq(firstAt.minusSeconds(120)), any());
+    }
+
+    private BlacklistedToken row(String token, LocalDateTime blacklistedAt) {
+        BlacklistedToken row = new BlacklistedToken(jwtUtil.verify(token).getId(), LocalDateTime.now().plusMinutes(5));
+        row.setBlacklistedAt(blacklistedAt);
+        return row;
+    }
+
+    private String newToken() {
+        return jwtUtil.generateToken(new User("user@example.com", "hash", List.of()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.mealplanner.api.support;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.function.Executable;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Runs a block of code under a JFR recording and returns the given events it emitted on the calling thread,
+ * in the order they were committed.
+ */
+public final class JfrEvents {
+
+    private JfrEvents() {
+    }
+
+    public static List<RecordedEvent> record(Executable action, String... eventNames) throws Throwable {
+        Path file = Files.createTempFile("events", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String eventName : eventNames) {
+                recording.enable(eventName);
+            }
+            recording.start();
+            action.execute();
+            recording.stop();
+            recording.dump(file);
+
+            long threadId = Thread.currentThread().getId();
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getThread() != null && event.getThread().getJavaThreadId() == threadId)
+                    .sorted((a, b) -> a.getEndTime().compareTo(b.getEndTime()))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
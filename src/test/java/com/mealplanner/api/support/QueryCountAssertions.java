@@ -0,0 +1,59 @@
+package com.mealplanner.api.support;
+
+import com.mealplanner.api.config.StatementCountingInspector;
+import com.mealplanner.api.config.StatementLog;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Assertions on the number of SQL statements a block of code prepares, for tests that run against a real
+ * Hibernate session (e.g. {@code @DataJpaTest}). Statements are recorded by {@link StatementCountingInspector}
+ * on the calling thread; on failure the message lists every statement shape with its count.
+ *
+ * Flush pending changes and clear the persistence context before the block, so setup work is not counted
+ * and entities are not served from the first-level cache.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static void assertQueryCount(int expected, Executable action) throws Throwable {
+        assertQueryCount(expected, () -> {
+            action.execute();
+            return null;
+        });
+    }
+
+    public static <T> T assertQueryCount(int expected, ThrowingSupplier<T> action) throws Throwable {
+        StatementCountingInspector.begin();
+        T result;
+        StatementLog statements;
+        try {
+            result = action.get();
+        } finally {
+            statements = StatementCountingInspector.end();
+        }
+        assertEquals(expected, statements.total(), () -> "SQL statements prepared:" + statements.describe());
+        return result;
+    }
+
+    /**
+     * Fails if any statement shape was prepared {@code minRepeats} or more times, i.e. a per-row query.
+     */
+    public static <T> T assertNoRepeatedStatements(int minRepeats, ThrowingSupplier<T> action) throws Throwable {
+        StatementCountingInspector.begin();
+        T result;
+        StatementLog statements;
+        try {
+            result = action.get();
+        } finally {
+            statements = StatementCountingInspector.end();
+        }
+        assertTrue(statements.repeated(minRepeats).isEmpty(),
+                () -> "Statements repeated " + minRepeats + "+ times (N+1):" + statements.describe());
+        return result;
+    }
+}
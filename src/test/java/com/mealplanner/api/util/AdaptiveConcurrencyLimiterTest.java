@@ -0,0 +1,106 @@
+package com.mealplanner.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void tryAcquire_OverLimitWithNoQueue_RefusedImmediately() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0, 1_000);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.rejected());
+    }
+
+    @Test
+    void tryAcquire_QueuedCaller_GetsPermitWhenReleased() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 1, 5_000);
+        assertTrue(limiter.tryAcquire());
+
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(limiter::tryAcquire);
+        while (limiter.waiting() == 0) {
+            Thread.onSpinWait();
+        }
+        // Queue of one is full: the next caller is shed without waiting
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(10 * MILLIS, false);
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1, limiter.inFlight());
+    }
+
+    @Test
+    void tryAcquire_QueueTimeout_Refused() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 5, 20);
+        assertTrue(limiter.tryAcquire());
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(0, limiter.waiting());
+    }
+
+    @Test
+    void release_SteadyLatencyAtLimit_GrowsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 50, 0, 0);
+
+        for (int round = 0; round < 20; round++) {
+            int permits = limiter.limit();
+            for (int i = 0; i < permits; i++) {
+                assertTrue(limiter.tryAcquire());
+            }
+            for (int i = 0; i < permits; i++) {
+                limiter.release(10 * MILLIS, false);
+            }
+        }
+
+        assertTrue(limiter.limit() > 4, "limit was " + limiter.limit());
+    }
+
+    @Test
+    void release_LatencyRises_ShrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 2, 50, 0, 0);
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+        }
+        limiter.release(10 * MILLIS, false);
+
+        for (int i = 0; i < 15; i++) {
+            limiter.release(100 * MILLIS, false);
+            limiter.tryAcquire();
+        }
+
+        assertTrue(limiter.limit() < 20, "limit was " + limiter.limit());
+    }
+
+    @Test
+    void release_Failures_BackOffToMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 3, 10, 0, 0);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(MILLIS, true);
+        }
+
+        assertEquals(3, limiter.limit());
+    }
+
+    @Test
+    void release_MostlyIdle_DoesNotGrowLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 50, 0, 0);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(MILLIS, false);
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+}
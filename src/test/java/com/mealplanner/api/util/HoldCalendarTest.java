@@ -0,0 +1,87 @@
+package com.mealplanner.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldCalendarTest {
+
+    private static final LocalDate BASE = LocalDate.of(2025, 7, 1);
+
+    @Test
+    void isOnHold_InsideRange_ReturnsTrue() {
+        HoldCalendar calendar = HoldCalendar.fromRows(List.<Object[]>of(
+                new Object[] { 1, BASE, BASE.plusDays(6) }
+        ));
+
+        assertTrue(calendar.isOnHold(1, BASE));
+        assertTrue(calendar.isOnHold(1, BASE.plusDays(3)));
+        assertTrue(calendar.isOnHold(1, BASE.plusDays(6)));
+    }
+
+    @Test
+    void isOnHold_OutsideRange_ReturnsFalse() {
+        HoldCalendar calendar = HoldCalendar.fromRows(List.<Object[]>of(
+                new Object[] { 1, BASE, BASE.plusDays(6) }
+        ));
+
+        assertFalse(calendar.isOnHold(1, BASE.minusDays(1)));
+        assertFalse(calendar.isOnHold(1, BASE.plusDays(7)));
+        assertFalse(calendar.isOnHold(2, BASE));
+    }
+
+    @Test
+    void isOnHold_OverlappingAndAdjacentRanges_AreMerged() {
+        HoldCalendar calendar = HoldCalendar.fromRows(List.<Object[]>of(
+                new Object[] { 1, BASE.plusDays(5), BASE.plusDays(9) },
+                new Object[] { 1, BASE, BASE.plusDays(6) },
+                new Object[] { 1, BASE.plusDays(10), BASE.plusDays(12) },
+                new Object[] { 1, BASE.plusDays(20), BASE.plusDays(21) }
+        ));
+
+        for (int day = 0; day <= 12; day++) {
+            assertTrue(calendar.isOnHold(1, BASE.plusDays(day)), "day " + day);
+        }
+        assertFalse(calendar.isOnHold(1, BASE.plusDays(13)));
+        assertFalse(calendar.isOnHold(1, BASE.plusDays(19)));
+        assertTrue(calendar.isOnHold(1, BASE.plusDays(20)));
+        assertFalse(calendar.isOnHold(1, BASE.plusDays(22)));
+    }
+
+    @Test
+    void fromRows_IgnoresInvalidRows() {
+        HoldCalendar calendar = HoldCalendar.fromRows(List.<Object[]>of(
+                new Object[] { 1, BASE.plusDays(3), BASE },
+                new Object[] { 2, null, BASE }
+        ));
+
+        assertEquals(0, calendar.subscriptionCount());
+        assertFalse(calendar.isOnHold(1, BASE.plusDays(1)));
+    }
+
+    @Test
+    void isOnHold_ManySubscriptions_EachCheckedIndependently() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int id = 0; id < 1000; id++) {
+            // Even subscriptions hold around BASE, odd ones a week later
+            LocalDate start = id % 2 == 0 ? BASE : BASE.plusDays(7);
+            rows.add(new Object[] { id, start, start.plusDays(2) });
+        }
+        HoldCalendar calendar = HoldCalendar.fromRows(rows);
+
+        assertEquals(1000, calendar.subscriptionCount());
+        for (int id = 0; id < 1000; id++) {
+            assertEquals(id % 2 == 0, calendar.isOnHold(id, BASE.plusDays(1)));
+        }
+    }
+
+    @Test
+    void empty_HasNoHolds() {
+        assertFalse(HoldCalendar.empty().isOnHold(1, BASE));
+        assertFalse(HoldCalendar.fromRows(new ArrayList<>()).isOnHold(1, BASE));
+    }
+}
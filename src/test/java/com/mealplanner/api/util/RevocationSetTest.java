@@ -0,0 +1,72 @@
+package com.mealplanner.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevocationSetTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void contains_ReturnsTrueOnlyForAddedIds() {
+        RevocationSet set = new RevocationSet(15 * MINUTE, 1_000, 0.01);
+        set.add("token-a", 60 * MINUTE);
+
+        assertTrue(set.contains("token-a"));
+        assertFalse(set.contains("token-b"));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void expire_DropsOnlyBucketsThatHaveEnded() {
+        RevocationSet set = new RevocationSet(15 * MINUTE, 1_000, 0.01);
+        set.add("early", 10 * MINUTE);
+        set.add("late", 50 * MINUTE);
+
+        int removed = set.expire(20 * MINUTE);
+
+        assertEquals(1, removed);
+        assertFalse(set.contains("early"));
+        assertTrue(set.contains("late"));
+    }
+
+    @Test
+    void expire_KeepsIdUntilItsBucketEnds() {
+        RevocationSet set = new RevocationSet(15 * MINUTE, 1_000, 0.01);
+        set.add("token", 20 * MINUTE);
+
+        // Bucket (15, 30] has not ended yet
+        assertEquals(0, set.expire(25 * MINUTE));
+        assertTrue(set.contains("token"));
+        assertEquals(1, set.expire(30 * MINUTE));
+        assertFalse(set.contains("token"));
+    }
+
+    @Test
+    void add_SameIdWithLaterExpiry_MovesItToTheLaterBucket() {
+        RevocationSet set = new RevocationSet(15 * MINUTE, 1_000, 0.01);
+        set.add("token", 10 * MINUTE);
+        set.add("token", 100 * MINUTE);
+
+        set.expire(20 * MINUTE);
+
+        assertTrue(set.contains("token"));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void contains_WithManyEntries_HasNoFalseNegatives() {
+        RevocationSet set = new RevocationSet(15 * MINUTE, 10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            set.add("revoked-" + i, 60 * MINUTE);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(set.contains("revoked-" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(set.contains("live-" + i));
+        }
+    }
+}
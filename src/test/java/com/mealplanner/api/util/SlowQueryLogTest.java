@@ -0,0 +1,66 @@
+package com.mealplanner.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Test
+    void topOffenders_AggregatesByShapeOrderedByTotalTime() {
+        SlowQueryLog log = new SlowQueryLog(10);
+        log.record(entry("select a", "MealService.getMeals", 300, 20));
+        log.record(entry("select b", "DeliveryService.getCurrentDelivery", 500, 1));
+        log.record(entry("select a", "MealService.getMealById", 400, 1));
+
+        List<SlowQueryLog.Offender> offenders = log.topOffenders(10);
+
+        assertEquals(2, offenders.size());
+        SlowQueryLog.Offender top = offenders.get(0);
+        assertEquals("select a", top.shape());
+        assertEquals(2, top.count());
+        assertEquals(700, top.totalMicros());
+        assertEquals(400, top.maxMicros());
+        assertEquals(20, top.maxRows());
+        assertEquals("MealService.getMealById", top.lastCaller());
+        assertEquals("select b", offenders.get(1).shape());
+    }
+
+    @Test
+    void record_BufferFull_OverwritesOldestEntries() {
+        SlowQueryLog log = new SlowQueryLog(2);
+        log.record(entry("select old", "A.a", 10_000, 1));
+        log.record(entry("select a", "A.a", 100, 1));
+        log.record(entry("select b", "A.a", 100, 1));
+
+        List<SlowQueryLog.Offender> offenders = log.topOffenders(10);
+
+        assertEquals(2, offenders.size());
+        assertTrue(offenders.stream().noneMatch(offender -> offender.shape().equals("select old")));
+    }
+
+    @Test
+    void firstSighting_OncePerShapeUntilCleared() {
+        SlowQueryLog log = new SlowQueryLog(10);
+        log.recordPlan("select a", "plan");
+        log.record(entry("select a", "A.a", 100, 1));
+
+        assertTrue(log.firstSighting("select a"));
+        assertFalse(log.firstSighting("select a"));
+        assertEquals("plan", log.topOffenders(1).get(0).plan());
+
+        log.clear();
+
+        assertTrue(log.topOffenders(10).isEmpty());
+        assertTrue(log.firstSighting("select a"));
+    }
+
+    private static SlowQueryLog.Entry entry(String shape, String caller, long micros, long rows) {
+        return new SlowQueryLog.Entry(shape, caller, "Int", micros, rows, NOW);
+    }
+}
@@ -0,0 +1,106 @@
+package com.mealplanner.api.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private AtomicLong now;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(5_000 * SECOND);
+    }
+
+    @Test
+    void tryAcquire_BurstUpToCapacity_ThenRefusesWithWait() {
+        // 60 per minute: one token per second
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 60, 100, 4, now::get);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(1_000, limiter.tryAcquire("a"));
+
+        // Other keys have their own bucket
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void tryAcquire_RefillsLazilyWithTime() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 60, 100, 4, now::get);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("a");
+        assertTrue(limiter.tryAcquire("a") > 0);
+
+        now.addAndGet(SECOND);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+
+        // Never more than capacity, however long the key was idle
+        now.addAndGet(3_600 * SECOND);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void evictIdle_DropsOnlyFullBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 60, 100, 4, now::get);
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("idle");
+
+        now.addAndGet(SECOND);
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void tryAcquire_StripesFull_NewKeysShareOverflowBucket() {
+        // One stripe holding a single key
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 60, 1, 1, now::get);
+        assertEquals(0, limiter.tryAcquire("tracked"));
+
+        assertEquals(0, limiter.tryAcquire("spray-1"));
+        assertEquals(0, limiter.tryAcquire("spray-2"));
+        assertTrue(limiter.tryAcquire("spray-3") > 0);
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void tryAcquire_Concurrent_NeverGrantsMoreThanCapacity() throws InterruptedException {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(50, 1, 100, 4, now::get);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire("shared") == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(50, granted.get());
+    }
+}